@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Compara el servicio con el pool de hilos de plataforma de Tomcat y con hilos virtuales bajo la
+# misma carga sobre los endpoints de transacciones. Para cada modo levanta la aplicación, abre un
+# turno propio, ejecuta la carga con hey (https://github.com/rakyll/hey) y guarda throughput y p99.
+#
+# Requisitos: Mongo accesible, el jar construido (./mvnw -DskipTests package) y hey en el PATH.
+# Uso: scripts/comparar-hilos.sh   (variables: CONCURRENCIA, DURACION, HILOS_PLATAFORMA, PUERTO, MONGO_HOST)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONCURRENCIA=${CONCURRENCIA:-400}
+DURACION=${DURACION:-60s}
+CALENTAMIENTO=${CALENTAMIENTO:-15s}
+HILOS_PLATAFORMA=${HILOS_PLATAFORMA:-200}
+PUERTO=${PUERTO:-8090}
+MONGO_HOST=${MONGO_HOST:-localhost}
+JAR=${JAR:-$(ls target/simbana-*.jar | grep -v original | head -n 1)}
+RESULTADOS=${RESULTADOS:-target/comparacion-hilos.csv}
+BASE="http://localhost:${PUERTO}/v1/cashboxes"
+
+echo "modo,endpoint,concurrencia,peticiones_por_segundo,p99_segundos,errores" > "$RESULTADOS"
+
+esperar_inicio() {
+    for _ in $(seq 1 120); do
+        if curl -sf "http://localhost:${PUERTO}/api-docs" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "La aplicación no inició en el puerto ${PUERTO}" >&2
+    return 1
+}
+
+# Extrae throughput, p99 y respuestas distintas de 2xx de la salida de hey.
+registrar() {
+    local modo=$1 endpoint=$2 salida=$3
+    local rps p99 errores
+    rps=$(awk '/Requests\/sec:/ {print $2}' "$salida")
+    p99=$(awk '/ 99% in / {print $3}' "$salida")
+    errores=$(awk '/\[[0-9]+\]/ && $1 !~ /\[2[0-9][0-9]\]/ {sum += $2} END {print sum + 0}' "$salida")
+    echo "${modo},${endpoint},${CONCURRENCIA},${rps},${p99},${errores}" >> "$RESULTADOS"
+}
+
+ejecutar_modo() {
+    local modo=$1
+    shift
+    local sufijo
+    sufijo="$(date +%s)"
+    local turno="BENCH-${modo}-${sufijo}"
+    local salida
+    salida=$(mktemp)
+
+    java -jar "$JAR" --server.port="$PUERTO" --spring.data.mongodb.host="$MONGO_HOST" \
+         --logging.level.com.conjunta.simbana=WARN \
+         --logging.level.org.springframework.data.mongodb.core.MongoTemplate=WARN "$@" > "target/app-${modo}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2> /dev/null || true' RETURN
+    esperar_inicio
+
+    curl -sf -X POST "${BASE}/turnos" -H 'Content-Type: application/json' \
+         -d "{\"codigoTurno\":\"${turno}\",\"codigoCaja\":\"B${sufijo: -6}${modo:0:1}\",\"codigoCajero\":\"U${sufijo: -6}${modo:0:1}\",\"montoInicial\":1000}" > /dev/null
+
+    local deposito="{\"codigoCaja\":\"B${sufijo: -6}${modo:0:1}\",\"codigoCajero\":\"U${sufijo: -6}${modo:0:1}\",\"codigoTurno\":\"${turno}\",\"tipoTransaccion\":\"DEPOSITO\",\"montoTotal\":100,\"denominaciones\":[{\"billete\":100,\"cantidad\":1}]}"
+
+    hey -z "$CALENTAMIENTO" -c "$CONCURRENCIA" -m POST -T application/json -d "$deposito" "${BASE}/transacciones" > /dev/null
+
+    hey -z "$DURACION" -c "$CONCURRENCIA" -m POST -T application/json -d "$deposito" "${BASE}/transacciones" > "$salida"
+    registrar "$modo" "POST /transacciones" "$salida"
+
+    hey -z "$DURACION" -c "$CONCURRENCIA" "${BASE}/transacciones/turno/${turno}?limite=50" > "$salida"
+    registrar "$modo" "GET /transacciones/turno/{codigoTurno}" "$salida"
+
+    hey -z "$DURACION" -c "$CONCURRENCIA" "${BASE}/transacciones/turno/${turno}/saldo" > "$salida"
+    registrar "$modo" "GET /transacciones/turno/{codigoTurno}/saldo" "$salida"
+
+    rm -f "$salida"
+}
+
+ejecutar_modo plataforma --server.tomcat.threads.max="$HILOS_PLATAFORMA"
+ejecutar_modo virtual --spring.profiles.active=virtual
+
+column -s, -t < "$RESULTADOS"
@@ -0,0 +1,99 @@
+package com.conjunta.simbana.controller;
+
+import com.conjunta.simbana.controller.dto.TransaccionTurnoDTO;
+import com.conjunta.simbana.controller.dto.TurnoCajaDTO;
+import com.conjunta.simbana.controller.mapper.TransaccionTurnoMapper;
+import com.conjunta.simbana.controller.mapper.TurnoCajaMapper;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la capa de respuesta: conversión modelo → DTO con los mappers de MapStruct y
+ * serialización JSON de las listas de transacciones que devuelven las consultas paginadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int tamanoLista;
+
+    private TransaccionTurnoMapper transaccionTurnoMapper;
+    private TurnoCajaMapper turnoCajaMapper;
+    private ObjectMapper objectMapper;
+
+    private TurnoCaja turno;
+    private List<TransaccionTurno> transacciones;
+    private List<TransaccionTurnoDTO> transaccionesDTO;
+
+    @Setup
+    public void preparar() {
+        transaccionTurnoMapper = Mappers.getMapper(TransaccionTurnoMapper.class);
+        turnoCajaMapper = Mappers.getMapper(TurnoCajaMapper.class);
+        // Misma configuración de fechas que usa Spring Boot al serializar las respuestas.
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 15, 8, 0);
+        turno = new TurnoCaja("CAJA01-CAJERO01-20240115");
+        turno.setCodigoCaja("CAJA01");
+        turno.setCodigoCajero("CAJERO01");
+        turno.setInicioTurno(inicio);
+        turno.setMontoInicial(new BigDecimal("1000.00"));
+        turno.setSaldoActual(new BigDecimal("1250.00"));
+        turno.setEstado(Enums.EstadoTurno.ABIERTO);
+        turno.setVersion(3L);
+
+        transacciones = new ArrayList<>(tamanoLista);
+        for (int i = 0; i < tamanoLista; i++) {
+            TransaccionTurno transaccion = new TransaccionTurno(i + 1);
+            transaccion.setCodigoTurno(turno.getCodigoTurno());
+            transaccion.setCodigoCaja(turno.getCodigoCaja());
+            transaccion.setCodigoCajero(turno.getCodigoCajero());
+            transaccion.setTipoTransaccion(i % 2 == 0 ? Enums.TipoTransaccion.DEPOSITO : Enums.TipoTransaccion.AHORRO);
+            transaccion.setMontoTotal(new BigDecimal("125.00"));
+            transaccion.setFechaHora(inicio.plusSeconds(i));
+            transaccion.setBilletes(new int[] {0, 1, 0, 1, 0, 1});
+            transacciones.add(transaccion);
+        }
+        transaccionesDTO = mapearTransacciones();
+    }
+
+    @Benchmark
+    public TurnoCajaDTO mapearTurno() {
+        return turnoCajaMapper.toDTO(turno);
+    }
+
+    @Benchmark
+    public List<TransaccionTurnoDTO> mapearTransacciones() {
+        List<TransaccionTurnoDTO> resultado = new ArrayList<>(transacciones.size());
+        for (TransaccionTurno transaccion : transacciones) {
+            resultado.add(transaccionTurnoMapper.toDTO(transaccion));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public byte[] serializarTransacciones() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transaccionesDTO);
+    }
+}
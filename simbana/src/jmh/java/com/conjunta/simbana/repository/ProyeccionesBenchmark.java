@@ -0,0 +1,101 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.config.MongoConversionesConfig;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.TransaccionTurno;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de materializar una página de transacciones desde los documentos que devuelve Mongo:
+ * la entidad completa frente a la proyección de los listados, con solo los campos que Mongo
+ * envía para ella. El perfilador gc del perfil jmh reporta
+ * además la memoria asignada por operación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProyeccionesBenchmark {
+
+    @Param({"50", "500"})
+    private int tamanoPagina;
+
+    private MappingMongoConverter convertidor;
+    private List<Document> completos;
+    private List<Document> resumenes;
+
+    @Setup
+    public void preparar() {
+        MongoCustomConversions conversiones = MongoConversionesConfig.conversiones();
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(conversiones.getSimpleTypeHolder());
+        contexto.afterPropertiesSet();
+        convertidor = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+        convertidor.setCustomConversions(conversiones);
+        convertidor.afterPropertiesSet();
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 15, 8, 0);
+        completos = new ArrayList<>(tamanoPagina);
+        resumenes = new ArrayList<>(tamanoPagina);
+        for (int i = 0; i < tamanoPagina; i++) {
+            TransaccionTurno transaccion = new TransaccionTurno(i + 1);
+            transaccion.setCodigoTurno("CAJA01-CAJERO01-20240115");
+            transaccion.setCodigoCaja("CAJA01");
+            transaccion.setCodigoCajero("CAJERO01");
+            transaccion.setTipoTransaccion(i % 2 == 0 ? Enums.TipoTransaccion.DEPOSITO : Enums.TipoTransaccion.AHORRO);
+            transaccion.setMontoTotal(new BigDecimal("125.00"));
+            transaccion.setFechaHora(inicio.plusSeconds(i));
+            transaccion.setBilletes(new int[] {0, 1, 0, 1, 0, 1});
+            transaccion.setVersion(0L);
+
+            Document documento = new Document();
+            convertidor.write(transaccion, documento);
+            completos.add(documento);
+            resumenes.add(soloCampos(documento, "_id", "codigoTurno", "codigoCaja", "codigoCajero",
+                    "tipoTransaccion", "montoTotal", "fechaHora", "version"));
+        }
+    }
+
+    @Benchmark
+    public List<TransaccionTurno> entidadCompleta() {
+        List<TransaccionTurno> resultado = new ArrayList<>(completos.size());
+        for (Document documento : completos) {
+            resultado.add(convertidor.read(TransaccionTurno.class, documento));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<ResumenTransaccion> resumenListado() {
+        List<ResumenTransaccion> resultado = new ArrayList<>(resumenes.size());
+        for (Document documento : resumenes) {
+            resultado.add(convertidor.read(ResumenTransaccion.class, documento));
+        }
+        return resultado;
+    }
+
+    // Lo que devuelve el servidor con la proyección de campos (el _id siempre viaja).
+    private static Document soloCampos(Document documento, String... campos) {
+        Document proyectado = new Document();
+        for (String campo : campos) {
+            if (documento.containsKey(campo)) {
+                proyectado.put(campo, documento.get(campo));
+            }
+        }
+        return proyectado;
+    }
+}
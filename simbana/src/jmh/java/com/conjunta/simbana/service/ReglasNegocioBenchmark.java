@@ -0,0 +1,56 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validaciones que corren en cada transacción: suma de denominaciones contra el monto total
+ * y búsqueda de una denominación por su valor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReglasNegocioBenchmark {
+
+    private List<DenominacionTransaccion> denominaciones;
+    private BigDecimal montoDenominaciones;
+
+    @Setup
+    public void preparar() {
+        denominaciones = new ArrayList<>();
+        montoDenominaciones = BigDecimal.ZERO;
+        for (Enums.Denominacion billete : Enums.Denominacion.values()) {
+            DenominacionTransaccion denominacion = new DenominacionTransaccion();
+            denominacion.setBillete(billete);
+            denominacion.setCantidadBilletes(3);
+            denominaciones.add(denominacion);
+            montoDenominaciones = montoDenominaciones.add(billete.getMonto().multiply(BigDecimal.valueOf(3)));
+        }
+    }
+
+    @Benchmark
+    public int[] contarBilletes() {
+        return ReglasNegocio.contarBilletes(denominaciones, montoDenominaciones);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(6)
+    public void denominacionFromValor(Blackhole blackhole) {
+        blackhole.consume(Enums.Denominacion.fromValor("1"));
+        blackhole.consume(Enums.Denominacion.fromValor("5"));
+        blackhole.consume(Enums.Denominacion.fromValor("10"));
+        blackhole.consume(Enums.Denominacion.fromValor("20"));
+        blackhole.consume(Enums.Denominacion.fromValor("50"));
+        blackhole.consume(Enums.Denominacion.fromValor("100"));
+    }
+}
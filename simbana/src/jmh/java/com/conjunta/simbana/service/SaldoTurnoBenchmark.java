@@ -0,0 +1,97 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.config.MongoConversionesConfig;
+import com.conjunta.simbana.config.MongoIndexConfig;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.repository.TransaccionTurnoRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recálculo del saldo y del monto esperado de un turno sin saldo materializado: la agregación de
+ * {@code sumarMovimientosPorTurno} que usan {@code calcularSaldoTurno} y los cierres, para turnos de
+ * distinto tamaño. Necesita un Mongo en ejecución ({@code SIMBANA_BENCH_MONGO_URI}, por defecto
+ * mongodb://localhost:27017); trabaja en una base propia que se borra al terminar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SaldoTurnoBenchmark {
+
+    private static final String BASE = "simbana_jmh";
+    private static final String TURNO = "CAJA01-CAJERO01-20240115";
+    private static final int TAMANO_LOTE = 1000;
+
+    @Param({"10", "1000", "100000"})
+    private int transacciones;
+
+    private MongoClient cliente;
+    private TransaccionTurnoRepositoryImpl repositorio;
+
+    @Setup
+    public void preparar() {
+        cliente = MongoClients.create(System.getenv().getOrDefault("SIMBANA_BENCH_MONGO_URI", "mongodb://localhost:27017"));
+        MongoCustomConversions conversiones = MongoConversionesConfig.conversiones();
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(conversiones.getSimpleTypeHolder());
+        contexto.afterPropertiesSet();
+        MappingMongoConverter convertidor = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, contexto);
+        convertidor.setCustomConversions(conversiones);
+        convertidor.afterPropertiesSet();
+        MongoTemplate mongoTemplate = new MongoTemplate(new SimpleMongoClientDatabaseFactory(cliente, BASE), convertidor);
+
+        mongoTemplate.getDb().drop();
+        new MongoIndexConfig(mongoTemplate, Duration.ofHours(24)).afterSingletonsInstantiated();
+        repositorio = new TransaccionTurnoRepositoryImpl(mongoTemplate);
+
+        Enums.TipoTransaccion[] tipos = {
+            Enums.TipoTransaccion.DEPOSITO, Enums.TipoTransaccion.AHORRO, Enums.TipoTransaccion.DEPOSITO
+        };
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 15, 8, 0);
+        List<TransaccionTurno> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < transacciones; i++) {
+            TransaccionTurno transaccion = new TransaccionTurno(i + 1);
+            transaccion.setCodigoTurno(TURNO);
+            transaccion.setCodigoCaja("CAJA01");
+            transaccion.setCodigoCajero("CAJERO01");
+            transaccion.setTipoTransaccion(tipos[i % tipos.length]);
+            transaccion.setMontoTotal(BigDecimal.valueOf(10 + i % 90).add(new BigDecimal("0.25")));
+            transaccion.setFechaHora(inicio.plusSeconds(i));
+            lote.add(transaccion);
+            if (lote.size() == TAMANO_LOTE || i == transacciones - 1) {
+                repositorio.insertarLote(lote, false);
+                lote = new ArrayList<>(TAMANO_LOTE);
+            }
+        }
+    }
+
+    @TearDown
+    public void limpiar() {
+        cliente.getDatabase(BASE).drop();
+        cliente.close();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> saldoTurno() {
+        return repositorio.sumarMovimientosPorTurno(List.of(TURNO));
+    }
+}
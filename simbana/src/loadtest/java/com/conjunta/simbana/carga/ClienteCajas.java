@@ -0,0 +1,107 @@
+package com.conjunta.simbana.carga;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+
+/**
+ * Cliente HTTP de la API de cajas. Cada llamada registra su latencia en las métricas del endpoint;
+ * las transacciones la miden desde el instante en que debían enviarse, no desde que se enviaron,
+ * para que un servidor lento no reduzca la carga ofrecida sin que se note (omisión coordinada).
+ */
+final class ClienteCajas {
+
+    static final int[] BILLETES = {1, 5, 10, 20, 50, 100};
+
+    private final String base;
+    private final HttpClient http;
+    private final Map<String, MetricasEndpoint> metricas;
+
+    ClienteCajas(String url, Map<String, MetricasEndpoint> metricas) {
+        this.base = url + "/v1/cashboxes";
+        this.metricas = metricas;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    boolean abrirTurno(String codigoTurno, String codigoCaja, String codigoCajero, int[] inventario) {
+        String cuerpo = "{\"codigoTurno\":\"" + codigoTurno + "\",\"codigoCaja\":\"" + codigoCaja
+                + "\",\"codigoCajero\":\"" + codigoCajero + "\",\"montoInicial\":" + total(inventario).toPlainString()
+                + ",\"denominacionesIniciales\":" + denominaciones(inventario) + "}";
+        return enviar("POST /turnos", HttpRequest.newBuilder(URI.create(base + "/turnos"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)), System.nanoTime()) != null;
+    }
+
+    boolean registrar(String tipo, String codigoTurno, String codigoCaja, String codigoCajero, int[] billetes,
+                      long inicioPrevisto) {
+        String ruta = "DEPOSITO".equals(tipo) ? "/transacciones/deposito" : "/transacciones/ahorro";
+        String cuerpo = "{\"codigoTurno\":\"" + codigoTurno + "\",\"codigoCaja\":\"" + codigoCaja
+                + "\",\"codigoCajero\":\"" + codigoCajero + "\",\"tipoTransaccion\":\"" + tipo
+                + "\",\"montoTotal\":" + total(billetes).toPlainString()
+                + ",\"denominaciones\":" + denominaciones(billetes) + "}";
+        return enviar("POST " + ruta, HttpRequest.newBuilder(URI.create(base + ruta))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)), inicioPrevisto) != null;
+    }
+
+    BigDecimal consultarSaldo(String codigoTurno) {
+        String respuesta = enviar("GET /transacciones/turno/{codigoTurno}/saldo",
+                HttpRequest.newBuilder(URI.create(base + "/transacciones/turno/" + codigoTurno + "/saldo")).GET(),
+                System.nanoTime());
+        return respuesta != null ? new BigDecimal(respuesta.trim()) : null;
+    }
+
+    boolean cerrarTurno(String codigoTurno, BigDecimal montoFinal) {
+        String cuerpo = "{\"montoFinal\":" + montoFinal.toPlainString() + "}";
+        return enviar("PATCH /turnos/{turnoId}/cerrar",
+                HttpRequest.newBuilder(URI.create(base + "/turnos/" + codigoTurno + "/cerrar"))
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(cuerpo)), System.nanoTime()) != null;
+    }
+
+    // Retorna el cuerpo de la respuesta si fue 2xx, o null si falló.
+    private String enviar(String endpoint, HttpRequest.Builder peticion, long inicio) {
+        HttpRequest request = peticion
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        String cuerpo = null;
+        try {
+            HttpResponse<String> respuesta = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() / 100 == 2) {
+                cuerpo = respuesta.body();
+            }
+        } catch (IOException e) {
+            // Conexión rechazada o timeout: cuenta como error con la latencia hasta el fallo.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        metricas.computeIfAbsent(endpoint, MetricasEndpoint::new).registrar(System.nanoTime() - inicio, cuerpo != null);
+        return cuerpo;
+    }
+
+    static BigDecimal total(int[] billetes) {
+        long total = 0;
+        for (int i = 0; i < billetes.length; i++) {
+            total += (long) BILLETES[i] * billetes[i];
+        }
+        return BigDecimal.valueOf(total);
+    }
+
+    private static String denominaciones(int[] billetes) {
+        StringJoiner lista = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < billetes.length; i++) {
+            if (billetes[i] > 0) {
+                lista.add("{\"billete\":" + BILLETES[i] + ",\"cantidad\":" + billetes[i] + "}");
+            }
+        }
+        return lista.toString();
+    }
+}
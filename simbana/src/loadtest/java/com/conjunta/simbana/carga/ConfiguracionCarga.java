@@ -0,0 +1,54 @@
+package com.conjunta.simbana.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Parámetros de una corrida, leídos de propiedades del sistema (-Dcarga.*) con valores por defecto
+ * pensados para una instancia local.
+ */
+record ConfiguracionCarga(
+        String url,
+        int ventanillas,
+        double transaccionesPorSegundo,
+        Duration calentamiento,
+        Duration duracion,
+        int transaccionesPorTurno,
+        double proporcionAhorro,
+        int consultasSaldoCada,
+        long sloP99Milisegundos,
+        Path salida) {
+
+    static ConfiguracionCarga desdePropiedades() {
+        return new ConfiguracionCarga(
+                System.getProperty("carga.url", "http://localhost:8080"),
+                Integer.getInteger("carga.ventanillas", 50),
+                Double.parseDouble(System.getProperty("carga.tasa", "2")),
+                Duration.parse("PT" + System.getProperty("carga.calentamiento", "15s")),
+                Duration.parse("PT" + System.getProperty("carga.duracion", "60s")),
+                Integer.getInteger("carga.transacciones-por-turno", 200),
+                Double.parseDouble(System.getProperty("carga.proporcion-ahorro", "0.4")),
+                Integer.getInteger("carga.saldo-cada", 5),
+                Long.getLong("carga.slo-p99-ms", 250),
+                Path.of(System.getProperty("carga.salida", "target/carga")));
+    }
+
+    /**
+     * Tasa total de transacciones que se intenta sostener entre todas las ventanillas.
+     */
+    double tasaObjetivo() {
+        return ventanillas * transaccionesPorSegundo;
+    }
+
+    long intervaloNanos() {
+        return (long) (1_000_000_000L / transaccionesPorSegundo);
+    }
+
+    @Override
+    public String toString() {
+        return "url=" + url + ", ventanillas=" + ventanillas + ", tasa por ventanilla=" + transaccionesPorSegundo
+                + "/s, calentamiento=" + calentamiento.toSeconds() + "s, duración=" + duracion.toSeconds()
+                + "s, transacciones por turno=" + transaccionesPorTurno + ", proporción de ahorros=" + proporcionAhorro
+                + ", saldo cada " + consultasSaldoCada + " transacciones";
+    }
+}
@@ -0,0 +1,131 @@
+package com.conjunta.simbana.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga de extremo a extremo contra la API REST. Simula ventanillas concurrentes
+ * (una por hilo virtual) con el ciclo completo de un turno y reporta por endpoint el throughput y
+ * los percentiles de latencia medidos con HdrHistogram. Uso:
+ *
+ * <pre>
+ * mvn -Pcarga test-compile exec:java -Dcarga.url=http://localhost:8080 -Dcarga.ventanillas=100
+ * </pre>
+ *
+ * Deja en carga.salida un resumen.csv y la distribución completa de cada endpoint (.hgrm).
+ */
+public final class GeneradorCarga {
+
+    private GeneradorCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdePropiedades();
+        ConcurrentMap<String, MetricasEndpoint> metricas = new ConcurrentHashMap<>();
+        ClienteCajas cliente = new ClienteCajas(configuracion.url(), metricas);
+
+        System.out.println("Carga: " + configuracion);
+        long inicio = System.nanoTime();
+        long finCalentamiento = inicio + configuracion.calentamiento().toNanos();
+        long fin = finCalentamiento + configuracion.duracion().toNanos();
+
+        // Códigos de hasta 10 caracteres, distintos en cada corrida para no chocar con turnos abiertos anteriores.
+        String corrida = Long.toString(System.currentTimeMillis() % 46_656, 36);
+        try (ExecutorService ventanillas = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < configuracion.ventanillas(); i++) {
+                String sufijo = corrida + String.format("%05d", i);
+                ventanillas.submit(new Ventanilla(configuracion, cliente, "C" + sufijo, "U" + sufijo, fin));
+            }
+
+            esperar(finCalentamiento);
+            metricas.values().forEach(MetricasEndpoint::reiniciar);
+            System.out.println("Calentamiento terminado, midiendo " + configuracion.duracion().toSeconds() + "s");
+            esperar(fin);
+        }
+        double segundos = configuracion.duracion().toNanos() / 1e9;
+
+        reportar(configuracion, new TreeMap<>(metricas), segundos);
+    }
+
+    private static void reportar(ConfiguracionCarga configuracion, Map<String, MetricasEndpoint> metricas,
+                                 double segundos) throws IOException {
+        Path salida = configuracion.salida();
+        Files.createDirectories(salida);
+
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,peticiones,errores,peticiones_por_segundo,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        System.out.printf("%n%-48s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "peticiones", "errores", "pet/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        long transacciones = 0;
+        double p99Transacciones = 0;
+        for (MetricasEndpoint endpoint : metricas.values()) {
+            Histogram histograma = endpoint.histograma();
+            long peticiones = histograma.getTotalCount();
+            double porSegundo = peticiones / segundos;
+            String fila = String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    endpoint.nombre(), peticiones, endpoint.errores(), porSegundo,
+                    ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(90)),
+                    ms(histograma.getValueAtPercentile(99)), ms(histograma.getValueAtPercentile(99.9)),
+                    ms(histograma.getMaxValue()));
+            csv.add(fila);
+            System.out.printf(Locale.ROOT, "%-48s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.nombre(), peticiones, endpoint.errores(), porSegundo,
+                    ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(90)),
+                    ms(histograma.getValueAtPercentile(99)), ms(histograma.getValueAtPercentile(99.9)),
+                    ms(histograma.getMaxValue()));
+
+            try (PrintStream distribucion = new PrintStream(
+                    salida.resolve(archivo(endpoint.nombre()) + ".hgrm").toFile())) {
+                // Valores en milisegundos, formato que leen los graficadores de HdrHistogram.
+                histograma.outputPercentileDistribution(distribucion, 1_000_000.0);
+            }
+
+            if (endpoint.nombre().startsWith("POST /transacciones")) {
+                transacciones += peticiones;
+                p99Transacciones = Math.max(p99Transacciones, ms(histograma.getValueAtPercentile(99)));
+            }
+        }
+        Files.write(salida.resolve("resumen.csv"), csv);
+
+        double tasaLograda = transacciones / segundos;
+        boolean sostenida = tasaLograda >= configuracion.tasaObjetivo() * 0.95;
+        boolean cumpleSlo = p99Transacciones <= configuracion.sloP99Milisegundos();
+        System.out.printf(Locale.ROOT, "%nTransacciones: %.1f/s de %.1f/s objetivo, p99 %.2f ms (SLO %d ms)%n",
+                tasaLograda, configuracion.tasaObjetivo(), p99Transacciones, configuracion.sloP99Milisegundos());
+        System.out.println(sostenida && cumpleSlo
+                ? "La instancia sostiene " + configuracion.ventanillas() + " ventanillas"
+                : "La instancia NO sostiene " + configuracion.ventanillas() + " ventanillas"
+                        + (sostenida ? " dentro del SLO" : " a la tasa objetivo"));
+        System.out.println("Resultados en " + salida.toAbsolutePath());
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String archivo(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    private static void esperar(long instante) throws InterruptedException {
+        long espera;
+        while ((espera = instante - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
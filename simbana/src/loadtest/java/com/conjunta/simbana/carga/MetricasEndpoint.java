@@ -0,0 +1,54 @@
+package com.conjunta.simbana.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores de un endpoint. Las ventanillas registran en un Recorder de HdrHistogram
+ * (sin bloqueos entre hilos); al terminar el calentamiento se descarta lo acumulado.
+ */
+final class MetricasEndpoint {
+
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toNanos(1);
+
+    private final String nombre;
+    private final Recorder recorder = new Recorder(LATENCIA_MAXIMA, 3);
+    private final LongAdder errores = new LongAdder();
+    private volatile Histogram acumulado = new Histogram(LATENCIA_MAXIMA, 3);
+
+    MetricasEndpoint(String nombre) {
+        this.nombre = nombre;
+    }
+
+    String nombre() {
+        return nombre;
+    }
+
+    void registrar(long latenciaNanos, boolean exitosa) {
+        recorder.recordValue(Math.min(latenciaNanos, LATENCIA_MAXIMA));
+        if (!exitosa) {
+            errores.increment();
+        }
+    }
+
+    void reiniciar() {
+        recorder.reset();
+        errores.reset();
+        acumulado = new Histogram(LATENCIA_MAXIMA, 3);
+    }
+
+    /**
+     * Histograma de todo lo registrado desde el último reinicio. Solo lo llama el hilo que reporta.
+     */
+    Histogram histograma() {
+        acumulado.add(recorder.getIntervalHistogram());
+        return acumulado;
+    }
+
+    long errores() {
+        return errores.sum();
+    }
+}
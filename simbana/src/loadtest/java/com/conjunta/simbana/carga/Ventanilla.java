@@ -0,0 +1,123 @@
+package com.conjunta.simbana.carga;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Un cajero atendiendo una ventanilla: abre un turno, registra depósitos y ahorros a la tasa
+ * configurada consultando el saldo cada cierto número de transacciones, y al completar el turno
+ * lo cierra con el saldo que lleva y abre el siguiente. Lleva su propio inventario de billetes
+ * para que los ahorros siempre sean válidos.
+ */
+final class Ventanilla implements Runnable {
+
+    private static final int[] INVENTARIO_INICIAL = {0, 20, 20, 20, 10, 10};
+
+    private final ConfiguracionCarga configuracion;
+    private final ClienteCajas cliente;
+    private final String codigoCaja;
+    private final String codigoCajero;
+    private final long fin;
+
+    private int turnos;
+    private String codigoTurno;
+    private int[] inventario;
+
+    Ventanilla(ConfiguracionCarga configuracion, ClienteCajas cliente, String codigoCaja, String codigoCajero,
+               long fin) {
+        this.configuracion = configuracion;
+        this.cliente = cliente;
+        this.codigoCaja = codigoCaja;
+        this.codigoCajero = codigoCajero;
+        this.fin = fin;
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long intervalo = configuracion.intervaloNanos();
+        // Arranque escalonado para que las ventanillas no envíen todas en el mismo instante.
+        long siguiente = System.nanoTime() + aleatorio.nextLong(intervalo);
+
+        while (System.nanoTime() < fin && !Thread.currentThread().isInterrupted()) {
+            if (!abrirTurno()) {
+                LockSupport.parkNanos(intervalo);
+                siguiente = System.nanoTime();
+                continue;
+            }
+            for (int n = 1; n <= configuracion.transaccionesPorTurno() && System.nanoTime() < fin; n++) {
+                esperarHasta(siguiente);
+                transaccion(aleatorio, siguiente);
+                siguiente += intervalo;
+                if (n % configuracion.consultasSaldoCada() == 0) {
+                    cliente.consultarSaldo(codigoTurno);
+                }
+            }
+            cerrarTurno();
+        }
+    }
+
+    private boolean abrirTurno() {
+        turnos++;
+        codigoTurno = codigoCaja + "-" + turnos;
+        inventario = INVENTARIO_INICIAL.clone();
+        return cliente.abrirTurno(codigoTurno, codigoCaja, codigoCajero, inventario);
+    }
+
+    private void cerrarTurno() {
+        BigDecimal saldo = cliente.consultarSaldo(codigoTurno);
+        cliente.cerrarTurno(codigoTurno, saldo != null ? saldo : ClienteCajas.total(inventario));
+    }
+
+    private void transaccion(ThreadLocalRandom aleatorio, long inicioPrevisto) {
+        if (aleatorio.nextDouble() < configuracion.proporcionAhorro()) {
+            int[] retiro = retiro(aleatorio);
+            if (retiro != null && cliente.registrar("AHORRO", codigoTurno, codigoCaja, codigoCajero, retiro, inicioPrevisto)) {
+                for (int i = 0; i < retiro.length; i++) {
+                    inventario[i] -= retiro[i];
+                }
+            }
+            if (retiro != null) {
+                return;
+            }
+        }
+        int[] deposito = deposito(aleatorio);
+        if (cliente.registrar("DEPOSITO", codigoTurno, codigoCaja, codigoCajero, deposito, inicioPrevisto)) {
+            for (int i = 0; i < deposito.length; i++) {
+                inventario[i] += deposito[i];
+            }
+        }
+    }
+
+    // Entre uno y seis billetes de denominaciones al azar.
+    private static int[] deposito(ThreadLocalRandom aleatorio) {
+        int[] billetes = new int[ClienteCajas.BILLETES.length];
+        int cantidad = 1 + aleatorio.nextInt(6);
+        for (int i = 0; i < cantidad; i++) {
+            billetes[aleatorio.nextInt(billetes.length)]++;
+        }
+        return billetes;
+    }
+
+    // Hasta tres billetes tomados de lo que hay en la caja; null si la caja está vacía.
+    private int[] retiro(ThreadLocalRandom aleatorio) {
+        int[] billetes = new int[inventario.length];
+        int tomados = 0;
+        for (int intento = 0; intento < 10 && tomados < 3; intento++) {
+            int i = aleatorio.nextInt(inventario.length);
+            if (inventario[i] - billetes[i] > 0) {
+                billetes[i]++;
+                tomados++;
+            }
+        }
+        return tomados > 0 ? billetes : null;
+    }
+
+    private static void esperarHasta(long instante) {
+        long espera;
+        while ((espera = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(espera);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.conjunta.simbana.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.cors.reactive.CorsWebFilter;
 
 import java.util.Arrays;
 
@@ -13,6 +15,23 @@ public class CorsConfig {
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuracion());
+        
+        return source;
+    }
+
+    // Con el perfil reactivo no hay filtros servlet; WebFlux aplica CORS mediante este filtro.
+    @Bean
+    @Profile("reactivo")
+    public CorsWebFilter corsWebFilter() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuracion());
+        return new CorsWebFilter(source);
+    }
+
+    private CorsConfiguration configuracion() {
         CorsConfiguration configuration = new CorsConfiguration();
         
         // Permitir todos los orígenes (en producción deberías especificar dominios específicos)
@@ -30,9 +49,6 @@ public class CorsConfig {
         // Configurar el tiempo de vida del preflight request
         configuration.setMaxAge(3600L);
         
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        
-        return source;
+        return configuration;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.conjunta.simbana.config;
+
+import com.conjunta.simbana.service.TurnosAbiertosCache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita {@code @Timed} en los servicios y publica el estado de la cache de turnos abiertos.
+ * La latencia de los endpoints (http.server.requests) y de los comandos de Mongo
+ * (mongodb.driver.commands, por comando y colección) la registra Actuator sin configuración extra.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registro) {
+        return new TimedAspect(registro);
+    }
+
+    @Bean
+    public MeterBinder metricasCacheTurnos(TurnosAbiertosCache cache) {
+        return registro -> {
+            Gauge.builder("simbana.cache.turnos.tamano", cache, TurnosAbiertosCache::tamano)
+                    .description("Turnos abiertos en cache")
+                    .register(registro);
+            FunctionCounter.builder("simbana.cache.turnos.consultas", cache, c -> c.estadisticas().hitCount())
+                    .description("Consultas a la cache de turnos abiertos")
+                    .tag("resultado", "acierto")
+                    .register(registro);
+            FunctionCounter.builder("simbana.cache.turnos.consultas", cache, c -> c.estadisticas().missCount())
+                    .description("Consultas a la cache de turnos abiertos")
+                    .tag("resultado", "fallo")
+                    .register(registro);
+        };
+    }
+}
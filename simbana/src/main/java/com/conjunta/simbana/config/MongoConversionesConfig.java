@@ -0,0 +1,99 @@
+package com.conjunta.simbana.config;
+
+import com.conjunta.simbana.model.Enums;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conversiones de Mongo compartidas por el repositorio bloqueante y el reactivo.
+ * Los montos se guardan como Decimal128 con {@code @Field(targetType = FieldType.DECIMAL128)} en cada
+ * campo; aquí se fija la representación de los enums de {@link Enums}: se guardan por nombre, que es
+ * lo que esperan los índices parciales y los literales de las agregaciones, y un valor que no
+ * corresponde a ninguna constante falla indicando el enum y el valor leído.
+ */
+@Configuration
+@Profile("!memoria")
+public class MongoConversionesConfig {
+
+    private static final List<Class<? extends Enum<?>>> ENUMS = List.of(
+            Enums.EstadoTurno.class, Enums.TipoTransaccion.class, Enums.Denominacion.class);
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return conversiones();
+    }
+
+    public static MongoCustomConversions conversiones() {
+        return new MongoCustomConversions(List.of(new EnumANombre(), new NombreAEnum()));
+    }
+
+    @WritingConverter
+    static final class EnumANombre implements GenericConverter {
+
+        private final Set<ConvertiblePair> tipos = new HashSet<>();
+
+        EnumANombre() {
+            for (Class<? extends Enum<?>> tipo : ENUMS) {
+                tipos.add(new ConvertiblePair(tipo, String.class));
+            }
+        }
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return tipos;
+        }
+
+        @Override
+        public Object convert(Object valor, TypeDescriptor origen, TypeDescriptor destino) {
+            return valor == null ? null : ((Enum<?>) valor).name();
+        }
+    }
+
+    @ReadingConverter
+    static final class NombreAEnum implements GenericConverter {
+
+        private final Set<ConvertiblePair> tipos = new HashSet<>();
+        private final Map<Class<?>, Map<String, Enum<?>>> constantes = new HashMap<>();
+
+        NombreAEnum() {
+            for (Class<? extends Enum<?>> tipo : ENUMS) {
+                tipos.add(new ConvertiblePair(String.class, tipo));
+                Map<String, Enum<?>> porNombre = new HashMap<>();
+                for (Enum<?> constante : tipo.getEnumConstants()) {
+                    porNombre.put(constante.name(), constante);
+                }
+                constantes.put(tipo, porNombre);
+            }
+        }
+
+        @Override
+        public Set<ConvertiblePair> getConvertibleTypes() {
+            return tipos;
+        }
+
+        @Override
+        public Object convert(Object valor, TypeDescriptor origen, TypeDescriptor destino) {
+            if (valor == null) {
+                return null;
+            }
+            Enum<?> constante = constantes.get(destino.getType()).get((String) valor);
+            if (constante == null) {
+                throw new IllegalArgumentException(
+                        "Valor no válido para " + destino.getType().getSimpleName() + ": " + valor);
+            }
+            return constante;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.conjunta.simbana.config;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.RespuestaIdempotente;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Crea al iniciar los índices que respaldan las consultas de los repositorios.
+ * Se ejecuta antes de levantar el servidor web, así ninguna petición llega sin índices.
+ * Crear un índice que ya existe con la misma definición no tiene efecto.
+ */
+@Component
+@Profile("!memoria")
+public class MongoIndexConfig implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    // Índices únicos parciales: a lo sumo un turno ABIERTO por caja y por cajero.
+    public static final String INDICE_CAJA_ABIERTA = "ux_turno_caja_abierto";
+    public static final String INDICE_CAJERO_ABIERTO = "ux_turno_cajero_abierto";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration expiracionIdempotencia;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            @Value("${simbana.idempotencia.expiracion:24h}") Duration expiracionIdempotencia) {
+        this.mongoTemplate = mongoTemplate;
+        this.expiracionIdempotencia = expiracionIdempotencia;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        crearIndicesTurnos();
+        crearIndicesTransacciones();
+        crearIndicesDenominaciones();
+        crearIndicesDiscrepancias();
+        crearIndicesIdempotencia();
+        logger.info("Índices de MongoDB verificados");
+    }
+
+    private void crearIndicesTurnos() {
+        IndexOperations indices = mongoTemplate.indexOps(TurnoCaja.class);
+        PartialIndexFilter soloAbiertos = PartialIndexFilter.of(
+                Criteria.where("estado").is(Enums.EstadoTurno.ABIERTO.name()));
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .unique()
+                .partial(soloAbiertos)
+                .named(INDICE_CAJA_ABIERTA));
+        indices.createIndex(new Index()
+                .on("codigoCajero", Sort.Direction.ASC)
+                .unique()
+                .partial(soloAbiertos)
+                .named(INDICE_CAJERO_ABIERTO));
+        // existsByCodigoCajaAndEstado, findByCodigoCajaAndEstado, findByCodigoCaja y páginas de turnos abiertos.
+        // codigoTurno es el _id; las versiones anteriores lo indexaban como campo aparte.
+        retirarIndice(indices, "idx_turno_caja_estado");
+        retirarIndice(indices, "idx_turno_caja_estado_inicio");
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .on("estado", Sort.Direction.ASC)
+                .on("inicioTurno", Sort.Direction.ASC)
+                .on("codigoTurno", Sort.Direction.ASC)
+                .named("idx_turno_caja_estado_inicio_id"));
+        // findTop1ByCodigoCajaOrderByInicioTurnoDesc
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .on("inicioTurno", Sort.Direction.DESC)
+                .named("idx_turno_caja_inicio"));
+        // existsByCodigoCajeroAndEstado, findByCodigoCajeroAndEstado, findByCodigoCajero y páginas de turnos abiertos
+        retirarIndice(indices, "idx_turno_cajero_estado");
+        retirarIndice(indices, "idx_turno_cajero_estado_inicio");
+        indices.createIndex(new Index()
+                .on("codigoCajero", Sort.Direction.ASC)
+                .on("estado", Sort.Direction.ASC)
+                .on("inicioTurno", Sort.Direction.ASC)
+                .on("codigoTurno", Sort.Direction.ASC)
+                .named("idx_turno_cajero_estado_inicio_id"));
+        // findTop1ByCodigoCajeroOrderByInicioTurnoDesc
+        indices.createIndex(new Index()
+                .on("codigoCajero", Sort.Direction.ASC)
+                .on("inicioTurno", Sort.Direction.DESC)
+                .named("idx_turno_cajero_inicio"));
+        // findByEstado, findByFinTurnoBetweenAndEstado
+        indices.createIndex(new Index()
+                .on("estado", Sort.Direction.ASC)
+                .on("finTurno", Sort.Direction.ASC)
+                .named("idx_turno_estado_fin"));
+        // findByInicioTurnoBetween
+        indices.createIndex(new Index()
+                .on("inicioTurno", Sort.Direction.ASC)
+                .named("idx_turno_inicio"));
+    }
+
+    private void crearIndicesTransacciones() {
+        IndexOperations indices = mongoTemplate.indexOps(TransaccionTurno.class);
+        // findByCodigoTurno, findByCodigoTurnoAndFechaHoraBetween y recorridos ordenados por (fechaHora, id)
+        retirarIndice(indices, "idx_transaccion_turno_fecha");
+        indices.createIndex(new Index()
+                .on("codigoTurno", Sort.Direction.ASC)
+                .on("fechaHora", Sort.Direction.ASC)
+                .on("id", Sort.Direction.ASC)
+                .named("idx_transaccion_turno_fecha_id"));
+        // findByCodigoTurnoAndTipoTransaccion
+        indices.createIndex(new Index()
+                .on("codigoTurno", Sort.Direction.ASC)
+                .on("tipoTransaccion", Sort.Direction.ASC)
+                .named("idx_transaccion_turno_tipo"));
+        // findByCodigoCajaAndFechaHoraBetween y recorridos ordenados por (fechaHora, id)
+        retirarIndice(indices, "idx_transaccion_caja_fecha");
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .on("fechaHora", Sort.Direction.ASC)
+                .on("id", Sort.Direction.ASC)
+                .named("idx_transaccion_caja_fecha_id"));
+        // findByCodigoCajaAndTipoTransaccion
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .on("tipoTransaccion", Sort.Direction.ASC)
+                .named("idx_transaccion_caja_tipo"));
+        // findByTipoTransaccion y páginas por tipo ordenadas por (fechaHora, id)
+        retirarIndice(indices, "idx_transaccion_tipo_fecha");
+        indices.createIndex(new Index()
+                .on("tipoTransaccion", Sort.Direction.ASC)
+                .on("fechaHora", Sort.Direction.ASC)
+                .on("id", Sort.Direction.ASC)
+                .named("idx_transaccion_tipo_fecha_id"));
+
+        // Reporte de totales por caja sin filtrar caja (solo rango de fechas)
+        indices.createIndex(new Index()
+                .on("fechaHora", Sort.Direction.ASC)
+                .named("idx_transaccion_fecha"));
+    }
+
+    private void crearIndicesDenominaciones() {
+        IndexOperations indices = mongoTemplate.indexOps(DenominacionTransaccion.class);
+        // findByTransaccionId, findByTransaccionIdAndBillete, findByTransaccionIdAnd...GreaterThan
+        indices.createIndex(new Index()
+                .on("transaccionId", Sort.Direction.ASC)
+                .on("billete", Sort.Direction.ASC)
+                .named("idx_denominacion_transaccion_billete"));
+        // findByBillete
+        indices.createIndex(new Index()
+                .on("billete", Sort.Direction.ASC)
+                .named("idx_denominacion_billete"));
+    }
+
+    private void crearIndicesDiscrepancias() {
+        IndexOperations indices = mongoTemplate.indexOps(DiscrepanciaTurno.class);
+        // Páginas de discrepancias de una caja ordenadas por (fechaCierre, codigoTurno)
+        indices.createIndex(new Index()
+                .on("codigoCaja", Sort.Direction.ASC)
+                .on("fechaCierre", Sort.Direction.ASC)
+                .on("codigoTurno", Sort.Direction.ASC)
+                .named("idx_discrepancia_caja_fecha"));
+        // Páginas de discrepancias de todas las cajas
+        indices.createIndex(new Index()
+                .on("fechaCierre", Sort.Direction.ASC)
+                .on("codigoTurno", Sort.Direction.ASC)
+                .named("idx_discrepancia_fecha"));
+    }
+
+    private void crearIndicesIdempotencia() {
+        IndexOperations indices = mongoTemplate.indexOps(RespuestaIdempotente.class);
+        // Mongo no permite cambiar el TTL con createIndex: si cambió la expiración se recrea el índice.
+        boolean expiracionDistinta = indices.getIndexInfo().stream()
+                .anyMatch(indice -> "ttl_respuesta_idempotente".equals(indice.getName())
+                        && !indice.getExpireAfter().map(expiracionIdempotencia::equals).orElse(false));
+        if (expiracionDistinta) {
+            retirarIndice(indices, "ttl_respuesta_idempotente");
+        }
+        indices.createIndex(new Index()
+                .on("creada", Sort.Direction.ASC)
+                .expire(expiracionIdempotencia)
+                .named("ttl_respuesta_idempotente"));
+    }
+
+    // Elimina un índice reemplazado por otra definición, si todavía existe.
+    private void retirarIndice(IndexOperations indices, String nombre) {
+        boolean existe = indices.getIndexInfo().stream().anyMatch(indice -> nombre.equals(indice.getName()));
+        if (existe) {
+            indices.dropIndex(nombre);
+            logger.info("Índice obsoleto eliminado: {}", nombre);
+        }
+    }
+}
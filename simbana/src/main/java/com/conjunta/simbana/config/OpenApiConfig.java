@@ -1,14 +1,20 @@
 package com.conjunta.simbana.config;
 
+import com.conjunta.simbana.controller.IdempotenciaFilter;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.customizers.OpenApiCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Configuration
 public class OpenApiConfig {
@@ -37,4 +43,21 @@ public class OpenApiConfig {
                                 .description("Servidor de Producción")
                 ));
     }
-} 
\ No newline at end of file
+
+    // Documenta el encabezado Idempotency-Key en todos los endpoints que modifican datos.
+    @Bean
+    public OpenApiCustomizer encabezadoIdempotencia() {
+        return openApi -> openApi.getPaths().values().forEach(ruta ->
+                Stream.of(ruta.getPost(), ruta.getPut(), ruta.getPatch(), ruta.getDelete())
+                        .filter(operacion -> operacion != null)
+                        .forEach(this::agregarEncabezadoIdempotencia));
+    }
+
+    private void agregarEncabezadoIdempotencia(Operation operacion) {
+        operacion.addParametersItem(new HeaderParameter()
+                .name(IdempotenciaFilter.ENCABEZADO)
+                .required(false)
+                .description("Clave única de la petición; un reintento con la misma clave recibe la respuesta original")
+                .schema(new StringSchema().maxLength(255)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.conjunta.simbana.config;
+
+import com.conjunta.simbana.repository.TurnoCajaRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Asigna cada interfaz de repositorio a su módulo de Spring Data por el tipo que extiende. Las
+ * entidades también llevan {@code @Entity}, así que sin estos filtros JPA reclama los repositorios
+ * de Mongo (y falla con los reactivos) al iniciar en el perfil por defecto.
+ */
+@Configuration
+@Profile("!memoria")
+@EnableMongoRepositories(basePackageClasses = TurnoCajaRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = MongoRepository.class))
+@EnableReactiveMongoRepositories(basePackageClasses = TurnoCajaRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveMongoRepository.class))
+@EnableJpaRepositories(basePackageClasses = TurnoCajaRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JpaRepository.class))
+public class RepositoriosConfig {
+}
@@ -0,0 +1,219 @@
+package com.conjunta.simbana.controller;
+
+import com.conjunta.simbana.model.RespuestaIdempotente;
+import com.conjunta.simbana.service.RespuestasIdempotentes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Atiende el encabezado Idempotency-Key en los endpoints que modifican datos. La primera petición
+ * con una clave se ejecuta normalmente y su respuesta se guarda; los reintentos con la misma clave
+ * reciben esa misma respuesta sin pasar por el controlador ni por el servicio. Las respuestas 5xx
+ * no se guardan, así el cliente puede reintentar una petición que falló por el servidor. Si la
+ * petición se aplicó pero su respuesta no se pudo guardar, la clave queda retenida y se responde
+ * 500: liberarla permitiría que el reintento la aplicara dos veces.
+ */
+@Component
+@Profile("!reactivo")
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String ENCABEZADO = "Idempotency-Key";
+    public static final String ENCABEZADO_REPETIDA = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 255;
+    private static final Set<String> METODOS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final RespuestasIdempotentes respuestasIdempotentes;
+    private final ObjectMapper objectMapper;
+
+    public IdempotenciaFilter(RespuestasIdempotentes respuestasIdempotentes, ObjectMapper objectMapper) {
+        this.respuestasIdempotentes = respuestasIdempotentes;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METODOS.contains(request.getMethod())
+                || request.getHeader(ENCABEZADO) == null
+                || !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(ENCABEZADO).trim();
+        if (clave.isEmpty() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            responderError(response, HttpStatus.BAD_REQUEST,
+                    "El encabezado " + ENCABEZADO + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+            return;
+        }
+
+        byte[] cuerpo = request.getInputStream().readAllBytes();
+        String id = RespuestasIdempotentes.id(request.getMethod(), request.getRequestURI(), clave);
+        String huella = RespuestasIdempotentes.huella(cuerpo);
+
+        RespuestaIdempotente previa = respuestasIdempotentes.reservar(id, huella);
+        if (previa != null) {
+            responderPrevia(response, previa, huella, clave);
+            return;
+        }
+
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        boolean aplicada = false;
+        try {
+            chain.doFilter(new CuerpoLeido(request, cuerpo), respuesta);
+            aplicada = respuesta.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+            if (aplicada) {
+                guardarRespuesta(id, huella, clave, respuesta);
+            }
+        } finally {
+            if (!aplicada) {
+                respuestasIdempotentes.liberar(id);
+            }
+            respuesta.copyBodyToResponse();
+        }
+    }
+
+    private void guardarRespuesta(String id, String huella, String clave, ContentCachingResponseWrapper respuesta)
+            throws IOException {
+        try {
+            respuestasIdempotentes.completar(id, huella, respuesta.getStatus(), respuesta.getContentType(),
+                    respuesta.getContentAsByteArray());
+        } catch (RuntimeException e) {
+            logger.error("Se aplicó la petición con clave de idempotencia {} pero no se pudo guardar su respuesta",
+                    clave, e);
+            try {
+                respuestasIdempotentes.retener(id);
+            } catch (RuntimeException f) {
+                logger.error("No se pudo retener la clave de idempotencia {}", clave, f);
+            }
+            respuesta.resetBuffer();
+            responderError(respuesta, HttpStatus.INTERNAL_SERVER_ERROR,
+                    "No se pudo confirmar el resultado de la petición; reintente con la misma clave de idempotencia");
+        }
+    }
+
+    private void responderPrevia(HttpServletResponse response, RespuestaIdempotente previa, String huella,
+                                 String clave) throws IOException {
+        if (!previa.getHuella().equals(huella)) {
+            responderError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La clave de idempotencia ya se usó con una petición distinta");
+            return;
+        }
+        if (!previa.isCompletada()) {
+            responderError(response, HttpStatus.CONFLICT,
+                    "Hay una petición con la misma clave de idempotencia en curso");
+            return;
+        }
+
+        logger.info("Petición repetida con clave de idempotencia: {}, se responde la original", clave);
+        response.setStatus(previa.getEstado());
+        if (previa.getTipoContenido() != null) {
+            response.setContentType(previa.getTipoContenido());
+        }
+        response.setHeader(ENCABEZADO_REPETIDA, "true");
+        if (previa.getCuerpo() != null) {
+            response.setContentLength(previa.getCuerpo().length);
+            response.getOutputStream().write(previa.getCuerpo());
+        }
+    }
+
+    // Mismo formato de error que GlobalExceptionHandler.
+    private void responderError(HttpServletResponse response, HttpStatus estado, String mensaje) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", estado.value());
+        error.put("error", "Error de idempotencia");
+        error.put("message", mensaje);
+
+        response.setStatus(estado.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Petición cuyo cuerpo ya se leyó para calcular la huella; lo entrega de nuevo al controlador.
+     */
+    private static final class CuerpoLeido extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+
+        CuerpoLeido(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(cuerpo);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String codificacion = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(codificacion)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+    }
+}
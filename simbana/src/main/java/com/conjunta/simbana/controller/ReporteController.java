@@ -0,0 +1,115 @@
+package com.conjunta.simbana.controller;
+
+import com.conjunta.simbana.controller.dto.DiscrepanciaTurnoDTO;
+import com.conjunta.simbana.controller.dto.PaginaDTO;
+import com.conjunta.simbana.controller.dto.TotalCajaDTO;
+import com.conjunta.simbana.controller.mapper.DiscrepanciaTurnoMapper;
+import com.conjunta.simbana.controller.mapper.TotalCajaMapper;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.model.TotalCaja;
+import com.conjunta.simbana.service.CursorPaginacion;
+import com.conjunta.simbana.service.Pagina;
+import com.conjunta.simbana.service.TransaccionTurnoService;
+import com.conjunta.simbana.service.TurnoCajaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@Profile("!reactivo")
+@RequestMapping("/v1/cashboxes/reportes")
+@Tag(name = "Reportes", description = "API de reportes de supervisión de cajas")
+public class ReporteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporteController.class);
+
+    private final TransaccionTurnoService transaccionTurnoService;
+    private final TotalCajaMapper totalCajaMapper;
+    private final TurnoCajaService turnoCajaService;
+    private final DiscrepanciaTurnoMapper discrepanciaTurnoMapper;
+
+    public ReporteController(TransaccionTurnoService transaccionTurnoService, TotalCajaMapper totalCajaMapper,
+                             TurnoCajaService turnoCajaService, DiscrepanciaTurnoMapper discrepanciaTurnoMapper) {
+        this.transaccionTurnoService = transaccionTurnoService;
+        this.totalCajaMapper = totalCajaMapper;
+        this.turnoCajaService = turnoCajaService;
+        this.discrepanciaTurnoMapper = discrepanciaTurnoMapper;
+    }
+
+    @GetMapping("/totales-caja")
+    @Operation(summary = "Totales por caja",
+               description = "Cantidad, suma, mínimo y máximo de las transacciones por caja y tipo de transacción en un rango de fechas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Totales calculados",
+                    content = @Content(schema = @Schema(implementation = TotalCajaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas no válido")
+    })
+    public ResponseEntity<List<TotalCajaDTO>> getTotalesPorCaja(
+            @Parameter(description = "Código de la caja; si se omite se incluyen todas")
+            @RequestParam(required = false) String codigoCaja,
+            @Parameter(description = "Fecha y hora inicial (inclusive)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fecha y hora final (inclusive)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+
+        logger.info("Calculando totales por caja: {}, desde: {}, hasta: {}", codigoCaja, desde, hasta);
+
+        List<TotalCaja> totales = transaccionTurnoService.totalesPorCaja(codigoCaja, desde, hasta);
+        List<TotalCajaDTO> totalesDTO = new ArrayList<>(totales.size());
+
+        for (TotalCaja total : totales) {
+            totalesDTO.add(totalCajaMapper.toDTO(total));
+        }
+
+        return ResponseEntity.ok(totalesDTO);
+    }
+
+    @GetMapping("/discrepancias")
+    @Operation(summary = "Discrepancias de cierre",
+               description = "Turnos cuyo monto final no coincidió con el esperado, por página ordenada por fecha de cierre; para la siguiente página se envía el cursor recibido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Discrepancias encontradas",
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas, cursor o límite no válidos")
+    })
+    public ResponseEntity<PaginaDTO<DiscrepanciaTurnoDTO>> getDiscrepancias(
+            @Parameter(description = "Código de la caja; si se omite se incluyen todas")
+            @RequestParam(required = false) String codigoCaja,
+            @Parameter(description = "Fecha y hora de cierre inicial (inclusive)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fecha y hora de cierre final (inclusive)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de discrepancias (1 a 500)")
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+
+        logger.info("Consultando discrepancias de caja: {}, desde: {}, hasta: {}", codigoCaja, desde, hasta);
+
+        Pagina<DiscrepanciaTurno> pagina = turnoCajaService.findDiscrepancias(codigoCaja, desde, hasta, cursor, limite);
+        List<DiscrepanciaTurnoDTO> contenido = new ArrayList<>(pagina.getContenido().size());
+        for (DiscrepanciaTurno discrepancia : pagina.getContenido()) {
+            contenido.add(discrepanciaTurnoMapper.toDTO(discrepancia));
+        }
+
+        PaginaDTO<DiscrepanciaTurnoDTO> paginaDTO = new PaginaDTO<>();
+        paginaDTO.setContenido(contenido);
+        paginaDTO.setSiguienteCursor(pagina.getSiguienteCursor());
+        paginaDTO.setHayMas(pagina.hayMas());
+        return ResponseEntity.ok(paginaDTO);
+    }
+}
@@ -1,13 +1,26 @@
 package com.conjunta.simbana.controller;
 
+import com.conjunta.simbana.controller.dto.ExportTransaccionDTO;
+import com.conjunta.simbana.controller.dto.LoteTransaccionesDTO;
+import com.conjunta.simbana.controller.dto.PaginaDTO;
+import com.conjunta.simbana.controller.dto.RegistrarTransaccionDto;
+import com.conjunta.simbana.controller.dto.ResultadoLoteDTO;
 import com.conjunta.simbana.controller.dto.TransaccionTurnoDTO;
 import com.conjunta.simbana.controller.mapper.TransaccionTurnoMapper;
 import com.conjunta.simbana.controller.mapper.DenominacionTransaccionMapper;
+import com.conjunta.simbana.controller.mapper.DenominacionTurnoMapper;
 import com.conjunta.simbana.exception.BusinessException;
 import com.conjunta.simbana.exception.NotFoundException;
 import com.conjunta.simbana.model.TransaccionTurno;
 import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.service.CursorPaginacion;
+import com.conjunta.simbana.service.Pagina;
+import com.conjunta.simbana.service.ResultadoLote;
+import com.conjunta.simbana.service.SolicitudTransaccion;
 import com.conjunta.simbana.service.TransaccionTurnoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,31 +31,47 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactivo")
 @RequestMapping("/v1/cashboxes/transacciones")
 @Tag(name = "Transacciones de Turno", description = "API para gestión de transacciones de turno bancario")
 public class TransaccionTurnoController {
 
     private static final Logger logger = LoggerFactory.getLogger(TransaccionTurnoController.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int LINEAS_POR_FLUSH = 100;
+
     private final TransaccionTurnoService transaccionTurnoService;
     private final TransaccionTurnoMapper transaccionTurnoMapper;
     private final DenominacionTransaccionMapper denominacionTransaccionMapper;
+    private final DenominacionTurnoMapper denominacionTurnoMapper;
+    private final ObjectMapper objectMapper;
 
     public TransaccionTurnoController(TransaccionTurnoService transaccionTurnoService,
                                     TransaccionTurnoMapper transaccionTurnoMapper,
-                                    DenominacionTransaccionMapper denominacionTransaccionMapper) {
+                                    DenominacionTransaccionMapper denominacionTransaccionMapper,
+                                    DenominacionTurnoMapper denominacionTurnoMapper,
+                                    ObjectMapper objectMapper) {
         this.transaccionTurnoService = transaccionTurnoService;
         this.transaccionTurnoMapper = transaccionTurnoMapper;
         this.denominacionTransaccionMapper = denominacionTransaccionMapper;
+        this.denominacionTurnoMapper = denominacionTurnoMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -56,27 +85,19 @@ public class TransaccionTurnoController {
     })
     public ResponseEntity<TransaccionTurnoDTO> registrarTransaccion(
             @Parameter(description = "Datos de la transacción", required = true)
-            @Valid @RequestBody TransaccionTurnoDTO transaccionTurnoDTO) {
+            @Valid @RequestBody RegistrarTransaccionDto transaccionTurnoDTO) {
         
         logger.info("Registrando transacción para turno: {}, tipo: {}", 
                    transaccionTurnoDTO.getCodigoTurno(), transaccionTurnoDTO.getTipoTransaccion());
 
         try {
-            List<DenominacionTransaccion> denominaciones = null;
-            if (transaccionTurnoDTO.getDenominaciones() != null && !transaccionTurnoDTO.getDenominaciones().isEmpty()) {
-                denominaciones = new ArrayList<>(transaccionTurnoDTO.getDenominaciones().size());
-                for (var denominacionDTO : transaccionTurnoDTO.getDenominaciones()) {
-                    denominaciones.add(denominacionTransaccionMapper.toModel(denominacionDTO));
-                }
-            }
-
             TransaccionTurno transaccion = transaccionTurnoService.registrarTransaccion(
                 transaccionTurnoDTO.getCodigoTurno(),
                 transaccionTurnoDTO.getCodigoCaja(),
                 transaccionTurnoDTO.getCodigoCajero(),
-                transaccionTurnoDTO.getTipoTransaccion(),
+                tipoTransaccion(transaccionTurnoDTO.getTipoTransaccion()),
                 transaccionTurnoDTO.getMontoTotal(),
-                denominaciones
+                denominaciones(transaccionTurnoDTO)
             );
 
             TransaccionTurnoDTO transaccionDTO = transaccionTurnoMapper.toDTO(transaccion);
@@ -103,26 +124,18 @@ public class TransaccionTurnoController {
     })
     public ResponseEntity<TransaccionTurnoDTO> registrarDeposito(
             @Parameter(description = "Datos del depósito", required = true)
-            @Valid @RequestBody TransaccionTurnoDTO transaccionTurnoDTO) {
+            @Valid @RequestBody RegistrarTransaccionDto transaccionTurnoDTO) {
         
         logger.info("Registrando depósito para turno: {}, monto: {}", 
                    transaccionTurnoDTO.getCodigoTurno(), transaccionTurnoDTO.getMontoTotal());
 
         try {
-            List<DenominacionTransaccion> denominaciones = null;
-            if (transaccionTurnoDTO.getDenominaciones() != null && !transaccionTurnoDTO.getDenominaciones().isEmpty()) {
-                denominaciones = new ArrayList<>(transaccionTurnoDTO.getDenominaciones().size());
-                for (var denominacionDTO : transaccionTurnoDTO.getDenominaciones()) {
-                    denominaciones.add(denominacionTransaccionMapper.toModel(denominacionDTO));
-                }
-            }
-
             TransaccionTurno transaccion = transaccionTurnoService.registrarDeposito(
                 transaccionTurnoDTO.getCodigoTurno(),
                 transaccionTurnoDTO.getCodigoCaja(),
                 transaccionTurnoDTO.getCodigoCajero(),
                 transaccionTurnoDTO.getMontoTotal(),
-                denominaciones
+                denominaciones(transaccionTurnoDTO)
             );
 
             TransaccionTurnoDTO transaccionDTO = transaccionTurnoMapper.toDTO(transaccion);
@@ -147,26 +160,18 @@ public class TransaccionTurnoController {
     })
     public ResponseEntity<TransaccionTurnoDTO> registrarAhorro(
             @Parameter(description = "Datos del ahorro", required = true)
-            @Valid @RequestBody TransaccionTurnoDTO transaccionTurnoDTO) {
+            @Valid @RequestBody RegistrarTransaccionDto transaccionTurnoDTO) {
         
         logger.info("Registrando ahorro para turno: {}, monto: {}", 
                    transaccionTurnoDTO.getCodigoTurno(), transaccionTurnoDTO.getMontoTotal());
 
-        try {   
-            List<DenominacionTransaccion> denominaciones = null;
-            if (transaccionTurnoDTO.getDenominaciones() != null && !transaccionTurnoDTO.getDenominaciones().isEmpty()) {
-                denominaciones = new ArrayList<>(transaccionTurnoDTO.getDenominaciones().size());
-                for (var denominacionDTO : transaccionTurnoDTO.getDenominaciones()) {
-                    denominaciones.add(denominacionTransaccionMapper.toModel(denominacionDTO));
-                }
-            }
-
+        try {
             TransaccionTurno transaccion = transaccionTurnoService.registrarAhorro(
                 transaccionTurnoDTO.getCodigoTurno(),
                 transaccionTurnoDTO.getCodigoCaja(),
                 transaccionTurnoDTO.getCodigoCajero(),
                 transaccionTurnoDTO.getMontoTotal(),
-                denominaciones
+                denominaciones(transaccionTurnoDTO)
             );
 
             TransaccionTurnoDTO transaccionDTO = transaccionTurnoMapper.toDTO(transaccion);
@@ -181,6 +186,95 @@ public class TransaccionTurnoController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Registrar lote de transacciones", description = "Registra cientos de transacciones en una sola petición. El estado de cada turno se valida una vez por turno y las transacciones se guardan con escrituras masivas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado, ver el resultado de cada transacción"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos")
+    })
+    public ResponseEntity<List<ResultadoLoteDTO>> registrarLote(
+            @Parameter(description = "Transacciones del lote", required = true)
+            @Valid @RequestBody LoteTransaccionesDTO loteDTO) {
+
+        logger.info("Registrando lote de {} transacciones, ordenado: {}",
+                   loteDTO.getTransacciones().size(), loteDTO.isOrdenado());
+
+        List<SolicitudTransaccion> solicitudes = new ArrayList<>(loteDTO.getTransacciones().size());
+        for (RegistrarTransaccionDto transaccionDTO : loteDTO.getTransacciones()) {
+            List<DenominacionTransaccion> denominaciones = new ArrayList<>(transaccionDTO.getDenominaciones().size());
+            for (var denominacionDTO : transaccionDTO.getDenominaciones()) {
+                denominaciones.add(denominacionTurnoMapper.toModel(denominacionDTO));
+            }
+            solicitudes.add(new SolicitudTransaccion(
+                transaccionDTO.getCodigoTurno(),
+                transaccionDTO.getCodigoCaja(),
+                transaccionDTO.getCodigoCajero(),
+                tipoTransaccion(transaccionDTO.getTipoTransaccion()),
+                transaccionDTO.getMontoTotal(),
+                denominaciones
+            ));
+        }
+
+        List<ResultadoLote> resultados = transaccionTurnoService.registrarLote(solicitudes, loteDTO.isOrdenado());
+        List<ResultadoLoteDTO> resultadosDTO = new ArrayList<>(resultados.size());
+
+        for (ResultadoLote resultado : resultados) {
+            ResultadoLoteDTO resultadoDTO = new ResultadoLoteDTO();
+            resultadoDTO.setIndice(resultado.getIndice());
+            resultadoDTO.setEstado(resultado.getEstado().name());
+            if (resultado.getTransaccion() != null) {
+                resultadoDTO.setTransaccion(transaccionTurnoMapper.toDTO(resultado.getTransaccion()));
+            }
+            resultadoDTO.setCodigoError(resultado.getCodigoError());
+            resultadoDTO.setMensaje(resultado.getMensaje());
+            resultadosDTO.add(resultadoDTO);
+        }
+
+        return ResponseEntity.ok(resultadosDTO);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar transacciones", description = "Exporta en JSON delimitado por líneas las transacciones de una caja o de un turno en un rango de fechas, sin cargarlas en memoria. Cada línea trae un cursor para reanudar la exportación")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos o cursor no válido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarTransacciones(
+            @Parameter(description = "Código de la caja") @RequestParam(required = false) String codigoCaja,
+            @Parameter(description = "Código del turno") @RequestParam(required = false) String codigoTurno,
+            @Parameter(description = "Fecha y hora inicial", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fecha y hora final", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @Parameter(description = "Cursor de la última línea recibida, para reanudar")
+            @RequestParam(required = false) String cursor) {
+
+        logger.info("Exportando transacciones de caja: {}, turno: {}, desde: {}, hasta: {}",
+                   codigoCaja, codigoTurno, desde, hasta);
+
+        Stream<ResumenTransaccion> transacciones = transaccionTurnoService.exportarTransacciones(
+                codigoCaja, codigoTurno, desde, hasta, cursor);
+
+        StreamingResponseBody cuerpo = salida -> {
+            try (transacciones) {
+                int lineas = 0;
+                for (ResumenTransaccion transaccion : (Iterable<ResumenTransaccion>) transacciones::iterator) {
+                    ExportTransaccionDTO linea = new ExportTransaccionDTO();
+                    linea.setCursor(CursorPaginacion.codificar(transaccion.fechaHora(), transaccion.id()));
+                    linea.setTransaccion(transaccionTurnoMapper.toDTO(transaccion));
+                    salida.write(objectMapper.writeValueAsBytes(linea));
+                    salida.write('\n');
+                    if (++lineas % LINEAS_POR_FLUSH == 0) {
+                        salida.flush();
+                    }
+                }
+                salida.flush();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(cuerpo);
+    }
+
     @GetMapping("/{transaccionId}")
     @Operation(summary = "Obtener transacción por ID", description = "Obtiene una transacción específica por su ID")
     @ApiResponses(value = {
@@ -206,25 +300,47 @@ public class TransaccionTurnoController {
     }
 
     @GetMapping("/turno/{codigoTurno}")
-    @Operation(summary = "Obtener transacciones por turno", description = "Obtiene todas las transacciones de un turno específico")
+    @Operation(summary = "Obtener transacciones por turno",
+               description = "Obtiene una página de transacciones de un turno ordenadas por fecha; para la siguiente página se envía el cursor recibido")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Transacciones encontradas",
-                    content = @Content(schema = @Schema(implementation = TransaccionTurnoDTO.class)))
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor o límite no válidos")
     })
-    public ResponseEntity<List<TransaccionTurnoDTO>> getTransaccionesByTurno(
+    public ResponseEntity<PaginaDTO<TransaccionTurnoDTO>> getTransaccionesByTurno(
             @Parameter(description = "Código del turno", required = true)
-            @PathVariable String codigoTurno) {
+            @PathVariable String codigoTurno,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de transacciones (1 a 500)")
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
         
         logger.info("Consultando transacciones para turno: {}", codigoTurno);
 
-        List<TransaccionTurno> transacciones = transaccionTurnoService.findByCodigoTurno(codigoTurno);
-        List<TransaccionTurnoDTO> transaccionesDTO = new ArrayList<>(transacciones.size());
-        
-        for (TransaccionTurno transaccion : transacciones) {
-            transaccionesDTO.add(transaccionTurnoMapper.toDTO(transaccion));
-        }
-        
-        return ResponseEntity.ok(transaccionesDTO);
+        Pagina<ResumenTransaccion> pagina = transaccionTurnoService.findByCodigoTurno(codigoTurno, cursor, limite);
+        return ResponseEntity.ok(toPaginaDTO(pagina));
+    }
+
+    @GetMapping("/por-tipo")
+    @Operation(summary = "Obtener transacciones por tipo",
+               description = "Obtiene una página de transacciones de un tipo ordenadas por fecha; para la siguiente página se envía el cursor recibido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transacciones encontradas",
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Tipo, cursor o límite no válidos")
+    })
+    public ResponseEntity<PaginaDTO<TransaccionTurnoDTO>> getTransaccionesByTipo(
+            @Parameter(description = "Tipo de transacción", required = true)
+            @RequestParam Enums.TipoTransaccion tipoTransaccion,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de transacciones (1 a 500)")
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+
+        logger.info("Consultando transacciones de tipo: {}", tipoTransaccion);
+
+        Pagina<ResumenTransaccion> pagina = transaccionTurnoService.findByTipoTransaccion(tipoTransaccion, cursor, limite);
+        return ResponseEntity.ok(toPaginaDTO(pagina));
     }
 
     @GetMapping("/turno/{codigoTurno}/saldo")
@@ -263,6 +379,39 @@ public class TransaccionTurnoController {
         return ResponseEntity.ok(denominacionesDTO);
     }
 
+    private PaginaDTO<TransaccionTurnoDTO> toPaginaDTO(Pagina<ResumenTransaccion> pagina) {
+        List<TransaccionTurnoDTO> contenido = new ArrayList<>(pagina.getContenido().size());
+        for (ResumenTransaccion transaccion : pagina.getContenido()) {
+            contenido.add(transaccionTurnoMapper.toDTO(transaccion));
+        }
+
+        PaginaDTO<TransaccionTurnoDTO> paginaDTO = new PaginaDTO<>();
+        paginaDTO.setContenido(contenido);
+        paginaDTO.setSiguienteCursor(pagina.getSiguienteCursor());
+        paginaDTO.setHayMas(pagina.hayMas());
+        return paginaDTO;
+    }
+
+    private List<DenominacionTransaccion> denominaciones(RegistrarTransaccionDto transaccionDTO) {
+        if (transaccionDTO.getDenominaciones() == null || transaccionDTO.getDenominaciones().isEmpty()) {
+            return null;
+        }
+        List<DenominacionTransaccion> denominaciones = new ArrayList<>(transaccionDTO.getDenominaciones().size());
+        for (var denominacionDTO : transaccionDTO.getDenominaciones()) {
+            denominaciones.add(denominacionTurnoMapper.toModel(denominacionDTO));
+        }
+        return denominaciones;
+    }
+
+    // Un tipo desconocido se deja en null para que el servicio lo rechace con su código de negocio.
+    private Enums.TipoTransaccion tipoTransaccion(String tipoTransaccion) {
+        try {
+            return Enums.TipoTransaccion.valueOf(tipoTransaccion);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<Void> handleNotFoundException(NotFoundException e) {
         logger.error("Recurso no encontrado: {}", e.getMessage());
@@ -0,0 +1,203 @@
+package com.conjunta.simbana.controller;
+
+import com.conjunta.simbana.controller.dto.DenominacionTransaccionDTO;
+import com.conjunta.simbana.controller.dto.PaginaDTO;
+import com.conjunta.simbana.controller.dto.RegistrarTransaccionDto;
+import com.conjunta.simbana.controller.dto.TransaccionTurnoDTO;
+import com.conjunta.simbana.controller.mapper.DenominacionTransaccionMapper;
+import com.conjunta.simbana.controller.mapper.DenominacionTurnoMapper;
+import com.conjunta.simbana.controller.mapper.TransaccionTurnoMapper;
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.service.CursorPaginacion;
+import com.conjunta.simbana.service.Pagina;
+import com.conjunta.simbana.service.TransaccionTurnoServiceReactivo;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mismos endpoints de consulta y registro de {@link TransaccionTurnoController} sobre WebFlux,
+ * activos con el perfil "reactivo". El lote, la exportación y los reportes siguen solo en la pila servlet.
+ */
+@RestController
+@Profile("reactivo")
+@RequestMapping("/v1/cashboxes/transacciones")
+public class TransaccionTurnoControllerReactivo {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransaccionTurnoControllerReactivo.class);
+
+    private final TransaccionTurnoServiceReactivo transaccionTurnoService;
+    private final TransaccionTurnoMapper transaccionTurnoMapper;
+    private final DenominacionTransaccionMapper denominacionTransaccionMapper;
+    private final DenominacionTurnoMapper denominacionTurnoMapper;
+
+    public TransaccionTurnoControllerReactivo(TransaccionTurnoServiceReactivo transaccionTurnoService,
+                                             TransaccionTurnoMapper transaccionTurnoMapper,
+                                             DenominacionTransaccionMapper denominacionTransaccionMapper,
+                                             DenominacionTurnoMapper denominacionTurnoMapper) {
+        this.transaccionTurnoService = transaccionTurnoService;
+        this.transaccionTurnoMapper = transaccionTurnoMapper;
+        this.denominacionTransaccionMapper = denominacionTransaccionMapper;
+        this.denominacionTurnoMapper = denominacionTurnoMapper;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TransaccionTurnoDTO>> registrarTransaccion(
+            @Valid @RequestBody RegistrarTransaccionDto transaccionDTO) {
+        logger.info("Registrando transacción para turno: {}, tipo: {}",
+                   transaccionDTO.getCodigoTurno(), transaccionDTO.getTipoTransaccion());
+
+        return transaccionTurnoService.registrarTransaccion(
+                    transaccionDTO.getCodigoTurno(),
+                    transaccionDTO.getCodigoCaja(),
+                    transaccionDTO.getCodigoCajero(),
+                    tipoTransaccion(transaccionDTO.getTipoTransaccion()),
+                    transaccionDTO.getMontoTotal(),
+                    denominaciones(transaccionDTO))
+                .map(this::creada);
+    }
+
+    @PostMapping("/deposito")
+    public Mono<ResponseEntity<TransaccionTurnoDTO>> registrarDeposito(
+            @Valid @RequestBody RegistrarTransaccionDto transaccionDTO) {
+        logger.info("Registrando depósito para turno: {}, monto: {}",
+                   transaccionDTO.getCodigoTurno(), transaccionDTO.getMontoTotal());
+
+        return transaccionTurnoService.registrarDeposito(
+                    transaccionDTO.getCodigoTurno(),
+                    transaccionDTO.getCodigoCaja(),
+                    transaccionDTO.getCodigoCajero(),
+                    transaccionDTO.getMontoTotal(),
+                    denominaciones(transaccionDTO))
+                .map(this::creada);
+    }
+
+    @PostMapping("/ahorro")
+    public Mono<ResponseEntity<TransaccionTurnoDTO>> registrarAhorro(
+            @Valid @RequestBody RegistrarTransaccionDto transaccionDTO) {
+        logger.info("Registrando ahorro para turno: {}, monto: {}",
+                   transaccionDTO.getCodigoTurno(), transaccionDTO.getMontoTotal());
+
+        return transaccionTurnoService.registrarAhorro(
+                    transaccionDTO.getCodigoTurno(),
+                    transaccionDTO.getCodigoCaja(),
+                    transaccionDTO.getCodigoCajero(),
+                    transaccionDTO.getMontoTotal(),
+                    denominaciones(transaccionDTO))
+                .map(this::creada);
+    }
+
+    @GetMapping("/{transaccionId}")
+    public Mono<ResponseEntity<TransaccionTurnoDTO>> getTransaccionById(@PathVariable Integer transaccionId) {
+        logger.info("Consultando transacción: {}", transaccionId);
+
+        return transaccionTurnoService.findById(transaccionId)
+                .map(transaccion -> ResponseEntity.ok(transaccionTurnoMapper.toDTO(transaccion)));
+    }
+
+    @GetMapping("/turno/{codigoTurno}")
+    public Mono<ResponseEntity<PaginaDTO<TransaccionTurnoDTO>>> getTransaccionesByTurno(
+            @PathVariable String codigoTurno,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+        logger.info("Consultando transacciones para turno: {}", codigoTurno);
+
+        return transaccionTurnoService.findByCodigoTurno(codigoTurno, cursor, limite)
+                .map(pagina -> ResponseEntity.ok(toPaginaDTO(pagina)));
+    }
+
+    @GetMapping("/por-tipo")
+    public Mono<ResponseEntity<PaginaDTO<TransaccionTurnoDTO>>> getTransaccionesByTipo(
+            @RequestParam Enums.TipoTransaccion tipoTransaccion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+        logger.info("Consultando transacciones de tipo: {}", tipoTransaccion);
+
+        return transaccionTurnoService.findByTipoTransaccion(tipoTransaccion, cursor, limite)
+                .map(pagina -> ResponseEntity.ok(toPaginaDTO(pagina)));
+    }
+
+    @GetMapping("/turno/{codigoTurno}/saldo")
+    public Mono<ResponseEntity<BigDecimal>> getSaldoTurno(@PathVariable String codigoTurno) {
+        logger.info("Calculando saldo para turno: {}", codigoTurno);
+
+        return transaccionTurnoService.calcularSaldoTurno(codigoTurno).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{transaccionId}/denominaciones")
+    public Mono<ResponseEntity<List<DenominacionTransaccionDTO>>> getDenominacionesByTransaccion(
+            @PathVariable Integer transaccionId) {
+        logger.info("Consultando denominaciones para transacción: {}", transaccionId);
+
+        return transaccionTurnoService.getDenominacionesByTransaccion(transaccionId).map(denominaciones -> {
+            List<DenominacionTransaccionDTO> denominacionesDTO = new ArrayList<>(denominaciones.size());
+            for (DenominacionTransaccion denominacion : denominaciones) {
+                denominacionesDTO.add(denominacionTransaccionMapper.toDTO(denominacion));
+            }
+            return ResponseEntity.ok(denominacionesDTO);
+        });
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Void> handleNotFoundException(NotFoundException e) {
+        logger.error("Recurso no encontrado: {}", e.getMessage());
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Void> handleBusinessException(BusinessException e) {
+        logger.error("Error de negocio: {}", e.getMessage());
+        return ResponseEntity.badRequest().build();
+    }
+
+    private ResponseEntity<TransaccionTurnoDTO> creada(TransaccionTurno transaccion) {
+        logger.info("Transacción registrada exitosamente: {}", transaccion.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaccionTurnoMapper.toDTO(transaccion));
+    }
+
+    private PaginaDTO<TransaccionTurnoDTO> toPaginaDTO(Pagina<TransaccionTurno> pagina) {
+        List<TransaccionTurnoDTO> contenido = new ArrayList<>(pagina.getContenido().size());
+        for (TransaccionTurno transaccion : pagina.getContenido()) {
+            contenido.add(transaccionTurnoMapper.toDTO(transaccion));
+        }
+
+        PaginaDTO<TransaccionTurnoDTO> paginaDTO = new PaginaDTO<>();
+        paginaDTO.setContenido(contenido);
+        paginaDTO.setSiguienteCursor(pagina.getSiguienteCursor());
+        paginaDTO.setHayMas(pagina.hayMas());
+        return paginaDTO;
+    }
+
+    private List<DenominacionTransaccion> denominaciones(RegistrarTransaccionDto transaccionDTO) {
+        if (transaccionDTO.getDenominaciones() == null || transaccionDTO.getDenominaciones().isEmpty()) {
+            return null;
+        }
+        List<DenominacionTransaccion> denominaciones = new ArrayList<>(transaccionDTO.getDenominaciones().size());
+        for (var denominacionDTO : transaccionDTO.getDenominaciones()) {
+            denominaciones.add(denominacionTurnoMapper.toModel(denominacionDTO));
+        }
+        return denominaciones;
+    }
+
+    // Un tipo desconocido se deja en null para que el servicio lo rechace con su código de negocio.
+    private Enums.TipoTransaccion tipoTransaccion(String tipoTransaccion) {
+        try {
+            return Enums.TipoTransaccion.valueOf(tipoTransaccion);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -2,12 +2,25 @@ package com.conjunta.simbana.controller;
 
 import com.conjunta.simbana.controller.dto.TurnoCajaDTO;
 import com.conjunta.simbana.controller.dto.IniciarTurnoDTO;
+import com.conjunta.simbana.controller.dto.CerrarLoteDTO;
 import com.conjunta.simbana.controller.dto.CerrarTurnoDTO;
+import com.conjunta.simbana.controller.dto.EstadisticasCacheDTO;
+import com.conjunta.simbana.controller.dto.InventarioTurnoDTO;
+import com.conjunta.simbana.controller.dto.PaginaDTO;
+import com.conjunta.simbana.controller.dto.ResultadoCierreDTO;
+import com.conjunta.simbana.controller.mapper.DenominacionTurnoMapper;
 import com.conjunta.simbana.controller.mapper.TurnoCajaMapper;
 import com.conjunta.simbana.exception.BusinessException;
 import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
 import com.conjunta.simbana.model.TurnoCaja;
+import com.conjunta.simbana.service.CursorPaginacion;
+import com.conjunta.simbana.service.InventarioBilletes;
+import com.conjunta.simbana.service.Pagina;
+import com.conjunta.simbana.service.ResultadoCierre;
 import com.conjunta.simbana.service.TurnoCajaService;
+import com.conjunta.simbana.service.TurnosAbiertosCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,14 +31,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactivo")
 @RequestMapping("/v1/cashboxes/turnos")
 @Tag(name = "Turnos de Caja", description = "API para gestión de turnos de caja bancaria")
 public class TurnoCajaController {
@@ -34,14 +52,22 @@ public class TurnoCajaController {
 
     private final TurnoCajaService turnoCajaService;
     private final TurnoCajaMapper turnoCajaMapper;
+    private final DenominacionTurnoMapper denominacionTurnoMapper;
+    private final TurnosAbiertosCache turnosAbiertosCache;
 
-    public TurnoCajaController(TurnoCajaService turnoCajaService, TurnoCajaMapper turnoCajaMapper) {
+    public TurnoCajaController(TurnoCajaService turnoCajaService, TurnoCajaMapper turnoCajaMapper,
+                               DenominacionTurnoMapper denominacionTurnoMapper,
+                               TurnosAbiertosCache turnosAbiertosCache) {
         this.turnoCajaService = turnoCajaService;
         this.turnoCajaMapper = turnoCajaMapper;
+        this.denominacionTurnoMapper = denominacionTurnoMapper;
+        this.turnosAbiertosCache = turnosAbiertosCache;
     }
 
     @PostMapping
-    @Operation(summary = "Iniciar turno", description = "Inicia un nuevo turno de caja con validaciones de negocio")
+    @Operation(summary = "Iniciar turno",
+               description = "Inicia un nuevo turno de caja con validaciones de negocio. Requiere " +
+                             "denominacionesIniciales (antes era opcional); sin ellas responde 400 con código 1008")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Turno iniciado exitosamente",
                     content = @Content(schema = @Schema(implementation = TurnoCajaDTO.class))),
@@ -56,11 +82,20 @@ public class TurnoCajaController {
                    iniciarTurnoDTO.getCodigoCaja(), iniciarTurnoDTO.getCodigoCajero());
 
         try {
+            List<DenominacionTransaccion> denominacionesIniciales = null;
+            if (iniciarTurnoDTO.getDenominacionesIniciales() != null && !iniciarTurnoDTO.getDenominacionesIniciales().isEmpty()) {
+                denominacionesIniciales = new ArrayList<>(iniciarTurnoDTO.getDenominacionesIniciales().size());
+                for (var denominacionDTO : iniciarTurnoDTO.getDenominacionesIniciales()) {
+                    denominacionesIniciales.add(denominacionTurnoMapper.toModel(denominacionDTO));
+                }
+            }
+
             TurnoCaja turno = turnoCajaService.iniciarTurno(
                 iniciarTurnoDTO.getCodigoTurno(),
                 iniciarTurnoDTO.getCodigoCaja(),
                 iniciarTurnoDTO.getCodigoCajero(),
-                iniciarTurnoDTO.getMontoInicial()
+                iniciarTurnoDTO.getMontoInicial(),
+                denominacionesIniciales
             );
 
             TurnoCajaDTO turnoDTO = turnoCajaMapper.toDTO(turno);
@@ -107,6 +142,64 @@ public class TurnoCajaController {
         }
     }
 
+    @PatchMapping("/cerrar-lote")
+    @Operation(summary = "Cerrar turnos en lote",
+               description = "Cierra varios turnos con su monto final declarado y retorna por turno el monto esperado y la discrepancia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; cada turno trae su propio resultado",
+                    content = @Content(schema = @Schema(implementation = ResultadoCierreDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos o turno repetido en el lote")
+    })
+    public ResponseEntity<List<ResultadoCierreDTO>> cerrarTurnos(
+            @Parameter(description = "Turnos a cerrar con su monto final", required = true)
+            @Valid @RequestBody CerrarLoteDTO cerrarLoteDTO) {
+
+        logger.info("Cerrando lote de {} turnos", cerrarLoteDTO.getTurnos().size());
+
+        Map<String, BigDecimal> montosFinales = new LinkedHashMap<>();
+        for (CerrarLoteDTO.CierreDTO cierre : cerrarLoteDTO.getTurnos()) {
+            if (montosFinales.put(cierre.getCodigoTurno(), cierre.getMontoFinal()) != null) {
+                throw new BusinessException("El turno: " + cierre.getCodigoTurno() + " está repetido en el lote", 2004);
+            }
+        }
+
+        List<ResultadoCierre> resultados = turnoCajaService.cerrarTurnos(montosFinales);
+        List<ResultadoCierreDTO> resultadosDTO = new ArrayList<>(resultados.size());
+
+        for (ResultadoCierre resultado : resultados) {
+            ResultadoCierreDTO resultadoDTO = new ResultadoCierreDTO();
+            resultadoDTO.setCodigoTurno(resultado.getCodigoTurno());
+            resultadoDTO.setEstado(resultado.getEstado().name());
+            resultadoDTO.setMontoFinal(resultado.getMontoFinal());
+            resultadoDTO.setMontoEsperado(resultado.getMontoEsperado());
+            resultadoDTO.setDiferencia(resultado.getDiferencia());
+            resultadoDTO.setCodigoError(resultado.getCodigoError());
+            resultadoDTO.setMensaje(resultado.getMensaje());
+            resultadosDTO.add(resultadoDTO);
+        }
+
+        return ResponseEntity.ok(resultadosDTO);
+    }
+
+    @GetMapping("/cache/estadisticas")
+    @Operation(summary = "Estadísticas de la cache de turnos abiertos",
+               description = "Aciertos, fallos y desalojos de la cache usada al validar transacciones")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+                    content = @Content(schema = @Schema(implementation = EstadisticasCacheDTO.class)))
+    })
+    public ResponseEntity<EstadisticasCacheDTO> getEstadisticasCache() {
+        CacheStats estadisticas = turnosAbiertosCache.estadisticas();
+
+        EstadisticasCacheDTO estadisticasDTO = new EstadisticasCacheDTO();
+        estadisticasDTO.setAciertos(estadisticas.hitCount());
+        estadisticasDTO.setFallos(estadisticas.missCount());
+        estadisticasDTO.setDesalojos(estadisticas.evictionCount());
+        estadisticasDTO.setTasaAciertos(estadisticas.hitRate());
+        estadisticasDTO.setTamano(turnosAbiertosCache.tamano());
+        return ResponseEntity.ok(estadisticasDTO);
+    }
+
     @GetMapping("/{turnoId}")
     @Operation(summary = "Obtener turno por ID", description = "Obtiene un turno específico por su código")
     @ApiResponses(value = {
@@ -131,48 +224,81 @@ public class TurnoCajaController {
         }
     }
 
+    @GetMapping("/{turnoId}/inventario")
+    @Operation(summary = "Obtener inventario de billetes", description = "Obtiene la cantidad de billetes por denominación que hay en la caja del turno")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Inventario encontrado",
+                    content = @Content(schema = @Schema(implementation = InventarioTurnoDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Turno no encontrado")
+    })
+    public ResponseEntity<InventarioTurnoDTO> getInventarioTurno(
+            @Parameter(description = "ID del turno", required = true)
+            @PathVariable String turnoId) {
+
+        logger.info("Consultando inventario de billetes del turno: {}", turnoId);
+
+        int[] inventario = turnoCajaService.obtenerInventario(turnoId);
+        List<InventarioTurnoDTO.BilleteDTO> billetes = new ArrayList<>(InventarioBilletes.TAMANO);
+
+        for (int i = 0; i < InventarioBilletes.TAMANO; i++) {
+            var denominacion = InventarioBilletes.denominacion(i);
+            int cantidad = i < inventario.length ? inventario[i] : 0;
+            InventarioTurnoDTO.BilleteDTO billete = new InventarioTurnoDTO.BilleteDTO();
+            billete.setBillete(Integer.parseInt(denominacion.getValor()));
+            billete.setCantidad(cantidad);
+            billete.setMonto(denominacion.getMonto().multiply(BigDecimal.valueOf(cantidad)));
+            billetes.add(billete);
+        }
+
+        InventarioTurnoDTO inventarioDTO = new InventarioTurnoDTO();
+        inventarioDTO.setCodigoTurno(turnoId);
+        inventarioDTO.setBilletes(billetes);
+        inventarioDTO.setTotal(InventarioBilletes.total(inventario));
+        return ResponseEntity.ok(inventarioDTO);
+    }
+
     @GetMapping("/caja/{codigoCaja}/abiertos")
-    @Operation(summary = "Obtener turnos abiertos por caja", description = "Obtiene todos los turnos abiertos de una caja específica")
+    @Operation(summary = "Obtener turnos abiertos por caja",
+               description = "Obtiene una página de turnos abiertos de la caja ordenados por inicio; para la siguiente página se envía el cursor recibido")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Turnos encontrados",
-                    content = @Content(schema = @Schema(implementation = TurnoCajaDTO.class)))
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor o límite no válidos")
     })
-    public ResponseEntity<List<TurnoCajaDTO>> getTurnosAbiertosByCaja(
+    public ResponseEntity<PaginaDTO<TurnoCajaDTO>> getTurnosAbiertosByCaja(
             @Parameter(description = "Código de la caja", required = true)
-            @PathVariable String codigoCaja) {
+            @PathVariable String codigoCaja,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de turnos (1 a 500)")
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
         
         logger.info("Consultando turnos abiertos para caja: {}", codigoCaja);
 
-        List<TurnoCaja> turnos = turnoCajaService.findTurnosAbiertosByCaja(codigoCaja);
-        List<TurnoCajaDTO> turnosDTO = new ArrayList<>(turnos.size());
-        
-        for (TurnoCaja turno : turnos) {
-            turnosDTO.add(turnoCajaMapper.toDTO(turno));
-        }
-        
-        return ResponseEntity.ok(turnosDTO);
+        Pagina<TurnoCaja> pagina = turnoCajaService.findTurnosAbiertosByCaja(codigoCaja, cursor, limite);
+        return ResponseEntity.ok(toPaginaDTO(pagina));
     }
 
     @GetMapping("/cajero/{codigoCajero}/abiertos")
-    @Operation(summary = "Obtener turnos abiertos por cajero", description = "Obtiene todos los turnos abiertos de un cajero específico")
+    @Operation(summary = "Obtener turnos abiertos por cajero",
+               description = "Obtiene una página de turnos abiertos del cajero ordenados por inicio; para la siguiente página se envía el cursor recibido")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Turnos encontrados",
-                    content = @Content(schema = @Schema(implementation = TurnoCajaDTO.class)))
+                    content = @Content(schema = @Schema(implementation = PaginaDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor o límite no válidos")
     })
-    public ResponseEntity<List<TurnoCajaDTO>> getTurnosAbiertosByCajero(
+    public ResponseEntity<PaginaDTO<TurnoCajaDTO>> getTurnosAbiertosByCajero(
             @Parameter(description = "Código del cajero", required = true)
-            @PathVariable String codigoCajero) {
+            @PathVariable String codigoCajero,
+            @Parameter(description = "Cursor devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad máxima de turnos (1 a 500)")
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
         
         logger.info("Consultando turnos abiertos para cajero: {}", codigoCajero);
 
-        List<TurnoCaja> turnos = turnoCajaService.findTurnosAbiertosByCajero(codigoCajero);
-        List<TurnoCajaDTO> turnosDTO = new ArrayList<>(turnos.size());
-        
-        for (TurnoCaja turno : turnos) {
-            turnosDTO.add(turnoCajaMapper.toDTO(turno));
-        }
-        
-        return ResponseEntity.ok(turnosDTO);
+        Pagina<TurnoCaja> pagina = turnoCajaService.findTurnosAbiertosByCajero(codigoCajero, cursor, limite);
+        return ResponseEntity.ok(toPaginaDTO(pagina));
     }
 
     @GetMapping("/caja/{codigoCaja}/verificar-abierto")
@@ -216,4 +342,17 @@ public class TurnoCajaController {
         logger.error("Error de negocio: {}", e.getMessage());
         return ResponseEntity.badRequest().build();
     }
-} 
\ No newline at end of file
+
+    private PaginaDTO<TurnoCajaDTO> toPaginaDTO(Pagina<TurnoCaja> pagina) {
+        List<TurnoCajaDTO> contenido = new ArrayList<>(pagina.getContenido().size());
+        for (TurnoCaja turno : pagina.getContenido()) {
+            contenido.add(turnoCajaMapper.toDTO(turno));
+        }
+
+        PaginaDTO<TurnoCajaDTO> paginaDTO = new PaginaDTO<>();
+        paginaDTO.setContenido(contenido);
+        paginaDTO.setSiguienteCursor(pagina.getSiguienteCursor());
+        paginaDTO.setHayMas(pagina.hayMas());
+        return paginaDTO;
+    }
+}
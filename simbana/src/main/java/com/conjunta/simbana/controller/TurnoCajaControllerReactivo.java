@@ -0,0 +1,176 @@
+package com.conjunta.simbana.controller;
+
+import com.conjunta.simbana.controller.dto.CerrarTurnoDTO;
+import com.conjunta.simbana.controller.dto.IniciarTurnoDTO;
+import com.conjunta.simbana.controller.dto.InventarioTurnoDTO;
+import com.conjunta.simbana.controller.dto.PaginaDTO;
+import com.conjunta.simbana.controller.dto.TurnoCajaDTO;
+import com.conjunta.simbana.controller.mapper.DenominacionTurnoMapper;
+import com.conjunta.simbana.controller.mapper.TurnoCajaMapper;
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.conjunta.simbana.service.CursorPaginacion;
+import com.conjunta.simbana.service.InventarioBilletes;
+import com.conjunta.simbana.service.Pagina;
+import com.conjunta.simbana.service.TurnoCajaServiceReactivo;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mismos endpoints de {@link TurnoCajaController} sobre WebFlux, activos con el perfil "reactivo".
+ */
+@RestController
+@Profile("reactivo")
+@RequestMapping("/v1/cashboxes/turnos")
+public class TurnoCajaControllerReactivo {
+
+    private static final Logger logger = LoggerFactory.getLogger(TurnoCajaControllerReactivo.class);
+
+    private final TurnoCajaServiceReactivo turnoCajaService;
+    private final TurnoCajaMapper turnoCajaMapper;
+    private final DenominacionTurnoMapper denominacionTurnoMapper;
+
+    public TurnoCajaControllerReactivo(TurnoCajaServiceReactivo turnoCajaService, TurnoCajaMapper turnoCajaMapper,
+                                       DenominacionTurnoMapper denominacionTurnoMapper) {
+        this.turnoCajaService = turnoCajaService;
+        this.turnoCajaMapper = turnoCajaMapper;
+        this.denominacionTurnoMapper = denominacionTurnoMapper;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TurnoCajaDTO>> iniciarTurno(@Valid @RequestBody IniciarTurnoDTO iniciarTurnoDTO) {
+        logger.info("Iniciando turno para caja: {}, cajero: {}",
+                   iniciarTurnoDTO.getCodigoCaja(), iniciarTurnoDTO.getCodigoCajero());
+
+        List<DenominacionTransaccion> denominacionesIniciales = null;
+        if (iniciarTurnoDTO.getDenominacionesIniciales() != null && !iniciarTurnoDTO.getDenominacionesIniciales().isEmpty()) {
+            denominacionesIniciales = new ArrayList<>(iniciarTurnoDTO.getDenominacionesIniciales().size());
+            for (var denominacionDTO : iniciarTurnoDTO.getDenominacionesIniciales()) {
+                denominacionesIniciales.add(denominacionTurnoMapper.toModel(denominacionDTO));
+            }
+        }
+
+        return turnoCajaService.iniciarTurno(
+                    iniciarTurnoDTO.getCodigoTurno(),
+                    iniciarTurnoDTO.getCodigoCaja(),
+                    iniciarTurnoDTO.getCodigoCajero(),
+                    iniciarTurnoDTO.getMontoInicial(),
+                    denominacionesIniciales)
+                .map(turno -> ResponseEntity.status(HttpStatus.CREATED).body(turnoCajaMapper.toDTO(turno)));
+    }
+
+    @PatchMapping("/{turnoId}/cerrar")
+    public Mono<ResponseEntity<TurnoCajaDTO>> cerrarTurno(@PathVariable String turnoId,
+                                                          @Valid @RequestBody CerrarTurnoDTO cerrarTurnoDTO) {
+        logger.info("Cerrando turno: {} con monto final: {}", turnoId, cerrarTurnoDTO.getMontoFinal());
+
+        return turnoCajaService.cerrarTurno(turnoId, cerrarTurnoDTO.getMontoFinal())
+                .map(turno -> ResponseEntity.ok(turnoCajaMapper.toDTO(turno)));
+    }
+
+    @GetMapping("/{turnoId}")
+    public Mono<ResponseEntity<TurnoCajaDTO>> getTurnoById(@PathVariable String turnoId) {
+        logger.info("Consultando turno: {}", turnoId);
+
+        return turnoCajaService.findByCodigoTurno(turnoId)
+                .map(turno -> ResponseEntity.ok(turnoCajaMapper.toDTO(turno)));
+    }
+
+    @GetMapping("/{turnoId}/inventario")
+    public Mono<ResponseEntity<InventarioTurnoDTO>> getInventarioTurno(@PathVariable String turnoId) {
+        logger.info("Consultando inventario de billetes del turno: {}", turnoId);
+
+        return turnoCajaService.obtenerInventario(turnoId).map(inventario -> {
+            List<InventarioTurnoDTO.BilleteDTO> billetes = new ArrayList<>(InventarioBilletes.TAMANO);
+
+            for (int i = 0; i < InventarioBilletes.TAMANO; i++) {
+                var denominacion = InventarioBilletes.denominacion(i);
+                int cantidad = i < inventario.length ? inventario[i] : 0;
+                InventarioTurnoDTO.BilleteDTO billete = new InventarioTurnoDTO.BilleteDTO();
+                billete.setBillete(Integer.parseInt(denominacion.getValor()));
+                billete.setCantidad(cantidad);
+                billete.setMonto(denominacion.getMonto().multiply(BigDecimal.valueOf(cantidad)));
+                billetes.add(billete);
+            }
+
+            InventarioTurnoDTO inventarioDTO = new InventarioTurnoDTO();
+            inventarioDTO.setCodigoTurno(turnoId);
+            inventarioDTO.setBilletes(billetes);
+            inventarioDTO.setTotal(InventarioBilletes.total(inventario));
+            return ResponseEntity.ok(inventarioDTO);
+        });
+    }
+
+    @GetMapping("/caja/{codigoCaja}/abiertos")
+    public Mono<ResponseEntity<PaginaDTO<TurnoCajaDTO>>> getTurnosAbiertosByCaja(
+            @PathVariable String codigoCaja,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+        logger.info("Consultando turnos abiertos para caja: {}", codigoCaja);
+
+        return turnoCajaService.findTurnosAbiertosByCaja(codigoCaja, cursor, limite)
+                .map(pagina -> ResponseEntity.ok(toPaginaDTO(pagina)));
+    }
+
+    @GetMapping("/cajero/{codigoCajero}/abiertos")
+    public Mono<ResponseEntity<PaginaDTO<TurnoCajaDTO>>> getTurnosAbiertosByCajero(
+            @PathVariable String codigoCajero,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPaginacion.LIMITE_POR_DEFECTO) int limite) {
+        logger.info("Consultando turnos abiertos para cajero: {}", codigoCajero);
+
+        return turnoCajaService.findTurnosAbiertosByCajero(codigoCajero, cursor, limite)
+                .map(pagina -> ResponseEntity.ok(toPaginaDTO(pagina)));
+    }
+
+    @GetMapping("/caja/{codigoCaja}/verificar-abierto")
+    public Mono<ResponseEntity<Boolean>> verificarTurnoAbiertoByCaja(@PathVariable String codigoCaja) {
+        logger.info("Verificando turno abierto para caja: {}", codigoCaja);
+
+        return turnoCajaService.existsTurnoAbiertoByCaja(codigoCaja).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/cajero/{codigoCajero}/verificar-abierto")
+    public Mono<ResponseEntity<Boolean>> verificarTurnoAbiertoByCajero(@PathVariable String codigoCajero) {
+        logger.info("Verificando turno abierto para cajero: {}", codigoCajero);
+
+        return turnoCajaService.existsTurnoAbiertoByCajero(codigoCajero).map(ResponseEntity::ok);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Void> handleNotFoundException(NotFoundException e) {
+        logger.error("Recurso no encontrado: {}", e.getMessage());
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<Void> handleBusinessException(BusinessException e) {
+        logger.error("Error de negocio: {}", e.getMessage());
+        return ResponseEntity.badRequest().build();
+    }
+
+    private PaginaDTO<TurnoCajaDTO> toPaginaDTO(Pagina<TurnoCaja> pagina) {
+        List<TurnoCajaDTO> contenido = new ArrayList<>(pagina.getContenido().size());
+        for (TurnoCaja turno : pagina.getContenido()) {
+            contenido.add(turnoCajaMapper.toDTO(turno));
+        }
+
+        PaginaDTO<TurnoCajaDTO> paginaDTO = new PaginaDTO<>();
+        paginaDTO.setContenido(contenido);
+        paginaDTO.setSiguienteCursor(pagina.getSiguienteCursor());
+        paginaDTO.setHayMas(pagina.hayMas());
+        return paginaDTO;
+    }
+}
@@ -0,0 +1,29 @@
+package com.conjunta.simbana.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class CerrarLoteDTO {
+    @NotEmpty(message = "El lote debe contener al menos un turno")
+    @Size(max = 1000, message = "El lote no puede superar los 1000 turnos")
+    @Valid
+    private List<CierreDTO> turnos;
+
+    @Data
+    @NoArgsConstructor
+    public static class CierreDTO {
+        @NotBlank(message = "El código de turno es requerido")
+        private String codigoTurno;
+
+        @NotNull(message = "El monto final es requerido")
+        @DecimalMin(value = "0.00", message = "El monto final no puede ser negativo")
+        @DecimalMax(value = "999999999999.99", message = "El monto final excede el límite permitido")
+        private BigDecimal montoFinal;
+    }
+}
@@ -0,0 +1,22 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class DiscrepanciaTurnoDTO {
+    private String codigoTurno;
+    private String codigoCaja;
+    private String codigoCajero;
+    private BigDecimal montoFinal;
+    private BigDecimal montoEsperado;
+
+    @Schema(description = "Monto final menos monto esperado; positiva si sobra efectivo, negativa si falta")
+    private BigDecimal diferencia;
+
+    private LocalDateTime fechaCierre;
+}
@@ -0,0 +1,24 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class EstadisticasCacheDTO {
+    @Schema(description = "Validaciones resueltas sin leer la base")
+    private long aciertos;
+
+    @Schema(description = "Validaciones que tuvieron que leer el turno de la base")
+    private long fallos;
+
+    @Schema(description = "Entradas desalojadas por tamaño o expiración")
+    private long desalojos;
+
+    @Schema(description = "Aciertos sobre el total de consultas, entre 0 y 1")
+    private double tasaAciertos;
+
+    @Schema(description = "Cantidad aproximada de turnos en cache")
+    private long tamano;
+}
@@ -0,0 +1,14 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ExportTransaccionDTO {
+    @Schema(description = "Cursor para continuar la exportación después de esta transacción")
+    private String cursor;
+
+    private TransaccionTurnoDTO transaccion;
+}
@@ -1,10 +1,12 @@
 package com.conjunta.simbana.controller.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -22,4 +24,11 @@ public class IniciarTurnoDTO {
     @DecimalMin(value = "0.01", message = "El monto inicial debe ser mayor a cero")
     @DecimalMax(value = "999999999999.99", message = "El monto inicial excede el límite permitido")
     private BigDecimal montoInicial;
+
+    @Schema(description = "Detalle de billetes con el que se abre la caja; su total debe coincidir con el monto " +
+            "inicial. Obligatorio: el inventario de billetes del turno parte de este detalle, y un turno abierto " +
+            "sin él rechazaría todo retiro por falta de billetes", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Las denominaciones iniciales son requeridas")
+    @Valid
+    private List<DenominacionTurnoDto> denominacionesIniciales;
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class InventarioTurnoDTO {
+    @Schema(description = "Código del turno")
+    private String codigoTurno;
+
+    @Schema(description = "Cantidad de billetes en la caja por denominación")
+    private List<BilleteDTO> billetes;
+
+    @Schema(description = "Monto total en billetes")
+    private BigDecimal total;
+
+    @Data
+    @NoArgsConstructor
+    public static class BilleteDTO {
+        private int billete;
+        private int cantidad;
+        private BigDecimal monto;
+    }
+}
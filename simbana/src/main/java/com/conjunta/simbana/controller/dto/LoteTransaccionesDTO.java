@@ -0,0 +1,20 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class LoteTransaccionesDTO {
+    @NotEmpty(message = "El lote debe contener al menos una transacción")
+    @Size(max = 1000, message = "El lote no puede superar las 1000 transacciones")
+    @Valid
+    private List<RegistrarTransaccionDto> transacciones;
+
+    @Schema(description = "Si es verdadero, el lote se detiene en la primera transacción rechazada")
+    private boolean ordenado = true;
+}
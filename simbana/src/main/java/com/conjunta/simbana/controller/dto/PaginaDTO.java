@@ -0,0 +1,17 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> contenido;
+
+    @Schema(description = "Cursor para pedir la siguiente página; null si no hay más resultados")
+    private String siguienteCursor;
+
+    private boolean hayMas;
+}
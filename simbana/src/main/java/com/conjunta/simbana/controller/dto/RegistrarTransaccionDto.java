@@ -25,6 +25,8 @@ public class RegistrarTransaccionDto {
     @DecimalMin(value = "0.0", message = "El monto total no puede ser negativo")
     private BigDecimal montoTotal;
 
-    @NotNull(message = "Las denominaciones son obligatorias")
+    @Schema(description = "Detalle de billetes de la transacción; su total debe coincidir con el monto total",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Las denominaciones son obligatorias")
     private List<DenominacionTurnoDto> denominaciones;
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class ResultadoCierreDTO {
+    private String codigoTurno;
+
+    @Schema(description = "CERRADO o RECHAZADO")
+    private String estado;
+
+    private BigDecimal montoFinal;
+    private BigDecimal montoEsperado;
+
+    @Schema(description = "Monto final menos monto esperado; distinta de cero indica una discrepancia")
+    private BigDecimal diferencia;
+
+    private Integer codigoError;
+    private String mensaje;
+}
@@ -0,0 +1,21 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ResultadoLoteDTO {
+    @Schema(description = "Posición de la transacción en el lote")
+    private int indice;
+
+    @Schema(description = "REGISTRADA, RECHAZADA o NO_PROCESADA")
+    private String estado;
+
+    @Schema(description = "Transacción registrada, solo si el estado es REGISTRADA")
+    private TransaccionTurnoDTO transaccion;
+
+    private Integer codigoError;
+    private String mensaje;
+}
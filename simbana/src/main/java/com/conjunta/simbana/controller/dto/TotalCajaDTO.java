@@ -0,0 +1,25 @@
+package com.conjunta.simbana.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+public class TotalCajaDTO {
+    private String codigoCaja;
+    private String tipoTransaccion;
+
+    @Schema(description = "Número de transacciones")
+    private long cantidad;
+
+    @Schema(description = "Suma de los montos")
+    private BigDecimal total;
+
+    @Schema(description = "Monto más bajo")
+    private BigDecimal minimo;
+
+    @Schema(description = "Monto más alto")
+    private BigDecimal maximo;
+}
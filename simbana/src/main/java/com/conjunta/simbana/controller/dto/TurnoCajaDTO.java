@@ -33,5 +33,9 @@ public class TurnoCajaDTO {
     private BigDecimal montoFinal;
 
     private String estado;
+
+    @Schema(description = "Saldo actual del turno")
+    private BigDecimal saldoActual;
+
     private Long version;
 } 
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.conjunta.simbana.controller.mapper;
 
 import com.conjunta.simbana.controller.dto.DenominacionTransaccionDTO;
 import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
@@ -12,7 +14,22 @@ import org.mapstruct.ReportingPolicy;
 )
 public interface DenominacionTransaccionMapper {
 
+    @Mapping(source = "cantidadBilletes", target = "cantidad")
     DenominacionTransaccionDTO toDTO(DenominacionTransaccion model);
     
+    @Mapping(source = "cantidad", target = "cantidadBilletes")
     DenominacionTransaccion toModel(DenominacionTransaccionDTO dto);
-} 
\ No newline at end of file
+
+    // Un valor que no es un billete se deja en null para que la validación lo rechace con 4003.
+    default Enums.Denominacion toDenominacion(int billete) {
+        try {
+            return Enums.Denominacion.fromValor(String.valueOf(billete));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    default int toBillete(Enums.Denominacion denominacion) {
+        return denominacion == null ? 0 : Integer.parseInt(denominacion.getValor());
+    }
+}
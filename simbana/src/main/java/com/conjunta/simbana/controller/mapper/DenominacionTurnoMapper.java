@@ -2,7 +2,9 @@ package com.conjunta.simbana.controller.mapper;
 
 import com.conjunta.simbana.controller.dto.DenominacionTurnoDto;
 import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
@@ -11,6 +13,23 @@ import org.mapstruct.ReportingPolicy;
     unmappedTargetPolicy = ReportingPolicy.IGNORE
 )
 public interface DenominacionTurnoMapper {
+
+    @Mapping(source = "cantidadBilletes", target = "cantidad")
     DenominacionTurnoDto toDTO(DenominacionTransaccion model);
+
+    @Mapping(source = "cantidad", target = "cantidadBilletes")
     DenominacionTransaccion toModel(DenominacionTurnoDto dto);
-} 
\ No newline at end of file
+
+    // Un valor que no es un billete se deja en null para que la validación lo rechace con 4003.
+    default Enums.Denominacion toDenominacion(int billete) {
+        try {
+            return Enums.Denominacion.fromValor(String.valueOf(billete));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    default int toBillete(Enums.Denominacion denominacion) {
+        return denominacion == null ? 0 : Integer.parseInt(denominacion.getValor());
+    }
+}
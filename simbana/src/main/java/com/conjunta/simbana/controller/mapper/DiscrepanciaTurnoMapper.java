@@ -0,0 +1,16 @@
+package com.conjunta.simbana.controller.mapper;
+
+import com.conjunta.simbana.controller.dto.DiscrepanciaTurnoDTO;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(
+        componentModel = MappingConstants.ComponentModel.SPRING,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface DiscrepanciaTurnoMapper {
+
+    DiscrepanciaTurnoDTO toDTO(DiscrepanciaTurno model);
+}
@@ -1,8 +1,10 @@
 package com.conjunta.simbana.controller.mapper;
 
 import com.conjunta.simbana.controller.dto.TransaccionTurnoDTO;
+import com.conjunta.simbana.model.ResumenTransaccion;
 import com.conjunta.simbana.model.TransaccionTurno;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.ReportingPolicy;
 
@@ -12,7 +14,12 @@ import org.mapstruct.ReportingPolicy;
 )
 public interface TransaccionTurnoMapper {
 
+    @Mapping(source = "fechaHora", target = "fecha")
     TransaccionTurnoDTO toDTO(TransaccionTurno model);
-    
+
+    @Mapping(source = "fechaHora", target = "fecha")
+    TransaccionTurnoDTO toDTO(ResumenTransaccion resumen);
+
+    @Mapping(source = "fecha", target = "fechaHora")
     TransaccionTurno toModel(TransaccionTurnoDTO dto);
 } 
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.conjunta.simbana.migracion;
+
+import com.conjunta.simbana.model.TurnoCaja;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pasa los turnos guardados con un ObjectId como _id y el código en el campo codigoTurno al
+ * formato actual, en el que el código del turno es el _id. Cada turno se copia primero a una
+ * colección de respaldo y se reescribe desde ahí, así que si la migración se interrumpe la
+ * siguiente ejecución termina los turnos que quedaron a medias antes de seguir.
+ */
+@Component
+@ConditionalOnProperty(name = "simbana.migraciones.codigo-turno-id", havingValue = "true")
+public class CodigoTurnoIdMigracion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodigoTurnoIdMigracion.class);
+
+    private static final int TAMANO_LOTE = 500;
+
+    static final String RESPALDO = "turnos_caja_migracion_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    public CodigoTurnoIdMigracion(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrar() {
+        String coleccion = mongoTemplate.getCollectionName(TurnoCaja.class);
+        long migrados = aplicarRespaldados(coleccion);
+
+        Object ultimoId = null;
+        while (true) {
+            Criteria pendientes = Criteria.where("codigoTurno").exists(true);
+            if (ultimoId != null) {
+                pendientes = pendientes.and("_id").gt(ultimoId);
+            }
+            Query query = Query.query(pendientes).with(Sort.by("_id")).limit(TAMANO_LOTE);
+            List<Document> lote = mongoTemplate.find(query, Document.class, coleccion);
+            if (lote.isEmpty()) {
+                break;
+            }
+            for (Document turno : lote) {
+                mongoTemplate.save(turno, RESPALDO);
+            }
+            migrados += aplicarRespaldados(coleccion);
+            ultimoId = lote.get(lote.size() - 1).get("_id");
+        }
+
+        logger.info("Migración del código de turno a _id completada. Turnos migrados: {}", migrados);
+    }
+
+    private long aplicarRespaldados(String coleccion) {
+        long aplicados = 0;
+        for (Document original : mongoTemplate.findAll(Document.class, RESPALDO)) {
+            Object idAnterior = original.get("_id");
+            Object codigoTurno = original.get("codigoTurno");
+            Query porIdAnterior = Query.query(Criteria.where("_id").is(idAnterior));
+            boolean originalPresente = mongoTemplate.exists(porIdAnterior, coleccion);
+
+            if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(codigoTurno)), coleccion)) {
+                // Si el original sigue, es otro turno que ya usa ese código; si no, este ya se migró.
+                if (originalPresente) {
+                    logger.warn("No se migra el turno {}: ya existe otro turno con ese código como _id", codigoTurno);
+                }
+            } else {
+                Document migrado = new Document(original);
+                migrado.remove("codigoTurno");
+                migrado.put("_id", codigoTurno);
+                // save() trata un turno sin versión como nuevo y lo intentaría insertar.
+                migrado.putIfAbsent("version", 0L);
+                // Primero se borra el original: los índices únicos parciales no admiten dos copias
+                // del mismo turno abierto.
+                mongoTemplate.remove(porIdAnterior, coleccion);
+                mongoTemplate.getCollection(coleccion).insertOne(migrado);
+                aplicados++;
+            }
+            mongoTemplate.remove(porIdAnterior, RESPALDO);
+        }
+        return aplicados;
+    }
+}
@@ -0,0 +1,93 @@
+package com.conjunta.simbana.migracion;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.service.InventarioBilletes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Pasa el detalle de denominaciones_transaccion al vector de billetes embebido en cada
+ * transacción y elimina los documentos migrados. Cada transacción se reescribe con el
+ * vector completo (no incremental), por lo que la migración se puede repetir sin duplicar.
+ */
+@Component
+@ConditionalOnProperty(name = "simbana.migraciones.denominaciones-embebidas", havingValue = "true")
+public class DenominacionesEmbebidasMigracion {
+
+    private static final Logger logger = LoggerFactory.getLogger(DenominacionesEmbebidasMigracion.class);
+
+    private static final int TAMANO_LOTE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public DenominacionesEmbebidasMigracion(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrar() {
+        Query query = Query.query(Criteria.where("transaccionId").ne(null)).with(Sort.by("transaccionId"));
+        query.cursorBatchSize(TAMANO_LOTE);
+
+        List<Integer> lote = new ArrayList<>(TAMANO_LOTE);
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransaccionTurno.class);
+        Integer transaccionActual = null;
+        int[] billetes = null;
+        long migradas = 0;
+
+        try (Stream<DenominacionTransaccion> denominaciones = mongoTemplate.stream(query, DenominacionTransaccion.class)) {
+            for (DenominacionTransaccion denominacion : (Iterable<DenominacionTransaccion>) denominaciones::iterator) {
+                if (!Objects.equals(denominacion.getTransaccionId(), transaccionActual)) {
+                    if (transaccionActual != null) {
+                        agregar(operaciones, lote, transaccionActual, billetes);
+                    }
+                    if (lote.size() >= TAMANO_LOTE) {
+                        migradas += ejecutar(operaciones, lote);
+                        operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransaccionTurno.class);
+                    }
+                    transaccionActual = denominacion.getTransaccionId();
+                    billetes = InventarioBilletes.vacio();
+                }
+                if (denominacion.getBillete() != null && denominacion.getCantidadBilletes() != null) {
+                    billetes[denominacion.getBillete().ordinal()] += denominacion.getCantidadBilletes();
+                }
+            }
+        }
+
+        if (transaccionActual != null) {
+            agregar(operaciones, lote, transaccionActual, billetes);
+            migradas += ejecutar(operaciones, lote);
+        }
+
+        logger.info("Migración de denominaciones embebidas completada. Transacciones migradas: {}", migradas);
+    }
+
+    private void agregar(BulkOperations operaciones, List<Integer> lote, Integer transaccionId, int[] billetes) {
+        operaciones.updateOne(Query.query(Criteria.where("id").is(transaccionId)), new Update().set("billetes", billetes));
+        lote.add(transaccionId);
+    }
+
+    private int ejecutar(BulkOperations operaciones, List<Integer> lote) {
+        operaciones.execute();
+        mongoTemplate.remove(Query.query(Criteria.where("transaccionId").in(lote)), DenominacionTransaccion.class);
+        int migradas = lote.size();
+        lote.clear();
+        return migradas;
+    }
+}
@@ -0,0 +1,86 @@
+package com.conjunta.simbana.migracion;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Convierte a Decimal128 los montos que se guardaron como texto antes de anotarlos con
+ * {@code @Field(targetType = FieldType.DECIMAL128)}. Recorre cada colección por _id en lotes y
+ * convierte en el servidor solo los documentos cuyo campo sigue siendo texto, así que si se
+ * interrumpe basta con volver a ejecutarla: continúa con los que faltan y no toca los ya migrados.
+ */
+@Component
+@ConditionalOnProperty(name = "simbana.migraciones.montos-decimal128", havingValue = "true")
+public class MontosDecimal128Migracion {
+
+    private static final Logger logger = LoggerFactory.getLogger(MontosDecimal128Migracion.class);
+
+    private static final int TAMANO_LOTE = 500;
+
+    // Código del tipo string en BSON.
+    private static final int TIPO_TEXTO = 2;
+
+    private final MongoTemplate mongoTemplate;
+
+    public MontosDecimal128Migracion(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrar() {
+        long migrados = migrar(TransaccionTurno.class, "montoTotal")
+                + migrar(TurnoCaja.class, "montoInicial")
+                + migrar(TurnoCaja.class, "montoFinal")
+                + migrar(DenominacionTransaccion.class, "monto");
+
+        logger.info("Migración de montos a Decimal128 completada. Documentos migrados: {}", migrados);
+    }
+
+    private long migrar(Class<?> entidad, String campo) {
+        String coleccion = mongoTemplate.getCollectionName(entidad);
+        AggregationUpdate conversion = AggregationUpdate.update()
+                .set(campo).toValueOf(ConvertOperators.valueOf(campo).convertToDecimal());
+
+        Object ultimoId = null;
+        long migrados = 0;
+        while (true) {
+            Criteria pendientes = Criteria.where(campo).type(TIPO_TEXTO);
+            if (ultimoId != null) {
+                pendientes = pendientes.and("_id").gt(ultimoId);
+            }
+            Query query = Query.query(pendientes).with(Sort.by("_id")).limit(TAMANO_LOTE);
+            query.fields().include("_id");
+
+            List<Object> ids = mongoTemplate.find(query, Document.class, coleccion).stream()
+                    .map(documento -> documento.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            // Se repite la condición de tipo: un documento ya convertido no se vuelve a escribir.
+            migrados += mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and(campo).type(TIPO_TEXTO)),
+                    conversion, coleccion).getModifiedCount();
+            ultimoId = ids.get(ids.size() - 1);
+            logger.debug("{}.{}: {} documentos migrados hasta _id {}", coleccion, campo, migrados, ultimoId);
+        }
+        return migrados;
+    }
+}
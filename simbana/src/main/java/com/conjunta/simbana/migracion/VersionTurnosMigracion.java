@@ -0,0 +1,46 @@
+package com.conjunta.simbana.migracion;
+
+import com.conjunta.simbana.model.TurnoCaja;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inicia en 0 la versión de los turnos guardados antes de versionarlos. Con {@code @Version}, save()
+ * trata un documento sin versión como nuevo y lo inserta, así que cerrar uno de esos turnos fallaba
+ * con clave duplicada. A diferencia de las demás migraciones no depende de una propiedad y se ejecuta
+ * antes de levantar el servidor web, para que ninguna petición encuentre un turno sin versión. Solo
+ * toca los documentos que no tienen el campo, así que volver a ejecutarla no cambia nada.
+ */
+@Component
+@Profile("!memoria")
+public class VersionTurnosMigracion implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersionTurnosMigracion.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public VersionTurnosMigracion(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Las transacciones y denominaciones solo se insertan, nunca pasan por save(): no hace falta
+        // recorrer esas colecciones.
+        long migrados = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                TurnoCaja.class).getModifiedCount();
+
+        if (migrados > 0) {
+            logger.info("Versión inicial asignada a {} turnos guardados sin versión", migrados);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.conjunta.simbana.model;
 
 import jakarta.persistence.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
 import java.math.BigDecimal;
 
 @Entity
@@ -22,10 +25,12 @@ public class DenominacionTransaccion {
     @Column(name = "cantidad_billetes", nullable = false)
     private Integer cantidadBilletes;
 
+    @Field(targetType = FieldType.DECIMAL128)
     @Column(name = "monto", nullable = false, precision = 14, scale = 2)
     private BigDecimal monto;
 
     @Version
+    @org.springframework.data.annotation.Version
     @Column(name = "version")
     private Long version;
 
@@ -0,0 +1,78 @@
+package com.conjunta.simbana.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montos en centavos sobre un long. Las sumas y comparaciones de saldos y denominaciones se hacen
+ * con esta representación; los BigDecimal solo aparecen al recibir el monto de la API o de la base
+ * y al devolverlo. No hay un tipo Dinero con instancias: los acumulados del lote y del inventario
+ * se llevan en variables long y estas funciones operan sobre ellas, así sumar o comparar no crea
+ * objetos. Las operaciones aritméticas fallan con ArithmeticException si el resultado no cabe en un
+ * long; las validaciones de un monto recibido no usan excepciones.
+ */
+public final class Dinero {
+
+    private static final int DECIMALES = 2;
+
+    // Hasta 16 dígitos enteros, el monto en centavos tiene a lo sumo 18 dígitos y siempre cabe en un long.
+    private static final int DIGITOS_ENTEROS_SEGUROS = 16;
+
+    private static final BigDecimal MAXIMO = BigDecimal.valueOf(Long.MAX_VALUE, DECIMALES);
+    private static final BigDecimal MINIMO = BigDecimal.valueOf(Long.MIN_VALUE, DECIMALES);
+
+    private Dinero() {
+    }
+
+    /**
+     * Conversión exacta de un monto ya validado con {@link #tieneFraccionDeCentavo} y
+     * {@link #dentroDeRango}. Falla si el monto tiene fracciones de centavo o no cabe en un long.
+     */
+    public static long centavos(BigDecimal monto) {
+        // Un monto entero (el caso de los billetes) se convierte sin crear otro BigDecimal.
+        if (monto.scale() <= 0) {
+            return Math.multiplyExact(monto.longValueExact(), 100L);
+        }
+        return monto.movePointRight(DECIMALES).longValueExact();
+    }
+
+    /**
+     * Centavos completos de un monto leído de la base, descartando hacia abajo las fracciones de
+     * centavo que pueda tener un dato guardado antes de validarlas. El monto debe estar
+     * {@link #dentroDeRango}.
+     */
+    public static long centavosCompletos(BigDecimal monto) {
+        return monto.setScale(DECIMALES, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+
+    /**
+     * True si el monto tiene fracciones de centavo, sin importar su tamaño. Los montos con hasta dos
+     * decimales, que son los que llegan normalmente, se resuelven solo con la escala.
+     */
+    public static boolean tieneFraccionDeCentavo(BigDecimal monto) {
+        return monto.scale() > DECIMALES && monto.stripTrailingZeros().scale() > DECIMALES;
+    }
+
+    /**
+     * True si el monto en centavos cabe en un long. Con la precisión y la escala se resuelven todos
+     * los montos de hasta 16 dígitos enteros; solo los más grandes se comparan con los límites.
+     */
+    public static boolean dentroDeRango(BigDecimal monto) {
+        if (monto.precision() - monto.scale() <= DIGITOS_ENTEROS_SEGUROS) {
+            return true;
+        }
+        return monto.compareTo(MAXIMO) <= 0 && monto.compareTo(MINIMO) >= 0;
+    }
+
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, DECIMALES);
+    }
+
+    public static long sumar(long centavos, long otros) {
+        return Math.addExact(centavos, otros);
+    }
+
+    public static long multiplicar(long centavos, int cantidad) {
+        return Math.multiplyExact(centavos, (long) cantidad);
+    }
+}
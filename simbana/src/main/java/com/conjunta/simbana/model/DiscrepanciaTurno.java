@@ -0,0 +1,107 @@
+package com.conjunta.simbana.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Diferencia entre el monto final declarado y el esperado al cerrar un turno. Un turno se cierra
+ * una sola vez, así que el código del turno identifica la discrepancia y reintentar el guardado
+ * no la duplica.
+ */
+@Document(collection = "discrepancias_turno")
+public class DiscrepanciaTurno {
+
+    @Id
+    private String codigoTurno;
+
+    private String codigoCaja;
+
+    private String codigoCajero;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal montoFinal;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal montoEsperado;
+
+    // montoFinal - montoEsperado: positiva si sobra efectivo, negativa si falta.
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal diferencia;
+
+    private LocalDateTime fechaCierre;
+
+    public DiscrepanciaTurno() {
+    }
+
+    public DiscrepanciaTurno(String codigoTurno) {
+        this.codigoTurno = codigoTurno;
+    }
+
+    public String getCodigoTurno() {
+        return codigoTurno;
+    }
+
+    public void setCodigoTurno(String codigoTurno) {
+        this.codigoTurno = codigoTurno;
+    }
+
+    public String getCodigoCaja() {
+        return codigoCaja;
+    }
+
+    public void setCodigoCaja(String codigoCaja) {
+        this.codigoCaja = codigoCaja;
+    }
+
+    public String getCodigoCajero() {
+        return codigoCajero;
+    }
+
+    public void setCodigoCajero(String codigoCajero) {
+        this.codigoCajero = codigoCajero;
+    }
+
+    public BigDecimal getMontoFinal() {
+        return montoFinal;
+    }
+
+    public void setMontoFinal(BigDecimal montoFinal) {
+        this.montoFinal = montoFinal;
+    }
+
+    public BigDecimal getMontoEsperado() {
+        return montoEsperado;
+    }
+
+    public void setMontoEsperado(BigDecimal montoEsperado) {
+        this.montoEsperado = montoEsperado;
+    }
+
+    public BigDecimal getDiferencia() {
+        return diferencia;
+    }
+
+    public void setDiferencia(BigDecimal diferencia) {
+        this.diferencia = diferencia;
+    }
+
+    public LocalDateTime getFechaCierre() {
+        return fechaCierre;
+    }
+
+    public void setFechaCierre(LocalDateTime fechaCierre) {
+        this.fechaCierre = fechaCierre;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscrepanciaTurno [codigoTurno=" + codigoTurno + ", codigoCaja=" + codigoCaja
+                + ", codigoCajero=" + codigoCajero + ", montoFinal=" + montoFinal + ", montoEsperado=" + montoEsperado
+                + ", diferencia=" + diferencia + ", fechaCierre=" + fechaCierre + "]";
+    }
+}
@@ -1,5 +1,7 @@
 package com.conjunta.simbana.model;
 
+import java.math.BigDecimal;
+
 public class Enums {
     
     public enum EstadoTurno {
@@ -23,14 +25,26 @@ public class Enums {
         CIEN("100");
         
         private final String valor;
+        private final BigDecimal monto;
+        private final long centavos;
         
         Denominacion(String valor) {
             this.valor = valor;
+            this.monto = new BigDecimal(valor);
+            this.centavos = Dinero.centavos(monto);
         }
         
         public String getValor() {
             return valor;
         }
+
+        public BigDecimal getMonto() {
+            return monto;
+        }
+
+        public long getCentavos() {
+            return centavos;
+        }
         
         public static Denominacion fromValor(String valor) {
             for (Denominacion denominacion : values()) {
@@ -0,0 +1,113 @@
+package com.conjunta.simbana.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta guardada para una clave de idempotencia. Se crea sin respuesta al empezar a atender
+ * la petición (reserva la clave) y se completa con el estado y el cuerpo que se enviaron. Un
+ * índice TTL sobre creada la elimina cuando vence.
+ */
+@Document(collection = "respuestas_idempotentes")
+public class RespuestaIdempotente {
+
+    // Método, ruta y clave enviada por el cliente: la misma clave en otro endpoint es otra petición.
+    @Id
+    private String id;
+
+    // SHA-256 del cuerpo de la petición original, para rechazar la clave reutilizada con otro cuerpo.
+    private String huella;
+
+    private boolean completada;
+
+    private int estado;
+
+    private String tipoContenido;
+
+    private byte[] cuerpo;
+
+    private LocalDateTime creada;
+
+    // Plazo de una reserva sin completar: pasado este instante se considera abandonada y otra
+    // petición con la misma clave puede tomarla.
+    private LocalDateTime vigenteHasta;
+
+    public RespuestaIdempotente() {
+    }
+
+    public RespuestaIdempotente(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public void setHuella(String huella) {
+        this.huella = huella;
+    }
+
+    public boolean isCompletada() {
+        return completada;
+    }
+
+    public void setCompletada(boolean completada) {
+        this.completada = completada;
+    }
+
+    public int getEstado() {
+        return estado;
+    }
+
+    public void setEstado(int estado) {
+        this.estado = estado;
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public void setTipoContenido(String tipoContenido) {
+        this.tipoContenido = tipoContenido;
+    }
+
+    public byte[] getCuerpo() {
+        return cuerpo;
+    }
+
+    public void setCuerpo(byte[] cuerpo) {
+        this.cuerpo = cuerpo;
+    }
+
+    public LocalDateTime getCreada() {
+        return creada;
+    }
+
+    public void setCreada(LocalDateTime creada) {
+        this.creada = creada;
+    }
+
+    public LocalDateTime getVigenteHasta() {
+        return vigenteHasta;
+    }
+
+    public void setVigenteHasta(LocalDateTime vigenteHasta) {
+        this.vigenteHasta = vigenteHasta;
+    }
+
+    @Override
+    public String toString() {
+        return "RespuestaIdempotente [id=" + id + ", completada=" + completada + ", estado=" + estado
+                + ", creada=" + creada + ", vigenteHasta=" + vigenteHasta + "]";
+    }
+}
@@ -0,0 +1,19 @@
+package com.conjunta.simbana.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una transacción con los campos que devuelven los listados y la exportación.
+ * Mongo solo envía estos campos (sin el desglose de billetes) y se materializa directamente
+ * en el record, sin pasar por la entidad.
+ */
+public record ResumenTransaccion(Integer id,
+                                 String codigoTurno,
+                                 String codigoCaja,
+                                 String codigoCajero,
+                                 Enums.TipoTransaccion tipoTransaccion,
+                                 BigDecimal montoTotal,
+                                 LocalDateTime fechaHora,
+                                 Long version) {
+}
@@ -0,0 +1,9 @@
+package com.conjunta.simbana.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de un turno con los montos que necesita la consulta de saldo.
+ */
+public record SaldoTurno(BigDecimal montoInicial, BigDecimal saldoActual) {
+}
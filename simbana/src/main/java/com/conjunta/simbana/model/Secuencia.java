@@ -0,0 +1,44 @@
+package com.conjunta.simbana.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Contador de una secuencia de IDs. El valor es el último ID reservado por alguna instancia.
+ */
+@Document(collection = "secuencias")
+public class Secuencia {
+
+    @Id
+    private String nombre;
+
+    private long valor;
+
+    public Secuencia() {
+    }
+
+    public Secuencia(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long getValor() {
+        return valor;
+    }
+
+    public void setValor(long valor) {
+        this.valor = valor;
+    }
+
+    @Override
+    public String toString() {
+        return "Secuencia [nombre=" + nombre + ", valor=" + valor + "]";
+    }
+}
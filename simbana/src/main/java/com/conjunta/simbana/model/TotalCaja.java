@@ -0,0 +1,74 @@
+package com.conjunta.simbana.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Totales de las transacciones de una caja y un tipo de transacción en un rango de fechas,
+ * calculados por la base de datos.
+ */
+public class TotalCaja {
+
+    private String codigoCaja;
+    private Enums.TipoTransaccion tipoTransaccion;
+    private long cantidad;
+    private BigDecimal total;
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+
+    public TotalCaja() {
+    }
+
+    public String getCodigoCaja() {
+        return codigoCaja;
+    }
+
+    public void setCodigoCaja(String codigoCaja) {
+        this.codigoCaja = codigoCaja;
+    }
+
+    public Enums.TipoTransaccion getTipoTransaccion() {
+        return tipoTransaccion;
+    }
+
+    public void setTipoTransaccion(Enums.TipoTransaccion tipoTransaccion) {
+        this.tipoTransaccion = tipoTransaccion;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(BigDecimal minimo) {
+        this.minimo = minimo;
+    }
+
+    public BigDecimal getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(BigDecimal maximo) {
+        this.maximo = maximo;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalCaja [codigoCaja=" + codigoCaja + ", tipoTransaccion=" + tipoTransaccion + ", cantidad="
+                + cantidad + ", total=" + total + ", minimo=" + minimo + ", maximo=" + maximo + "]";
+    }
+}
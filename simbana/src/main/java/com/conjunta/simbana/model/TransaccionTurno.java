@@ -1,6 +1,9 @@
 package com.conjunta.simbana.model;
 
 import jakarta.persistence.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -26,13 +29,19 @@ public class TransaccionTurno {
     @Column(name = "tipo_transaccion", nullable = false)
     private Enums.TipoTransaccion tipoTransaccion;
 
+    @Field(targetType = FieldType.DECIMAL128)
     @Column(name = "monto_total", nullable = false, precision = 14, scale = 2)
     private BigDecimal montoTotal;
 
     @Column(name = "fecha_hora", nullable = false)
     private LocalDateTime fechaHora;
 
+    // Desglose de billetes embebido en la transacción, una posición por Enums.Denominacion (en orden ordinal).
+    @Column(name = "billetes")
+    private int[] billetes;
+
     @Version
+    @org.springframework.data.annotation.Version
     @Column(name = "version")
     private Long version;
 
@@ -103,6 +112,14 @@ public class TransaccionTurno {
         this.fechaHora = fechaHora;
     }
 
+    public int[] getBilletes() {
+        return billetes;
+    }
+
+    public void setBilletes(int[] billetes) {
+        this.billetes = billetes;
+    }
+
     public Long getVersion() {
         return version;
     }
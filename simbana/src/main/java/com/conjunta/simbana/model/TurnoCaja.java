@@ -1,6 +1,9 @@
 package com.conjunta.simbana.model;
 
 import jakarta.persistence.*;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -8,7 +11,9 @@ import java.time.LocalDateTime;
 @Table(name = "turnos_caja")
 public class TurnoCaja {
 
+    // El código del turno es el _id del documento en Mongo; la anotación de JPA no la lee Spring Data.
     @Id
+    @org.springframework.data.annotation.Id
     @Column(name = "codigo_turno", length = 30, nullable = false)
     private String codigoTurno;
 
@@ -21,12 +26,14 @@ public class TurnoCaja {
     @Column(name = "inicio_turno", nullable = false)
     private LocalDateTime inicioTurno;
 
+    @Field(targetType = FieldType.DECIMAL128)
     @Column(name = "monto_inicial", nullable = false, precision = 14, scale = 2)
     private BigDecimal montoInicial;
 
     @Column(name = "fin_turno")
     private LocalDateTime finTurno;
 
+    @Field(targetType = FieldType.DECIMAL128)
     @Column(name = "monto_final", precision = 14, scale = 2)
     private BigDecimal montoFinal;
 
@@ -34,7 +41,19 @@ public class TurnoCaja {
     @Column(name = "estado", nullable = false)
     private Enums.EstadoTurno estado;
 
+    // Saldo corriente del turno, se actualiza en sitio con cada DEPOSITO/AHORRO.
+    // Se guarda como Decimal128 para poder usar $inc y comparaciones numéricas en Mongo.
+    @Field(targetType = FieldType.DECIMAL128)
+    @Column(name = "saldo_actual", precision = 14, scale = 2)
+    private BigDecimal saldoActual;
+
+    // Cantidad de billetes en la gaveta, una posición por Enums.Denominacion (en orden ordinal).
+    @Column(name = "inventario_billetes")
+    private int[] inventarioBilletes;
+
+    // Control optimista de Spring Data: save() falla si el turno cambió desde que se leyó.
     @Version
+    @org.springframework.data.annotation.Version
     @Column(name = "version")
     private Long version;
 
@@ -109,6 +128,22 @@ public class TurnoCaja {
         this.estado = estado;
     }
 
+    public BigDecimal getSaldoActual() {
+        return saldoActual;
+    }
+
+    public void setSaldoActual(BigDecimal saldoActual) {
+        this.saldoActual = saldoActual;
+    }
+
+    public int[] getInventarioBilletes() {
+        return inventarioBilletes;
+    }
+
+    public void setInventarioBilletes(int[] inventarioBilletes) {
+        this.inventarioBilletes = inventarioBilletes;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -147,6 +182,7 @@ public class TurnoCaja {
     public String toString() {
         return "TurnoCaja [codigoTurno=" + codigoTurno + ", codigoCaja=" + codigoCaja + ", codigoCajero=" + codigoCajero
                 + ", inicioTurno=" + inicioTurno + ", montoInicial=" + montoInicial + ", finTurno=" + finTurno
-                + ", montoFinal=" + montoFinal + ", estado=" + estado + ", version=" + version + "]";
+                + ", montoFinal=" + montoFinal + ", estado=" + estado + ", saldoActual=" + saldoActual
+                + ", version=" + version + "]";
     }
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consultas por página de transacciones, compartidas por el repositorio bloqueante y el reactivo.
+ */
+final class ConsultasTransaccion {
+
+    private ConsultasTransaccion() {
+    }
+
+    static Query paginaPorTipo(Enums.TipoTransaccion tipoTransaccion, LocalDateTime despuesDeFecha,
+                               Integer despuesDeId, int limite) {
+        return pagina(Criteria.where("tipoTransaccion").is(tipoTransaccion.name()), despuesDeFecha, despuesDeId, limite);
+    }
+
+    static Query paginaPorTurno(String codigoTurno, LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return pagina(Criteria.where("codigoTurno").is(codigoTurno), despuesDeFecha, despuesDeId, limite);
+    }
+
+    // Página ordenada por (fechaHora, id) que empieza después de la transacción indicada.
+    private static Query pagina(Criteria filtro, LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        Criteria criteria = filtro;
+        if (despuesDeFecha != null) {
+            criteria = new Criteria().andOperator(filtro, new Criteria().orOperator(
+                    Criteria.where("fechaHora").gt(despuesDeFecha),
+                    Criteria.where("fechaHora").is(despuesDeFecha).and("id").gt(despuesDeId)));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "fechaHora", "id"))
+                .limit(limite);
+    }
+}
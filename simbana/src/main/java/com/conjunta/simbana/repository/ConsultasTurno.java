@@ -0,0 +1,88 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Consultas y actualizaciones condicionales sobre turnos, compartidas por el repositorio
+ * bloqueante y el reactivo para que ambos apliquen exactamente las mismas condiciones.
+ */
+final class ConsultasTurno {
+
+    static final String INVENTARIO = "inventarioBilletes";
+
+    // Cada actualización en sitio incrementa la versión, así un save() de una copia leída antes falla.
+    static final String VERSION = "version";
+
+    private ConsultasTurno() {
+    }
+
+    static Criteria turnoAbierto(String codigoTurno) {
+        return Criteria.where("codigoTurno").is(codigoTurno)
+                .and("estado").is(Enums.EstadoTurno.ABIERTO.name());
+    }
+
+    static Query consultaAcreditar(String codigoTurno) {
+        return Query.query(turnoAbierto(codigoTurno).and("saldoActual").exists(true));
+    }
+
+    static Update actualizacionAcreditar(BigDecimal monto, int[] billetes) {
+        Update update = new Update().inc("saldoActual", new Decimal128(monto)).inc(VERSION, 1);
+        for (int i = 0; i < billetes.length; i++) {
+            if (billetes[i] != 0) {
+                update.inc(INVENTARIO + "." + i, billetes[i]);
+            }
+        }
+        return update;
+    }
+
+    static Query consultaDebitar(String codigoTurno, BigDecimal monto, int[] billetes) {
+        Criteria criteria = turnoAbierto(codigoTurno)
+                .and("saldoActual").gte(new Decimal128(monto));
+        for (int i = 0; i < billetes.length; i++) {
+            if (billetes[i] != 0) {
+                criteria.and(INVENTARIO + "." + i).gte(billetes[i]);
+            }
+        }
+        return Query.query(criteria);
+    }
+
+    static Update actualizacionDebitar(BigDecimal monto, int[] billetes) {
+        Update update = new Update().inc("saldoActual", new Decimal128(monto.negate())).inc(VERSION, 1);
+        for (int i = 0; i < billetes.length; i++) {
+            if (billetes[i] != 0) {
+                update.inc(INVENTARIO + "." + i, -billetes[i]);
+            }
+        }
+        return update;
+    }
+
+    static Update actualizacionCierre(BigDecimal montoFinal, LocalDateTime finTurno) {
+        return new Update()
+                .set("finTurno", finTurno)
+                .set("montoFinal", new Decimal128(montoFinal))
+                .set("estado", Enums.EstadoTurno.CERRADO.name())
+                .inc(VERSION, 1);
+    }
+
+    static Query consultaAbiertos(String campo, String valor, LocalDateTime despuesDeInicio,
+                                  String despuesDeCodigo, int limite) {
+        Criteria criteria = Criteria.where(campo).is(valor)
+                .and("estado").is(Enums.EstadoTurno.ABIERTO.name());
+        if (despuesDeInicio != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("inicioTurno").gt(despuesDeInicio),
+                    Criteria.where("inicioTurno").is(despuesDeInicio).and("codigoTurno").gt(despuesDeCodigo)));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "inicioTurno", "codigoTurno"))
+                .limit(limite);
+    }
+}
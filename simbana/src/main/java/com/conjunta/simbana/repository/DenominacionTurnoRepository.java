@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface DenominacionTurnoRepository extends MongoRepository<DenominacionTransaccion, String> {
+public interface DenominacionTurnoRepository extends MongoRepository<DenominacionTransaccion, Integer> {
     List<DenominacionTransaccion> findByTransaccionId(Integer transaccionId);
     List<DenominacionTransaccion> findByBillete(Enums.Denominacion billete);
     List<DenominacionTransaccion> findByTransaccionIdAndBillete(Integer transaccionId, Enums.Denominacion billete);
@@ -0,0 +1,10 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DiscrepanciaTurnoRepository extends MongoRepository<DiscrepanciaTurno, String>,
+        DiscrepanciaTurnoRepositoryCustom {
+}
@@ -0,0 +1,22 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DiscrepanciaTurnoRepositoryCustom {
+
+    /**
+     * Inserta las discrepancias con una escritura masiva no ordenada y retorna cuántas se
+     * guardaron. Las que ya existían (un reintento del mismo lote) se omiten sin error.
+     */
+    int insertarNuevas(List<DiscrepanciaTurno> discrepancias);
+
+    /**
+     * Página de discrepancias en un rango de fechas de cierre, opcionalmente de una sola caja,
+     * ordenadas por (fechaCierre, codigoTurno) y empezando después de la discrepancia indicada.
+     */
+    List<DiscrepanciaTurno> buscarPagina(String codigoCaja, LocalDateTime desde, LocalDateTime hasta,
+                                         LocalDateTime despuesDeFecha, String despuesDeTurno, int limite);
+}
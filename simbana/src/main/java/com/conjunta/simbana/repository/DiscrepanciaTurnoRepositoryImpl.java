@@ -0,0 +1,65 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DiscrepanciaTurnoRepositoryImpl implements DiscrepanciaTurnoRepositoryCustom {
+
+    private static final int CLAVE_DUPLICADA = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    public DiscrepanciaTurnoRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public int insertarNuevas(List<DiscrepanciaTurno> discrepancias) {
+        if (discrepancias.isEmpty()) {
+            return 0;
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DiscrepanciaTurno.class)
+                    .insert(discrepancias)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != CLAVE_DUPLICADA) {
+                    throw e;
+                }
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public List<DiscrepanciaTurno> buscarPagina(String codigoCaja, LocalDateTime desde, LocalDateTime hasta,
+                                                LocalDateTime despuesDeFecha, String despuesDeTurno, int limite) {
+        List<Criteria> condiciones = new ArrayList<>();
+        if (codigoCaja != null) {
+            condiciones.add(Criteria.where("codigoCaja").is(codigoCaja));
+        }
+        condiciones.add(Criteria.where("fechaCierre").gte(desde).lte(hasta));
+        if (despuesDeFecha != null) {
+            condiciones.add(new Criteria().orOperator(
+                    Criteria.where("fechaCierre").gt(despuesDeFecha),
+                    Criteria.where("fechaCierre").is(despuesDeFecha).and("codigoTurno").gt(despuesDeTurno)));
+        }
+
+        Query query = Query.query(new Criteria().andOperator(condiciones))
+                .with(Sort.by(Sort.Direction.ASC, "fechaCierre", "codigoTurno"))
+                .limit(limite);
+        return mongoTemplate.find(query, DiscrepanciaTurno.class);
+    }
+}
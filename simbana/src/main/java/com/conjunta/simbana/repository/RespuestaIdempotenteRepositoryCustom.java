@@ -0,0 +1,21 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.RespuestaIdempotente;
+
+import java.time.LocalDateTime;
+
+public interface RespuestaIdempotenteRepositoryCustom {
+
+    /**
+     * Reemplaza por la reserva dada la respuesta guardada con el mismo id, solo si es una reserva
+     * sin completar cuyo plazo terminó antes de ahora o si se creó antes de creadaAntesDe (vencida
+     * pero aún no eliminada por el TTL). La condición y el reemplazo son una sola operación, así
+     * que de varias peticiones que intentan tomarla solo una lo consigue.
+     */
+    boolean tomarReserva(RespuestaIdempotente reserva, LocalDateTime ahora, LocalDateTime creadaAntesDe);
+
+    /**
+     * Extiende el plazo de una reserva sin completar. Retorna false si no existe o ya se completó.
+     */
+    boolean retenerReserva(String id, LocalDateTime vigenteHasta);
+}
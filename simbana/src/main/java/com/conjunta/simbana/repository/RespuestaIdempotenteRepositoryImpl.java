@@ -0,0 +1,33 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.RespuestaIdempotente;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class RespuestaIdempotenteRepositoryImpl implements RespuestaIdempotenteRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public RespuestaIdempotenteRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean tomarReserva(RespuestaIdempotente reserva, LocalDateTime ahora, LocalDateTime creadaAntesDe) {
+        Query query = Query.query(Criteria.where("_id").is(reserva.getId()).orOperator(
+                Criteria.where("completada").is(false).and("vigenteHasta").lt(ahora),
+                Criteria.where("creada").lt(creadaAntesDe)));
+        return mongoTemplate.replace(query, reserva).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean retenerReserva(String id, LocalDateTime vigenteHasta) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("completada").is(false));
+        return mongoTemplate.updateFirst(query, Update.update("vigenteHasta", vigenteHasta),
+                RespuestaIdempotente.class).getModifiedCount() == 1;
+    }
+}
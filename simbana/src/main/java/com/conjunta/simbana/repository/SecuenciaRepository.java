@@ -0,0 +1,9 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Secuencia;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SecuenciaRepository extends MongoRepository<Secuencia, String>, SecuenciaRepositoryCustom {
+}
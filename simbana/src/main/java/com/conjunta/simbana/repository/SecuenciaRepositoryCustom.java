@@ -0,0 +1,10 @@
+package com.conjunta.simbana.repository;
+
+public interface SecuenciaRepositoryCustom {
+
+    /**
+     * Reserva atómicamente un bloque de IDs y retorna el último ID del bloque.
+     * El bloque reservado es (retorno - tamano, retorno].
+     */
+    long reservarBloque(String nombre, int tamano);
+}
@@ -0,0 +1,27 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Secuencia;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class SecuenciaRepositoryImpl implements SecuenciaRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public SecuenciaRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long reservarBloque(String nombre, int tamano) {
+        Secuencia secuencia = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("nombre").is(nombre)),
+                new Update().inc("valor", tamano),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Secuencia.class);
+        return secuencia.getValor();
+    }
+}
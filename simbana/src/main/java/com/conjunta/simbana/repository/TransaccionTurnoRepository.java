@@ -9,9 +9,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface TransaccionTurnoRepository extends MongoRepository<TransaccionTurno, String> {
+public interface TransaccionTurnoRepository extends MongoRepository<TransaccionTurno, Integer>, TransaccionTurnoRepositoryCustom {
+    List<TransaccionTurno> findByCodigoTurno(String codigoTurno);
+    List<TransaccionTurno> findByCodigoTurnoAndTipoTransaccion(String codigoTurno, Enums.TipoTransaccion tipoTransaccion);
     List<TransaccionTurno> findByTipoTransaccion(Enums.TipoTransaccion tipoTransaccion);
     List<TransaccionTurno> findByCodigoCajaAndTipoTransaccion(String codigoCaja, Enums.TipoTransaccion tipoTransaccion);
     List<TransaccionTurno> findByCodigoTurnoAndFechaHoraBetween(String codigoTurno, LocalDateTime fechaInicio, LocalDateTime fechaFin);
     List<TransaccionTurno> findByCodigoCajaAndFechaHoraBetween(String codigoCaja, LocalDateTime fechaInicio, LocalDateTime fechaFin);
-   } 
\ No newline at end of file
+} 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.TotalCaja;
+import com.conjunta.simbana.model.TransaccionTurno;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface TransaccionTurnoRepositoryCustom {
+
+    /**
+     * Inserta las transacciones con una escritura masiva y retorna las posiciones (dentro de la
+     * lista recibida) que no se guardaron. En modo ordenado Mongo se detiene en el primer error,
+     * por lo que todas las posiciones siguientes también se reportan como no guardadas.
+     */
+    List<Integer> insertarLote(List<TransaccionTurno> transacciones, boolean ordenado);
+
+    /**
+     * Recorre con un cursor de Mongo las transacciones de una caja o de un turno en un rango de
+     * fechas, ordenadas por (fechaHora, id). Si se indica despuesDeFecha/despuesDeId, el recorrido
+     * empieza justo después de esa transacción. Solo se leen los campos del resumen. El stream
+     * debe cerrarse para liberar el cursor.
+     */
+    Stream<ResumenTransaccion> recorrerPorRango(String codigoCaja, String codigoTurno,
+                                              LocalDateTime desde, LocalDateTime hasta,
+                                              LocalDateTime despuesDeFecha, Integer despuesDeId);
+
+    /**
+     * Página de transacciones de un tipo ordenadas por (fechaHora, id), empezando después de la
+     * transacción indicada. Cada página cuesta lo mismo sin importar qué tan profunda sea.
+     */
+    List<ResumenTransaccion> buscarPaginaPorTipo(Enums.TipoTransaccion tipoTransaccion,
+                                                 LocalDateTime despuesDeFecha, Integer despuesDeId, int limite);
+
+    /**
+     * Página de transacciones de un turno ordenadas por (fechaHora, id).
+     */
+    List<ResumenTransaccion> buscarPaginaPorTurno(String codigoTurno,
+                                                  LocalDateTime despuesDeFecha, Integer despuesDeId, int limite);
+
+    /**
+     * Agrupa en la base de datos las transacciones del rango por caja y tipo de transacción,
+     * con cantidad, suma, mínimo y máximo del monto. Si codigoCaja es null se incluyen todas las cajas.
+     */
+    List<TotalCaja> totalesPorCaja(String codigoCaja, LocalDateTime desde, LocalDateTime hasta);
+
+    /**
+     * Suma en una sola agregación el movimiento neto (depósitos menos ahorros) de cada turno.
+     * Los turnos sin movimientos no aparecen en el resultado.
+     */
+    Map<String, BigDecimal> sumarMovimientosPorTurno(Collection<String> codigosTurno);
+}
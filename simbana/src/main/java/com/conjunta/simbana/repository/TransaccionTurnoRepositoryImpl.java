@@ -0,0 +1,170 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.TotalCaja;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ExecutableFindOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class TransaccionTurnoRepositoryImpl implements TransaccionTurnoRepositoryCustom {
+
+    private static final int TAMANO_LOTE_CURSOR = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public TransaccionTurnoRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<TransaccionTurno> transacciones, boolean ordenado) {
+        if (transacciones.isEmpty()) {
+            return List.of();
+        }
+
+        // La inserción masiva no inicia la versión como insert(); se inicia aquí para que coincida.
+        for (TransaccionTurno transaccion : transacciones) {
+            if (transaccion.getVersion() == null) {
+                transaccion.setVersion(0L);
+            }
+        }
+        BulkOperations.BulkMode modo = ordenado ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED;
+        try {
+            mongoTemplate.bulkOps(modo, TransaccionTurno.class)
+                    .insert(transacciones)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            List<Integer> fallidas = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                fallidas.add(error.getIndex());
+            }
+            if (ordenado && !fallidas.isEmpty()) {
+                int primera = fallidas.get(0);
+                return IntStream.range(primera, transacciones.size()).boxed().toList();
+            }
+            return fallidas;
+        }
+    }
+
+    @Override
+    public Stream<ResumenTransaccion> recorrerPorRango(String codigoCaja, String codigoTurno,
+                                                       LocalDateTime desde, LocalDateTime hasta,
+                                                       LocalDateTime despuesDeFecha, Integer despuesDeId) {
+        List<Criteria> condiciones = new ArrayList<>();
+        if (codigoTurno != null) {
+            condiciones.add(Criteria.where("codigoTurno").is(codigoTurno));
+        }
+        if (codigoCaja != null) {
+            condiciones.add(Criteria.where("codigoCaja").is(codigoCaja));
+        }
+        condiciones.add(Criteria.where("fechaHora").gte(desde).lte(hasta));
+        if (despuesDeFecha != null) {
+            condiciones.add(new Criteria().orOperator(
+                    Criteria.where("fechaHora").gt(despuesDeFecha),
+                    Criteria.where("fechaHora").is(despuesDeFecha).and("id").gt(despuesDeId)));
+        }
+
+        Query query = Query.query(new Criteria().andOperator(condiciones))
+                .with(Sort.by(Sort.Direction.ASC, "fechaHora", "id"));
+        query.cursorBatchSize(TAMANO_LOTE_CURSOR);
+        return resumenes().matching(query).stream();
+    }
+
+    @Override
+    public List<ResumenTransaccion> buscarPaginaPorTipo(Enums.TipoTransaccion tipoTransaccion,
+                                                        LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return resumenes()
+                .matching(ConsultasTransaccion.paginaPorTipo(tipoTransaccion, despuesDeFecha, despuesDeId, limite))
+                .all();
+    }
+
+    @Override
+    public List<ResumenTransaccion> buscarPaginaPorTurno(String codigoTurno,
+                                                         LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return resumenes()
+                .matching(ConsultasTransaccion.paginaPorTurno(codigoTurno, despuesDeFecha, despuesDeId, limite))
+                .all();
+    }
+
+    // Con un record como tipo de resultado Spring Data limita la consulta a los campos del record
+    // y lo construye directamente desde el documento.
+    private ExecutableFindOperation.FindWithQuery<ResumenTransaccion> resumenes() {
+        return mongoTemplate.query(TransaccionTurno.class).as(ResumenTransaccion.class);
+    }
+
+    @Override
+    public List<TotalCaja> totalesPorCaja(String codigoCaja, LocalDateTime desde, LocalDateTime hasta) {
+        Criteria criteria = Criteria.where("fechaHora").gte(desde).lte(hasta);
+        if (codigoCaja != null) {
+            criteria = Criteria.where("codigoCaja").is(codigoCaja).and("fechaHora").gte(desde).lte(hasta);
+        }
+
+        // montoTotal se guarda como Decimal128 y Mongo lo suma directamente; $convert solo cambia los
+        // documentos que aún lo tienen como texto porque no pasaron por MontosDecimal128Migracion.
+        TypedAggregation<TransaccionTurno> agregacion = Aggregation.newAggregation(TransaccionTurno.class,
+                Aggregation.match(criteria),
+                Aggregation.project("codigoCaja", "tipoTransaccion")
+                        .and(ConvertOperators.valueOf("montoTotal").convertToDecimal()).as("monto"),
+                Aggregation.group("codigoCaja", "tipoTransaccion")
+                        .count().as("cantidad")
+                        .sum("monto").as("total")
+                        .min("monto").as("minimo")
+                        .max("monto").as("maximo"),
+                Aggregation.project("codigoCaja", "tipoTransaccion", "cantidad", "total", "minimo", "maximo")
+                        .andExclude("_id"),
+                Aggregation.sort(Sort.Direction.ASC, "codigoCaja", "tipoTransaccion"));
+
+        return mongoTemplate.aggregate(agregacion, TotalCaja.class).getMappedResults();
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumarMovimientosPorTurno(Collection<String> codigosTurno) {
+        AggregationExpression monto = ConvertOperators.valueOf("montoTotal").convertToDecimal();
+        TypedAggregation<TransaccionTurno> agregacion = Aggregation.newAggregation(TransaccionTurno.class,
+                Aggregation.match(Criteria.where("codigoTurno").in(codigosTurno)
+                        .and("tipoTransaccion").in(Enums.TipoTransaccion.DEPOSITO.name(),
+                                                   Enums.TipoTransaccion.AHORRO.name())),
+                Aggregation.project("codigoTurno")
+                        .and(ConditionalOperators
+                                .when(Criteria.where("tipoTransaccion").is(Enums.TipoTransaccion.AHORRO.name()))
+                                .then(ArithmeticOperators.Multiply.valueOf(monto).multiplyBy(-1))
+                                .otherwiseValueOf(monto))
+                        .as("movimiento"),
+                Aggregation.group("codigoTurno").sum("movimiento").as("total"));
+
+        Map<String, BigDecimal> totales = new HashMap<>();
+        for (Document fila : mongoTemplate.aggregate(agregacion, Document.class).getMappedResults()) {
+            Object total = fila.get("total");
+            totales.put(fila.getString("_id"), total instanceof Decimal128 decimal
+                    ? decimal.bigDecimalValue()
+                    : new BigDecimal(String.valueOf(total)));
+        }
+        return totales;
+    }
+}
@@ -0,0 +1,13 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.TransaccionTurno;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Versión reactiva de {@link TransaccionTurnoRepository}, usada por el perfil "reactivo".
+ */
+@Repository
+public interface TransaccionTurnoRepositoryReactivo extends ReactiveMongoRepository<TransaccionTurno, Integer>,
+        TransaccionTurnoRepositoryReactivoCustom {
+}
@@ -0,0 +1,16 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public interface TransaccionTurnoRepositoryReactivoCustom {
+
+    Flux<TransaccionTurno> buscarPaginaPorTipo(Enums.TipoTransaccion tipoTransaccion,
+                                               LocalDateTime despuesDeFecha, Integer despuesDeId, int limite);
+
+    Flux<TransaccionTurno> buscarPaginaPorTurno(String codigoTurno,
+                                                LocalDateTime despuesDeFecha, Integer despuesDeId, int limite);
+}
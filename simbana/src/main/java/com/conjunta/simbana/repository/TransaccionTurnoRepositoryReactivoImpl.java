@@ -0,0 +1,33 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public class TransaccionTurnoRepositoryReactivoImpl implements TransaccionTurnoRepositoryReactivoCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public TransaccionTurnoRepositoryReactivoImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Flux<TransaccionTurno> buscarPaginaPorTipo(Enums.TipoTransaccion tipoTransaccion,
+                                                      LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return reactiveMongoTemplate.find(
+                ConsultasTransaccion.paginaPorTipo(tipoTransaccion, despuesDeFecha, despuesDeId, limite),
+                TransaccionTurno.class);
+    }
+
+    @Override
+    public Flux<TransaccionTurno> buscarPaginaPorTurno(String codigoTurno,
+                                                       LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return reactiveMongoTemplate.find(
+                ConsultasTransaccion.paginaPorTurno(codigoTurno, despuesDeFecha, despuesDeId, limite),
+                TransaccionTurno.class);
+    }
+}
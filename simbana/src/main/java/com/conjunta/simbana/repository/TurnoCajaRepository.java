@@ -9,10 +9,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface TurnoCajaRepository extends MongoRepository<TurnoCaja, String> {
+public interface TurnoCajaRepository extends MongoRepository<TurnoCaja, String>, TurnoCajaRepositoryCustom {
     List<TurnoCaja> findByCodigoCaja(String codigoCaja);
     List<TurnoCaja> findByCodigoCajero(String codigoCajero);
     List<TurnoCaja> findByEstado(Enums.EstadoTurno estado);
+    List<TurnoCaja> findByCodigoCajaAndEstado(String codigoCaja, Enums.EstadoTurno estado);
+    List<TurnoCaja> findByCodigoCajeroAndEstado(String codigoCajero, Enums.EstadoTurno estado);
+    boolean existsByCodigoCajaAndEstado(String codigoCaja, Enums.EstadoTurno estado);
+    boolean existsByCodigoCajeroAndEstado(String codigoCajero, Enums.EstadoTurno estado);
     List<TurnoCaja> findByInicioTurnoBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin);
     List<TurnoCaja> findByFinTurnoBetweenAndEstado(LocalDateTime fechaInicio, LocalDateTime fechaFin, Enums.EstadoTurno estado);
     List<TurnoCaja> findTop1ByCodigoCajaOrderByInicioTurnoDesc(String codigoCaja);
@@ -0,0 +1,64 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.SaldoTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface TurnoCajaRepositoryCustom {
+
+    /**
+     * Suma el monto al saldo y los billetes al inventario del turno en una sola operación atómica.
+     * Retorna false si el turno no existe, no está abierto o no tiene saldo materializado.
+     */
+    boolean acreditarSaldo(String codigoTurno, BigDecimal monto, int[] billetes);
+
+    /**
+     * Resta el monto del saldo y los billetes del inventario solo si el turno está abierto,
+     * el saldo alcanza y hay billetes suficientes de cada denominación. La condición y la
+     * actualización se evalúan en la misma operación, por lo que dos retiros concurrentes
+     * no pueden pasar ambos con el mismo saldo.
+     */
+    boolean debitarSaldo(String codigoTurno, BigDecimal monto, int[] billetes);
+
+    /**
+     * Aplica el movimiento neto de un lote de transacciones sobre un turno abierto, siempre que
+     * el saldo y cada denominación sean al menos los requeridos para que el lote sea válido.
+     */
+    boolean aplicarMovimientoLote(String codigoTurno, BigDecimal delta, BigDecimal saldoRequerido,
+                                  int[] deltaBilletes, int[] billetesRequeridos);
+
+    /**
+     * Fija el saldo y el inventario de un turno que aún no los tiene materializados (turnos
+     * anteriores a estos campos). No hace nada si el saldo ya existe.
+     */
+    boolean inicializarSaldo(String codigoTurno, BigDecimal saldo, int[] inventarioBilletes);
+
+    /**
+     * Monto inicial y saldo actual del turno, leyendo solo esos dos campos.
+     */
+    Optional<SaldoTurno> buscarSaldo(String codigoTurno);
+
+    /**
+     * Página de turnos abiertos de una caja ordenados por (inicioTurno, codigoTurno), empezando
+     * después del turno indicado.
+     */
+    List<TurnoCaja> buscarAbiertosPorCaja(String codigoCaja, LocalDateTime despuesDeInicio,
+                                          String despuesDeCodigo, int limite);
+
+    /**
+     * Página de turnos abiertos de un cajero ordenados por (inicioTurno, codigoTurno).
+     */
+    List<TurnoCaja> buscarAbiertosPorCajero(String codigoCajero, LocalDateTime despuesDeInicio,
+                                            String despuesDeCodigo, int limite);
+
+    /**
+     * Cierra con una escritura masiva los turnos indicados que sigan abiertos, todos con la misma
+     * fecha de fin. Retorna cuántos turnos se cerraron.
+     */
+    long cerrarLote(Map<String, BigDecimal> montosFinales, LocalDateTime finTurno);
+}
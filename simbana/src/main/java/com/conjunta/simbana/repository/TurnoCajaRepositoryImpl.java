@@ -0,0 +1,104 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.SaldoTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class TurnoCajaRepositoryImpl implements TurnoCajaRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public TurnoCajaRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean acreditarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return mongoTemplate.updateFirst(ConsultasTurno.consultaAcreditar(codigoTurno),
+                ConsultasTurno.actualizacionAcreditar(monto, billetes), TurnoCaja.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean debitarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return mongoTemplate.updateFirst(ConsultasTurno.consultaDebitar(codigoTurno, monto, billetes),
+                ConsultasTurno.actualizacionDebitar(monto, billetes), TurnoCaja.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean aplicarMovimientoLote(String codigoTurno, BigDecimal delta, BigDecimal saldoRequerido,
+                                         int[] deltaBilletes, int[] billetesRequeridos) {
+        Criteria criteria = ConsultasTurno.turnoAbierto(codigoTurno)
+                .and("saldoActual").gte(new Decimal128(saldoRequerido));
+        Update update = new Update().inc("saldoActual", new Decimal128(delta)).inc(ConsultasTurno.VERSION, 1);
+        for (int i = 0; i < deltaBilletes.length; i++) {
+            if (billetesRequeridos[i] > 0) {
+                criteria.and(ConsultasTurno.INVENTARIO + "." + i).gte(billetesRequeridos[i]);
+            }
+            if (deltaBilletes[i] != 0) {
+                update.inc(ConsultasTurno.INVENTARIO + "." + i, deltaBilletes[i]);
+            }
+        }
+        return mongoTemplate.updateFirst(Query.query(criteria), update, TurnoCaja.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean inicializarSaldo(String codigoTurno, BigDecimal saldo, int[] inventarioBilletes) {
+        Query query = Query.query(Criteria.where("codigoTurno").is(codigoTurno)
+                .and("saldoActual").exists(false));
+        Update update = new Update()
+                .set("saldoActual", new Decimal128(saldo))
+                .set(ConsultasTurno.INVENTARIO, inventarioBilletes)
+                .inc(ConsultasTurno.VERSION, 1);
+        return mongoTemplate.updateFirst(query, update, TurnoCaja.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public Optional<SaldoTurno> buscarSaldo(String codigoTurno) {
+        return mongoTemplate.query(TurnoCaja.class)
+                .as(SaldoTurno.class)
+                .matching(Query.query(Criteria.where("codigoTurno").is(codigoTurno)))
+                .one();
+    }
+
+    @Override
+    public List<TurnoCaja> buscarAbiertosPorCaja(String codigoCaja, LocalDateTime despuesDeInicio,
+                                                 String despuesDeCodigo, int limite) {
+        return buscarAbiertos("codigoCaja", codigoCaja, despuesDeInicio, despuesDeCodigo, limite);
+    }
+
+    @Override
+    public List<TurnoCaja> buscarAbiertosPorCajero(String codigoCajero, LocalDateTime despuesDeInicio,
+                                                   String despuesDeCodigo, int limite) {
+        return buscarAbiertos("codigoCajero", codigoCajero, despuesDeInicio, despuesDeCodigo, limite);
+    }
+
+    private List<TurnoCaja> buscarAbiertos(String campo, String valor, LocalDateTime despuesDeInicio,
+                                           String despuesDeCodigo, int limite) {
+        return mongoTemplate.find(ConsultasTurno.consultaAbiertos(campo, valor, despuesDeInicio, despuesDeCodigo, limite),
+                TurnoCaja.class);
+    }
+
+    @Override
+    public long cerrarLote(Map<String, BigDecimal> montosFinales, LocalDateTime finTurno) {
+        if (montosFinales.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TurnoCaja.class);
+        for (Map.Entry<String, BigDecimal> cierre : montosFinales.entrySet()) {
+            operaciones.updateOne(Query.query(ConsultasTurno.turnoAbierto(cierre.getKey())),
+                    ConsultasTurno.actualizacionCierre(cierre.getValue(), finTurno));
+        }
+        return operaciones.execute().getModifiedCount();
+    }
+}
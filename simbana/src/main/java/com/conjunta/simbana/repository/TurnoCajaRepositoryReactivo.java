@@ -0,0 +1,19 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versión reactiva de {@link TurnoCajaRepository}, usada por el perfil "reactivo".
+ */
+@Repository
+public interface TurnoCajaRepositoryReactivo extends ReactiveMongoRepository<TurnoCaja, String>,
+        TurnoCajaRepositoryReactivoCustom {
+
+    Mono<Boolean> existsByCodigoCajaAndEstado(String codigoCaja, Enums.EstadoTurno estado);
+
+    Mono<Boolean> existsByCodigoCajeroAndEstado(String codigoCajero, Enums.EstadoTurno estado);
+}
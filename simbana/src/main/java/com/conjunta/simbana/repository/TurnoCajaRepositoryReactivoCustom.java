@@ -0,0 +1,29 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.TurnoCaja;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Operaciones de {@link TurnoCajaRepositoryCustom} con las mismas condiciones, sin bloquear.
+ */
+public interface TurnoCajaRepositoryReactivoCustom {
+
+    Mono<Boolean> acreditarSaldo(String codigoTurno, BigDecimal monto, int[] billetes);
+
+    Mono<Boolean> debitarSaldo(String codigoTurno, BigDecimal monto, int[] billetes);
+
+    /**
+     * Cierra el turno solo si sigue abierto; retorna false si otro proceso lo cerró antes.
+     */
+    Mono<Boolean> cerrar(String codigoTurno, BigDecimal montoFinal, LocalDateTime finTurno);
+
+    Flux<TurnoCaja> buscarAbiertosPorCaja(String codigoCaja, LocalDateTime despuesDeInicio,
+                                          String despuesDeCodigo, int limite);
+
+    Flux<TurnoCaja> buscarAbiertosPorCajero(String codigoCajero, LocalDateTime despuesDeInicio,
+                                            String despuesDeCodigo, int limite);
+}
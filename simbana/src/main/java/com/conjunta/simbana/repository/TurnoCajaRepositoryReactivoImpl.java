@@ -0,0 +1,56 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.model.TurnoCaja;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TurnoCajaRepositoryReactivoImpl implements TurnoCajaRepositoryReactivoCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public TurnoCajaRepositoryReactivoImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<Boolean> acreditarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return reactiveMongoTemplate.updateFirst(ConsultasTurno.consultaAcreditar(codigoTurno),
+                        ConsultasTurno.actualizacionAcreditar(monto, billetes), TurnoCaja.class)
+                .map(resultado -> resultado.getModifiedCount() == 1);
+    }
+
+    @Override
+    public Mono<Boolean> debitarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return reactiveMongoTemplate.updateFirst(ConsultasTurno.consultaDebitar(codigoTurno, monto, billetes),
+                        ConsultasTurno.actualizacionDebitar(monto, billetes), TurnoCaja.class)
+                .map(resultado -> resultado.getModifiedCount() == 1);
+    }
+
+    @Override
+    public Mono<Boolean> cerrar(String codigoTurno, BigDecimal montoFinal, LocalDateTime finTurno) {
+        return reactiveMongoTemplate.updateFirst(Query.query(ConsultasTurno.turnoAbierto(codigoTurno)),
+                        ConsultasTurno.actualizacionCierre(montoFinal, finTurno), TurnoCaja.class)
+                .map(resultado -> resultado.getModifiedCount() == 1);
+    }
+
+    @Override
+    public Flux<TurnoCaja> buscarAbiertosPorCaja(String codigoCaja, LocalDateTime despuesDeInicio,
+                                                 String despuesDeCodigo, int limite) {
+        return reactiveMongoTemplate.find(
+                ConsultasTurno.consultaAbiertos("codigoCaja", codigoCaja, despuesDeInicio, despuesDeCodigo, limite),
+                TurnoCaja.class);
+    }
+
+    @Override
+    public Flux<TurnoCaja> buscarAbiertosPorCajero(String codigoCajero, LocalDateTime despuesDeInicio,
+                                                   String despuesDeCodigo, int limite) {
+        return reactiveMongoTemplate.find(
+                ConsultasTurno.consultaAbiertos("codigoCajero", codigoCajero, despuesDeInicio, despuesDeCodigo, limite),
+                TurnoCaja.class);
+    }
+}
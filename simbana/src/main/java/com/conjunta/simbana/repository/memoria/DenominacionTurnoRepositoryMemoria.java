@@ -0,0 +1,86 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.repository.DenominacionTurnoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Detalle de denominaciones en memoria. Solo lo consultan las transacciones anteriores a la
+ * migración a billetes embebidos, por eso normalmente está vacío.
+ */
+@Repository
+@Profile("memoria")
+public class DenominacionTurnoRepositoryMemoria extends RepositorioMemoria<DenominacionTransaccion, Integer>
+        implements DenominacionTurnoRepository {
+
+    private final IndiceMemoria<Integer, DenominacionTransaccion, Integer> porTransaccion =
+            indice(DenominacionTransaccion::getTransaccionId);
+    private final IndiceMemoria<Enums.Denominacion, DenominacionTransaccion, Integer> porBillete =
+            indice(DenominacionTransaccion::getBillete);
+
+    @Override
+    protected Integer idDe(DenominacionTransaccion documento) {
+        return documento.getId();
+    }
+
+    @Override
+    protected Long versionDe(DenominacionTransaccion documento) {
+        return documento.getVersion();
+    }
+
+    @Override
+    protected void asignarVersion(DenominacionTransaccion documento, Long version) {
+        documento.setVersion(version);
+    }
+
+    @Override
+    protected boolean versionado() {
+        return true;
+    }
+
+    @Override
+    protected DenominacionTransaccion copiar(DenominacionTransaccion documento) {
+        DenominacionTransaccion copia = new DenominacionTransaccion(documento.getId());
+        copia.setTransaccionId(documento.getTransaccionId());
+        copia.setBillete(documento.getBillete());
+        copia.setCantidadBilletes(documento.getCantidadBilletes());
+        copia.setMonto(documento.getMonto());
+        copia.setVersion(documento.getVersion());
+        copia.setTransaccionTurno(documento.getTransaccionTurno());
+        return copia;
+    }
+
+    @Override
+    public List<DenominacionTransaccion> findByTransaccionId(Integer transaccionId) {
+        return buscarPor(porTransaccion, transaccionId, denominacion -> true);
+    }
+
+    @Override
+    public List<DenominacionTransaccion> findByBillete(Enums.Denominacion billete) {
+        return buscarPor(porBillete, billete, denominacion -> true);
+    }
+
+    @Override
+    public List<DenominacionTransaccion> findByTransaccionIdAndBillete(Integer transaccionId,
+                                                                       Enums.Denominacion billete) {
+        return buscarPor(porTransaccion, transaccionId, denominacion -> denominacion.getBillete() == billete);
+    }
+
+    @Override
+    public List<DenominacionTransaccion> findByTransaccionIdAndCantidadBilletesGreaterThan(Integer transaccionId,
+                                                                                           Integer cantidad) {
+        return buscarPor(porTransaccion, transaccionId, denominacion -> denominacion.getCantidadBilletes() != null
+                && denominacion.getCantidadBilletes() > cantidad);
+    }
+
+    @Override
+    public List<DenominacionTransaccion> findByTransaccionIdAndMontoGreaterThan(Integer transaccionId, BigDecimal monto) {
+        return buscarPor(porTransaccion, transaccionId, denominacion -> denominacion.getMonto() != null
+                && denominacion.getMonto().compareTo(monto) > 0);
+    }
+}
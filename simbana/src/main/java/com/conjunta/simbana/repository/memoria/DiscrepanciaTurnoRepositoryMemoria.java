@@ -0,0 +1,74 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.repository.DiscrepanciaTurnoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+@Repository
+@Profile("memoria")
+public class DiscrepanciaTurnoRepositoryMemoria extends RepositorioMemoria<DiscrepanciaTurno, String>
+        implements DiscrepanciaTurnoRepository {
+
+    private static final Comparator<DiscrepanciaTurno> POR_FECHA =
+            Comparator.comparing(DiscrepanciaTurno::getFechaCierre, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(DiscrepanciaTurno::getCodigoTurno);
+
+    private final IndiceMemoria<String, DiscrepanciaTurno, String> porCaja = indice(DiscrepanciaTurno::getCodigoCaja);
+
+    @Override
+    protected String idDe(DiscrepanciaTurno documento) {
+        return documento.getCodigoTurno();
+    }
+
+    @Override
+    protected DiscrepanciaTurno copiar(DiscrepanciaTurno documento) {
+        DiscrepanciaTurno copia = new DiscrepanciaTurno(documento.getCodigoTurno());
+        copia.setCodigoCaja(documento.getCodigoCaja());
+        copia.setCodigoCajero(documento.getCodigoCajero());
+        copia.setMontoFinal(documento.getMontoFinal());
+        copia.setMontoEsperado(documento.getMontoEsperado());
+        copia.setDiferencia(documento.getDiferencia());
+        copia.setFechaCierre(documento.getFechaCierre());
+        return copia;
+    }
+
+    @Override
+    public int insertarNuevas(List<DiscrepanciaTurno> discrepancias) {
+        int insertadas = 0;
+        for (DiscrepanciaTurno discrepancia : discrepancias) {
+            try {
+                guardar(discrepancia, true);
+                insertadas++;
+            } catch (DuplicateKeyException e) {
+                // Igual que en Mongo: un reintento no duplica la discrepancia.
+            }
+        }
+        return insertadas;
+    }
+
+    @Override
+    public List<DiscrepanciaTurno> buscarPagina(String codigoCaja, LocalDateTime desde, LocalDateTime hasta,
+                                                LocalDateTime despuesDeFecha, String despuesDeTurno, int limite) {
+        Predicate<DiscrepanciaTurno> enRango = discrepancia -> discrepancia.getFechaCierre() != null
+                && !discrepancia.getFechaCierre().isBefore(desde) && !discrepancia.getFechaCierre().isAfter(hasta);
+        List<DiscrepanciaTurno> discrepancias = codigoCaja != null
+                ? buscarPor(porCaja, codigoCaja, enRango)
+                : buscar(enRango);
+        return ordenar(discrepancias, POR_FECHA).stream()
+                .filter(discrepancia -> despuesDeFecha == null || despuesDe(discrepancia, despuesDeFecha, despuesDeTurno))
+                .limit(limite)
+                .toList();
+    }
+
+    private static boolean despuesDe(DiscrepanciaTurno discrepancia, LocalDateTime fecha, String codigoTurno) {
+        int comparacion = discrepancia.getFechaCierre().compareTo(fecha);
+        return comparacion > 0 || (comparacion == 0 && discrepancia.getCodigoTurno().compareTo(codigoTurno) > 0);
+    }
+}
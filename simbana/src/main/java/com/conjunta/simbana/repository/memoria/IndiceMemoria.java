@@ -0,0 +1,46 @@
+package com.conjunta.simbana.repository.memoria;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Índice secundario en memoria: para cada valor del campo guarda los IDs de los documentos que
+ * lo tienen. Puede quedar momentáneamente desfasado respecto al documento durante una escritura,
+ * por eso quien consulta siempre vuelve a verificar el campo sobre el documento leído.
+ */
+final class IndiceMemoria<K, T, ID> {
+
+    private final Function<T, K> campo;
+    private final ConcurrentMap<K, Set<ID>> entradas = new ConcurrentHashMap<>();
+
+    IndiceMemoria(Function<T, K> campo) {
+        this.campo = campo;
+    }
+
+    K valor(T documento) {
+        return campo.apply(documento);
+    }
+
+    void agregar(T documento, ID id) {
+        K clave = campo.apply(documento);
+        if (clave != null) {
+            entradas.computeIfAbsent(clave, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    void quitar(T documento, ID id) {
+        K clave = campo.apply(documento);
+        if (clave != null) {
+            entradas.computeIfPresent(clave, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    Set<ID> ids(K clave) {
+        return clave != null ? entradas.getOrDefault(clave, Set.of()) : Set.of();
+    }
+}
@@ -0,0 +1,327 @@
+package com.conjunta.simbana.repository.memoria;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base de los repositorios del perfil "memoria". Los documentos se guardan en un mapa concurrente
+ * y cada escritura sobre un documento es atómica (compute sobre su clave, que se aplica una sola
+ * vez), igual que una actualización de un solo documento en Mongo. Como Mongo, entrega y recibe
+ * copias: un documento leído y modificado no cambia lo guardado hasta que se vuelve a guardar.
+ * Las consultas sin orden explícito retornan los documentos ordenados por ID. Los tipos con versión
+ * la manejan como @Version de Spring Data: insert la inicia en 0, save solo reemplaza si la versión
+ * coincide con la guardada y la incrementa, y cada actualización condicional también la incrementa.
+ */
+abstract class RepositorioMemoria<T, ID extends Comparable<ID>> implements MongoRepository<T, ID> {
+
+    protected final ConcurrentMap<ID, T> documentos = new ConcurrentHashMap<>();
+    private final List<IndiceMemoria<?, T, ID>> indices = new ArrayList<>();
+
+    protected abstract ID idDe(T documento);
+
+    protected abstract T copiar(T documento);
+
+    /**
+     * Versión del documento, o null si todavía no se guardó. Solo se usa si {@link #versionado()}.
+     */
+    protected Long versionDe(T documento) {
+        return null;
+    }
+
+    protected void asignarVersion(T documento, Long version) {
+    }
+
+    protected boolean versionado() {
+        return false;
+    }
+
+    protected <K> IndiceMemoria<K, T, ID> indice(Function<T, K> campo) {
+        IndiceMemoria<K, T, ID> indice = new IndiceMemoria<>(campo);
+        indices.add(indice);
+        return indice;
+    }
+
+    /**
+     * Actualización condicional atómica de un documento existente, equivalente a un updateFirst.
+     * El cambio recibe una copia del documento y retorna el nuevo estado, o null si la condición
+     * no se cumple. Retorna true si el documento se modificó.
+     */
+    protected boolean actualizar(ID id, UnaryOperator<T> cambio) {
+        boolean[] modificado = {false};
+        documentos.computeIfPresent(id, (clave, actual) -> {
+            T nuevo = cambio.apply(copiar(actual));
+            if (nuevo == null) {
+                return actual;
+            }
+            if (versionado()) {
+                // Como un $inc sobre version: si el documento no tenía versión queda en 1.
+                Long version = versionDe(actual);
+                asignarVersion(nuevo, version == null ? 1L : version + 1);
+            }
+            reindexar(clave, actual, nuevo);
+            modificado[0] = true;
+            return nuevo;
+        });
+        return modificado[0];
+    }
+
+    /**
+     * Inserta o reemplaza un documento. Las subclases que tienen restricciones de unicidad
+     * sobrescriben este método para validarlas. Un documento versionado sin versión se inserta,
+     * igual que en Spring Data.
+     */
+    protected T guardar(T documento, boolean soloNuevo) {
+        ID id = idDe(documento);
+        if (id == null) {
+            throw new IllegalArgumentException("El documento debe tener ID para guardarse en memoria");
+        }
+        Long versionLeida = versionado() ? versionDe(documento) : null;
+        boolean nuevo = soloNuevo || (versionado() && versionLeida == null);
+        Long versionNueva = null;
+        if (versionado()) {
+            versionNueva = !nuevo ? versionLeida + 1 : versionLeida != null ? versionLeida : 0L;
+        }
+        T copia = copiar(documento);
+        if (versionado()) {
+            asignarVersion(copia, versionNueva);
+        }
+        documentos.compute(id, (clave, actual) -> {
+            if (nuevo && actual != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error index: _id_ dup key: " + clave);
+            }
+            if (versionado() && !nuevo && (actual == null || !versionLeida.equals(versionDe(actual)))) {
+                throw new OptimisticLockingFailureException("No se puede guardar el documento " + clave +
+                        " con versión " + versionLeida + ": se modificó desde que se leyó");
+            }
+            reindexar(clave, actual, copia);
+            return copia;
+        });
+        if (versionado()) {
+            asignarVersion(documento, versionNueva);
+        }
+        return documento;
+    }
+
+    private void reindexar(ID id, T anterior, T nuevo) {
+        for (IndiceMemoria<?, T, ID> indice : indices) {
+            if (anterior != null) {
+                indice.quitar(anterior, id);
+            }
+            if (nuevo != null) {
+                indice.agregar(nuevo, id);
+            }
+        }
+    }
+
+    protected <K> List<T> buscarPor(IndiceMemoria<K, T, ID> indice, K valor, Predicate<T> filtro) {
+        List<T> resultado = new ArrayList<>();
+        for (ID id : indice.ids(valor).stream().sorted().toList()) {
+            T documento = documentos.get(id);
+            if (documento != null && valor.equals(indice.valor(documento)) && filtro.test(documento)) {
+                resultado.add(copiar(documento));
+            }
+        }
+        return resultado;
+    }
+
+    protected List<T> buscar(Predicate<T> filtro) {
+        List<T> resultado = new ArrayList<>();
+        for (T documento : documentos.values()) {
+            if (filtro.test(documento)) {
+                resultado.add(copiar(documento));
+            }
+        }
+        resultado.sort(Comparator.comparing(this::idDe));
+        return resultado;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        guardar(entity, true);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> guardados = new ArrayList<>();
+        for (S entity : entities) {
+            guardados.add(insert(entity));
+        }
+        return guardados;
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        guardar(entity, false);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> guardados = new ArrayList<>();
+        for (S entity : entities) {
+            guardados.add(save(entity));
+        }
+        return guardados;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        T documento = documentos.get(id);
+        return documento != null ? Optional.of(copiar(documento)) : Optional.empty();
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return documentos.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return buscar(documento -> true);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        List<T> resultado = new ArrayList<>();
+        for (ID id : ids) {
+            findById(id).ifPresent(resultado::add);
+        }
+        return resultado;
+    }
+
+    @Override
+    public long count() {
+        return documentos.size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        documentos.computeIfPresent(id, (clave, actual) -> {
+            reindexar(clave, actual, null);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idDe(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        for (ID id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (ID id : documentos.keySet()) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> resultado = findAll();
+        resultado.sort(comparador(sort));
+        return resultado;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> todos = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(todos);
+        }
+        int desde = (int) Math.min(pageable.getOffset(), todos.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), todos.size());
+        return new PageImpl<>(new ArrayList<>(todos.subList(desde, hasta)), pageable, todos.size());
+    }
+
+    // Orden por propiedades como lo hace Mongo: los valores nulos quedan primero en orden ascendente.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Comparator<T> comparador(Sort sort) {
+        Comparator<T> comparador = (a, b) -> 0;
+        for (Sort.Order orden : sort) {
+            Comparator<T> porPropiedad = Comparator.comparing(
+                    documento -> (Comparable) new BeanWrapperImpl(documento).getPropertyValue(orden.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparador = comparador.thenComparing(orden.isAscending() ? porPropiedad : porPropiedad.reversed());
+        }
+        return comparador;
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw consultaPorEjemploNoSoportada();
+    }
+
+    // La aplicación no usa consultas por ejemplo; se rechazan en lugar de aproximarlas.
+    private UnsupportedOperationException consultaPorEjemploNoSoportada() {
+        return new UnsupportedOperationException("Las consultas por ejemplo no están disponibles en el perfil memoria");
+    }
+
+    protected static <E> List<E> ordenar(Collection<E> elementos, Comparator<E> comparador) {
+        List<E> resultado = new ArrayList<>(elementos);
+        resultado.sort(comparador);
+        return resultado;
+    }
+}
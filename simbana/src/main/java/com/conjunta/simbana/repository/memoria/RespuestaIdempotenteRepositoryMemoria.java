@@ -0,0 +1,57 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.model.RespuestaIdempotente;
+import com.conjunta.simbana.repository.RespuestaIdempotenteRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuestas idempotentes en memoria. No hay índice TTL: las vencidas las descarta
+ * RespuestasIdempotentes al leerlas, igual que las que Mongo aún no ha eliminado.
+ */
+@Repository
+@Profile("memoria")
+public class RespuestaIdempotenteRepositoryMemoria extends RepositorioMemoria<RespuestaIdempotente, String>
+        implements RespuestaIdempotenteRepository {
+
+    @Override
+    protected String idDe(RespuestaIdempotente documento) {
+        return documento.getId();
+    }
+
+    @Override
+    protected RespuestaIdempotente copiar(RespuestaIdempotente documento) {
+        RespuestaIdempotente copia = new RespuestaIdempotente(documento.getId());
+        copia.setHuella(documento.getHuella());
+        copia.setCompletada(documento.isCompletada());
+        copia.setEstado(documento.getEstado());
+        copia.setTipoContenido(documento.getTipoContenido());
+        copia.setCuerpo(documento.getCuerpo());
+        copia.setCreada(documento.getCreada());
+        copia.setVigenteHasta(documento.getVigenteHasta());
+        return copia;
+    }
+
+    @Override
+    public boolean tomarReserva(RespuestaIdempotente reserva, LocalDateTime ahora, LocalDateTime creadaAntesDe) {
+        return actualizar(reserva.getId(), actual -> {
+            boolean abandonada = !actual.isCompletada() && actual.getVigenteHasta() != null
+                    && actual.getVigenteHasta().isBefore(ahora);
+            boolean vencida = actual.getCreada() != null && actual.getCreada().isBefore(creadaAntesDe);
+            return abandonada || vencida ? copiar(reserva) : null;
+        });
+    }
+
+    @Override
+    public boolean retenerReserva(String id, LocalDateTime vigenteHasta) {
+        return actualizar(id, actual -> {
+            if (actual.isCompletada()) {
+                return null;
+            }
+            actual.setVigenteHasta(vigenteHasta);
+            return actual;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.model.Secuencia;
+import com.conjunta.simbana.repository.SecuenciaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("memoria")
+public class SecuenciaRepositoryMemoria extends RepositorioMemoria<Secuencia, String> implements SecuenciaRepository {
+
+    @Override
+    protected String idDe(Secuencia documento) {
+        return documento.getNombre();
+    }
+
+    @Override
+    protected Secuencia copiar(Secuencia documento) {
+        Secuencia copia = new Secuencia(documento.getNombre());
+        copia.setValor(documento.getValor());
+        return copia;
+    }
+
+    @Override
+    public long reservarBloque(String nombre, int tamano) {
+        Secuencia secuencia = documentos.compute(nombre, (clave, actual) -> {
+            Secuencia nueva = new Secuencia(nombre);
+            nueva.setValor((actual != null ? actual.getValor() : 0) + tamano);
+            return nueva;
+        });
+        return secuencia.getValor();
+    }
+}
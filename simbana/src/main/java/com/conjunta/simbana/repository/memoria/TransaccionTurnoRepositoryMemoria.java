@@ -0,0 +1,232 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.TotalCaja;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Transacciones en memoria, con índices por turno, caja y tipo. Las páginas y los recorridos
+ * siguen el mismo orden (fechaHora, id) que las consultas de Mongo, y los totales por caja se
+ * calculan con las mismas reglas que la agregación.
+ */
+@Repository
+@Profile("memoria")
+public class TransaccionTurnoRepositoryMemoria extends RepositorioMemoria<TransaccionTurno, Integer>
+        implements TransaccionTurnoRepository {
+
+    private static final Comparator<TransaccionTurno> POR_FECHA =
+            Comparator.comparing(TransaccionTurno::getFechaHora, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(TransaccionTurno::getId);
+
+    private final IndiceMemoria<String, TransaccionTurno, Integer> porTurno = indice(TransaccionTurno::getCodigoTurno);
+    private final IndiceMemoria<String, TransaccionTurno, Integer> porCaja = indice(TransaccionTurno::getCodigoCaja);
+    private final IndiceMemoria<Enums.TipoTransaccion, TransaccionTurno, Integer> porTipo =
+            indice(TransaccionTurno::getTipoTransaccion);
+
+    @Override
+    protected Integer idDe(TransaccionTurno documento) {
+        return documento.getId();
+    }
+
+    @Override
+    protected Long versionDe(TransaccionTurno documento) {
+        return documento.getVersion();
+    }
+
+    @Override
+    protected void asignarVersion(TransaccionTurno documento, Long version) {
+        documento.setVersion(version);
+    }
+
+    @Override
+    protected boolean versionado() {
+        return true;
+    }
+
+    @Override
+    protected TransaccionTurno copiar(TransaccionTurno documento) {
+        TransaccionTurno copia = new TransaccionTurno(documento.getId());
+        copia.setCodigoTurno(documento.getCodigoTurno());
+        copia.setCodigoCaja(documento.getCodigoCaja());
+        copia.setCodigoCajero(documento.getCodigoCajero());
+        copia.setTipoTransaccion(documento.getTipoTransaccion());
+        copia.setMontoTotal(documento.getMontoTotal());
+        copia.setFechaHora(documento.getFechaHora());
+        copia.setBilletes(documento.getBilletes() != null ? documento.getBilletes().clone() : null);
+        copia.setVersion(documento.getVersion());
+        copia.setTurnoCaja(documento.getTurnoCaja());
+        return copia;
+    }
+
+    @Override
+    public List<TransaccionTurno> findByCodigoTurno(String codigoTurno) {
+        return buscarPor(porTurno, codigoTurno, transaccion -> true);
+    }
+
+    @Override
+    public List<TransaccionTurno> findByCodigoTurnoAndTipoTransaccion(String codigoTurno,
+                                                                      Enums.TipoTransaccion tipoTransaccion) {
+        return buscarPor(porTurno, codigoTurno, transaccion -> transaccion.getTipoTransaccion() == tipoTransaccion);
+    }
+
+    @Override
+    public List<TransaccionTurno> findByTipoTransaccion(Enums.TipoTransaccion tipoTransaccion) {
+        return buscarPor(porTipo, tipoTransaccion, transaccion -> true);
+    }
+
+    @Override
+    public List<TransaccionTurno> findByCodigoCajaAndTipoTransaccion(String codigoCaja,
+                                                                     Enums.TipoTransaccion tipoTransaccion) {
+        return buscarPor(porCaja, codigoCaja, transaccion -> transaccion.getTipoTransaccion() == tipoTransaccion);
+    }
+
+    // Between de Spring Data Mongo excluye ambos extremos.
+    @Override
+    public List<TransaccionTurno> findByCodigoTurnoAndFechaHoraBetween(String codigoTurno, LocalDateTime fechaInicio,
+                                                                       LocalDateTime fechaFin) {
+        return buscarPor(porTurno, codigoTurno, transaccion -> transaccion.getFechaHora() != null
+                && transaccion.getFechaHora().isAfter(fechaInicio) && transaccion.getFechaHora().isBefore(fechaFin));
+    }
+
+    @Override
+    public List<TransaccionTurno> findByCodigoCajaAndFechaHoraBetween(String codigoCaja, LocalDateTime fechaInicio,
+                                                                      LocalDateTime fechaFin) {
+        return buscarPor(porCaja, codigoCaja, transaccion -> transaccion.getFechaHora() != null
+                && transaccion.getFechaHora().isAfter(fechaInicio) && transaccion.getFechaHora().isBefore(fechaFin));
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<TransaccionTurno> transacciones, boolean ordenado) {
+        List<Integer> fallidas = new ArrayList<>();
+        for (int i = 0; i < transacciones.size(); i++) {
+            try {
+                insert(transacciones.get(i));
+            } catch (DuplicateKeyException e) {
+                if (ordenado) {
+                    return IntStream.range(i, transacciones.size()).boxed().toList();
+                }
+                fallidas.add(i);
+            }
+        }
+        return fallidas;
+    }
+
+    @Override
+    public Stream<ResumenTransaccion> recorrerPorRango(String codigoCaja, String codigoTurno,
+                                                       LocalDateTime desde, LocalDateTime hasta,
+                                                       LocalDateTime despuesDeFecha, Integer despuesDeId) {
+        Predicate<TransaccionTurno> filtro = transaccion -> transaccion.getFechaHora() != null
+                && !transaccion.getFechaHora().isBefore(desde) && !transaccion.getFechaHora().isAfter(hasta)
+                && (codigoCaja == null || codigoCaja.equals(transaccion.getCodigoCaja()))
+                && (despuesDeFecha == null || despuesDe(transaccion, despuesDeFecha, despuesDeId));
+        List<TransaccionTurno> candidatas = codigoTurno != null
+                ? buscarPor(porTurno, codigoTurno, filtro)
+                : buscar(filtro);
+        return ordenar(candidatas, POR_FECHA).stream().map(TransaccionTurnoRepositoryMemoria::resumen);
+    }
+
+    @Override
+    public List<ResumenTransaccion> buscarPaginaPorTipo(Enums.TipoTransaccion tipoTransaccion,
+                                                        LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return pagina(findByTipoTransaccion(tipoTransaccion), despuesDeFecha, despuesDeId, limite);
+    }
+
+    @Override
+    public List<ResumenTransaccion> buscarPaginaPorTurno(String codigoTurno,
+                                                         LocalDateTime despuesDeFecha, Integer despuesDeId, int limite) {
+        return pagina(findByCodigoTurno(codigoTurno), despuesDeFecha, despuesDeId, limite);
+    }
+
+    @Override
+    public List<TotalCaja> totalesPorCaja(String codigoCaja, LocalDateTime desde, LocalDateTime hasta) {
+        Predicate<TransaccionTurno> enRango = transaccion -> transaccion.getFechaHora() != null
+                && !transaccion.getFechaHora().isBefore(desde) && !transaccion.getFechaHora().isAfter(hasta);
+        List<TransaccionTurno> transacciones = codigoCaja != null
+                ? buscarPor(porCaja, codigoCaja, enRango)
+                : buscar(enRango);
+
+        // Mismo orden que la agregación: por caja y luego por el nombre del tipo.
+        Map<String, Map<String, TotalCaja>> grupos = new TreeMap<>();
+        for (TransaccionTurno transaccion : transacciones) {
+            TotalCaja total = grupos
+                    .computeIfAbsent(transaccion.getCodigoCaja(), caja -> new TreeMap<>())
+                    .computeIfAbsent(transaccion.getTipoTransaccion().name(), tipo -> nuevoTotal(transaccion));
+            BigDecimal monto = transaccion.getMontoTotal();
+            total.setCantidad(total.getCantidad() + 1);
+            total.setTotal(total.getTotal().add(monto));
+            total.setMinimo(total.getMinimo() == null || monto.compareTo(total.getMinimo()) < 0 ? monto : total.getMinimo());
+            total.setMaximo(total.getMaximo() == null || monto.compareTo(total.getMaximo()) > 0 ? monto : total.getMaximo());
+        }
+
+        List<TotalCaja> resultado = new ArrayList<>();
+        grupos.values().forEach(porTipoTransaccion -> resultado.addAll(porTipoTransaccion.values()));
+        return resultado;
+    }
+
+    @Override
+    public Map<String, BigDecimal> sumarMovimientosPorTurno(Collection<String> codigosTurno) {
+        Map<String, BigDecimal> totales = new HashMap<>();
+        for (String codigoTurno : codigosTurno) {
+            for (TransaccionTurno transaccion : findByCodigoTurno(codigoTurno)) {
+                BigDecimal movimiento = switch (transaccion.getTipoTransaccion()) {
+                    case DEPOSITO -> transaccion.getMontoTotal();
+                    case AHORRO -> transaccion.getMontoTotal().negate();
+                    default -> null;
+                };
+                if (movimiento != null) {
+                    totales.merge(codigoTurno, movimiento, BigDecimal::add);
+                }
+            }
+        }
+        return totales;
+    }
+
+    private static TotalCaja nuevoTotal(TransaccionTurno transaccion) {
+        TotalCaja total = new TotalCaja();
+        total.setCodigoCaja(transaccion.getCodigoCaja());
+        total.setTipoTransaccion(transaccion.getTipoTransaccion());
+        total.setTotal(BigDecimal.ZERO);
+        return total;
+    }
+
+    private static List<ResumenTransaccion> pagina(List<TransaccionTurno> transacciones, LocalDateTime despuesDeFecha,
+                                                   Integer despuesDeId, int limite) {
+        return ordenar(transacciones, POR_FECHA).stream()
+                .filter(transaccion -> despuesDeFecha == null || despuesDe(transaccion, despuesDeFecha, despuesDeId))
+                .limit(limite)
+                .map(TransaccionTurnoRepositoryMemoria::resumen)
+                .toList();
+    }
+
+    private static ResumenTransaccion resumen(TransaccionTurno transaccion) {
+        return new ResumenTransaccion(transaccion.getId(), transaccion.getCodigoTurno(), transaccion.getCodigoCaja(),
+                transaccion.getCodigoCajero(), transaccion.getTipoTransaccion(), transaccion.getMontoTotal(),
+                transaccion.getFechaHora(), transaccion.getVersion());
+    }
+
+    private static boolean despuesDe(TransaccionTurno transaccion, LocalDateTime fecha, Integer id) {
+        if (transaccion.getFechaHora() == null) {
+            return false;
+        }
+        int comparacion = transaccion.getFechaHora().compareTo(fecha);
+        return comparacion > 0 || (comparacion == 0 && transaccion.getId() > id);
+    }
+}
@@ -0,0 +1,307 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.config.MongoIndexConfig;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.SaldoTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.conjunta.simbana.repository.TurnoCajaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Turnos en memoria. Replica los índices únicos parciales de Mongo (un solo turno ABIERTO por
+ * caja y por cajero) con el mismo nombre de índice en la excepción, así el servicio traduce
+ * los duplicados a los mismos códigos de negocio.
+ */
+@Repository
+@Profile("memoria")
+public class TurnoCajaRepositoryMemoria extends RepositorioMemoria<TurnoCaja, String> implements TurnoCajaRepository {
+
+    private static final Comparator<TurnoCaja> POR_INICIO =
+            Comparator.comparing(TurnoCaja::getInicioTurno, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(TurnoCaja::getCodigoTurno);
+
+    private final IndiceMemoria<String, TurnoCaja, String> porCaja = indice(TurnoCaja::getCodigoCaja);
+    private final IndiceMemoria<String, TurnoCaja, String> porCajero = indice(TurnoCaja::getCodigoCajero);
+
+    // Serializa las escrituras que pueden abrir un turno para validar la unicidad sin carreras.
+    private final ReentrantLock unicidad = new ReentrantLock();
+
+    @Override
+    protected String idDe(TurnoCaja documento) {
+        return documento.getCodigoTurno();
+    }
+
+    @Override
+    protected Long versionDe(TurnoCaja documento) {
+        return documento.getVersion();
+    }
+
+    @Override
+    protected void asignarVersion(TurnoCaja documento, Long version) {
+        documento.setVersion(version);
+    }
+
+    @Override
+    protected boolean versionado() {
+        return true;
+    }
+
+    @Override
+    protected TurnoCaja copiar(TurnoCaja documento) {
+        TurnoCaja copia = new TurnoCaja(documento.getCodigoTurno());
+        copia.setCodigoCaja(documento.getCodigoCaja());
+        copia.setCodigoCajero(documento.getCodigoCajero());
+        copia.setInicioTurno(documento.getInicioTurno());
+        copia.setMontoInicial(documento.getMontoInicial());
+        copia.setFinTurno(documento.getFinTurno());
+        copia.setMontoFinal(documento.getMontoFinal());
+        copia.setEstado(documento.getEstado());
+        copia.setSaldoActual(documento.getSaldoActual());
+        copia.setInventarioBilletes(documento.getInventarioBilletes() != null
+                ? documento.getInventarioBilletes().clone() : null);
+        copia.setVersion(documento.getVersion());
+        return copia;
+    }
+
+    @Override
+    protected TurnoCaja guardar(TurnoCaja documento, boolean soloNuevo) {
+        if (documento.getEstado() != Enums.EstadoTurno.ABIERTO) {
+            return super.guardar(documento, soloNuevo);
+        }
+        unicidad.lock();
+        try {
+            validarUnicoAbierto(porCaja, documento, MongoIndexConfig.INDICE_CAJA_ABIERTA);
+            validarUnicoAbierto(porCajero, documento, MongoIndexConfig.INDICE_CAJERO_ABIERTO);
+            return super.guardar(documento, soloNuevo);
+        } finally {
+            unicidad.unlock();
+        }
+    }
+
+    private void validarUnicoAbierto(IndiceMemoria<String, TurnoCaja, String> indice, TurnoCaja documento,
+                                     String nombreIndice) {
+        String valor = indice.valor(documento);
+        if (valor == null) {
+            return;
+        }
+        boolean duplicado = !buscarPor(indice, valor, turno -> turno.getEstado() == Enums.EstadoTurno.ABIERTO
+                && !turno.getCodigoTurno().equals(documento.getCodigoTurno())).isEmpty();
+        if (duplicado) {
+            throw new DuplicateKeyException("E11000 duplicate key error index: " + nombreIndice + " dup key: " + valor);
+        }
+    }
+
+    @Override
+    public List<TurnoCaja> findByCodigoCaja(String codigoCaja) {
+        return buscarPor(porCaja, codigoCaja, turno -> true);
+    }
+
+    @Override
+    public List<TurnoCaja> findByCodigoCajero(String codigoCajero) {
+        return buscarPor(porCajero, codigoCajero, turno -> true);
+    }
+
+    @Override
+    public List<TurnoCaja> findByEstado(Enums.EstadoTurno estado) {
+        return buscar(turno -> turno.getEstado() == estado);
+    }
+
+    @Override
+    public List<TurnoCaja> findByCodigoCajaAndEstado(String codigoCaja, Enums.EstadoTurno estado) {
+        return buscarPor(porCaja, codigoCaja, turno -> turno.getEstado() == estado);
+    }
+
+    @Override
+    public List<TurnoCaja> findByCodigoCajeroAndEstado(String codigoCajero, Enums.EstadoTurno estado) {
+        return buscarPor(porCajero, codigoCajero, turno -> turno.getEstado() == estado);
+    }
+
+    @Override
+    public boolean existsByCodigoCajaAndEstado(String codigoCaja, Enums.EstadoTurno estado) {
+        return !findByCodigoCajaAndEstado(codigoCaja, estado).isEmpty();
+    }
+
+    @Override
+    public boolean existsByCodigoCajeroAndEstado(String codigoCajero, Enums.EstadoTurno estado) {
+        return !findByCodigoCajeroAndEstado(codigoCajero, estado).isEmpty();
+    }
+
+    // Between de Spring Data Mongo excluye ambos extremos.
+    @Override
+    public List<TurnoCaja> findByInicioTurnoBetween(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        return buscar(turno -> entre(turno.getInicioTurno(), fechaInicio, fechaFin));
+    }
+
+    @Override
+    public List<TurnoCaja> findByFinTurnoBetweenAndEstado(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                         Enums.EstadoTurno estado) {
+        return buscar(turno -> turno.getEstado() == estado && entre(turno.getFinTurno(), fechaInicio, fechaFin));
+    }
+
+    @Override
+    public List<TurnoCaja> findTop1ByCodigoCajaOrderByInicioTurnoDesc(String codigoCaja) {
+        return ultimo(findByCodigoCaja(codigoCaja));
+    }
+
+    @Override
+    public List<TurnoCaja> findTop1ByCodigoCajeroOrderByInicioTurnoDesc(String codigoCajero) {
+        return ultimo(findByCodigoCajero(codigoCajero));
+    }
+
+    @Override
+    public boolean acreditarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return actualizar(codigoTurno, turno -> {
+            if (!abierto(turno) || turno.getSaldoActual() == null) {
+                return null;
+            }
+            turno.setSaldoActual(turno.getSaldoActual().add(monto));
+            turno.setInventarioBilletes(sumar(turno.getInventarioBilletes(), billetes, 1));
+            return turno;
+        });
+    }
+
+    @Override
+    public boolean debitarSaldo(String codigoTurno, BigDecimal monto, int[] billetes) {
+        return actualizar(codigoTurno, turno -> {
+            if (!abierto(turno) || turno.getSaldoActual() == null
+                    || turno.getSaldoActual().compareTo(monto) < 0
+                    || !alcanzan(turno.getInventarioBilletes(), billetes)) {
+                return null;
+            }
+            turno.setSaldoActual(turno.getSaldoActual().subtract(monto));
+            turno.setInventarioBilletes(sumar(turno.getInventarioBilletes(), billetes, -1));
+            return turno;
+        });
+    }
+
+    @Override
+    public boolean aplicarMovimientoLote(String codigoTurno, BigDecimal delta, BigDecimal saldoRequerido,
+                                         int[] deltaBilletes, int[] billetesRequeridos) {
+        return actualizar(codigoTurno, turno -> {
+            if (!abierto(turno) || turno.getSaldoActual() == null
+                    || turno.getSaldoActual().compareTo(saldoRequerido) < 0
+                    || !alcanzan(turno.getInventarioBilletes(), billetesRequeridos)) {
+                return null;
+            }
+            turno.setSaldoActual(turno.getSaldoActual().add(delta));
+            turno.setInventarioBilletes(sumar(turno.getInventarioBilletes(), deltaBilletes, 1));
+            return turno;
+        });
+    }
+
+    @Override
+    public boolean inicializarSaldo(String codigoTurno, BigDecimal saldo, int[] inventarioBilletes) {
+        return actualizar(codigoTurno, turno -> {
+            if (turno.getSaldoActual() != null) {
+                return null;
+            }
+            turno.setSaldoActual(saldo);
+            turno.setInventarioBilletes(inventarioBilletes.clone());
+            return turno;
+        });
+    }
+
+    @Override
+    public Optional<SaldoTurno> buscarSaldo(String codigoTurno) {
+        return findById(codigoTurno).map(turno -> new SaldoTurno(turno.getMontoInicial(), turno.getSaldoActual()));
+    }
+
+    @Override
+    public List<TurnoCaja> buscarAbiertosPorCaja(String codigoCaja, LocalDateTime despuesDeInicio,
+                                                 String despuesDeCodigo, int limite) {
+        return paginaAbiertos(findByCodigoCajaAndEstado(codigoCaja, Enums.EstadoTurno.ABIERTO),
+                despuesDeInicio, despuesDeCodigo, limite);
+    }
+
+    @Override
+    public List<TurnoCaja> buscarAbiertosPorCajero(String codigoCajero, LocalDateTime despuesDeInicio,
+                                                   String despuesDeCodigo, int limite) {
+        return paginaAbiertos(findByCodigoCajeroAndEstado(codigoCajero, Enums.EstadoTurno.ABIERTO),
+                despuesDeInicio, despuesDeCodigo, limite);
+    }
+
+    @Override
+    public long cerrarLote(Map<String, BigDecimal> montosFinales, LocalDateTime finTurno) {
+        long cerrados = 0;
+        for (Map.Entry<String, BigDecimal> cierre : montosFinales.entrySet()) {
+            boolean cerrado = actualizar(cierre.getKey(), turno -> {
+                if (!abierto(turno)) {
+                    return null;
+                }
+                turno.setFinTurno(finTurno);
+                turno.setMontoFinal(cierre.getValue());
+                turno.setEstado(Enums.EstadoTurno.CERRADO);
+                return turno;
+            });
+            if (cerrado) {
+                cerrados++;
+            }
+        }
+        return cerrados;
+    }
+
+    private List<TurnoCaja> paginaAbiertos(List<TurnoCaja> abiertos, LocalDateTime despuesDeInicio,
+                                           String despuesDeCodigo, int limite) {
+        return ordenar(abiertos, POR_INICIO).stream()
+                .filter(turno -> despuesDeInicio == null || despuesDe(turno, despuesDeInicio, despuesDeCodigo))
+                .limit(limite)
+                .toList();
+    }
+
+    private static boolean despuesDe(TurnoCaja turno, LocalDateTime inicio, String codigo) {
+        if (turno.getInicioTurno() == null) {
+            return false;
+        }
+        int comparacion = turno.getInicioTurno().compareTo(inicio);
+        return comparacion > 0 || (comparacion == 0 && turno.getCodigoTurno().compareTo(codigo) > 0);
+    }
+
+    private static List<TurnoCaja> ultimo(List<TurnoCaja> turnos) {
+        return turnos.stream()
+                .max(Comparator.comparing(TurnoCaja::getInicioTurno, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(List::of)
+                .orElse(List.of());
+    }
+
+    private static boolean abierto(TurnoCaja turno) {
+        return turno.getEstado() == Enums.EstadoTurno.ABIERTO;
+    }
+
+    private static boolean entre(LocalDateTime valor, LocalDateTime desde, LocalDateTime hasta) {
+        return valor != null && valor.isAfter(desde) && valor.isBefore(hasta);
+    }
+
+    // Un índice del inventario que no existe se compara como ausente: la condición $gte no se cumple.
+    private static boolean alcanzan(int[] inventario, int[] requeridos) {
+        for (int i = 0; i < requeridos.length; i++) {
+            if (requeridos[i] > 0 && (inventario == null || i >= inventario.length || inventario[i] < requeridos[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // $inc sobre una posición del inventario que no existe la crea, rellenando con null las anteriores;
+    // aquí se rellenan con cero, que es como el servicio las interpreta.
+    private static int[] sumar(int[] inventario, int[] billetes, int signo) {
+        int largo = Math.max(inventario != null ? inventario.length : 0, billetes.length);
+        int[] resultado = new int[largo];
+        if (inventario != null) {
+            System.arraycopy(inventario, 0, resultado, 0, inventario.length);
+        }
+        for (int i = 0; i < billetes.length; i++) {
+            resultado[i] += signo * billetes[i];
+        }
+        return resultado;
+    }
+}
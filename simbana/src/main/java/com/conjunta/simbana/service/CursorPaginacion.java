@@ -0,0 +1,79 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para recorrer resultados ordenados por (fecha, id). El cliente solo lo
+ * devuelve tal cual para continuar después del último registro que recibió.
+ */
+public final class CursorPaginacion {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fecha;
+    private final String id;
+
+    public CursorPaginacion(LocalDateTime fecha, String id) {
+        this.fecha = fecha;
+        this.id = id;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Integer getIdEntero() {
+        try {
+            return Integer.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("El cursor no es válido", 9001);
+        }
+    }
+
+    public String codificar() {
+        String valor = fecha + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String codificar(LocalDateTime fecha, Object id) {
+        return new CursorPaginacion(fecha, String.valueOf(id)).codificar();
+    }
+
+    /**
+     * Retorna null si no se recibió cursor (primera página).
+     */
+    public static CursorPaginacion decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new BusinessException("El cursor no es válido", 9001);
+            }
+            return new CursorPaginacion(LocalDateTime.parse(valor.substring(0, separador)),
+                                        valor.substring(separador + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("El cursor no es válido", 9001);
+        }
+    }
+
+    public static void validarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BusinessException("El límite debe estar entre 1 y " + LIMITE_MAXIMO, 9004);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.TransaccionTurno;
+
+/**
+ * Punto donde una transacción ya validada y con el saldo del turno aplicado queda registrada.
+ * Al retornar, la transacción es durable; si lanza una excepción no quedó registrada y quien
+ * llama debe revertir el saldo.
+ */
+public interface EscritorTransacciones {
+
+    TransaccionTurno guardar(TransaccionTurno transaccion);
+}
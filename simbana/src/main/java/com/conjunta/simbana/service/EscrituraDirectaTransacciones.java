@@ -0,0 +1,25 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Modo por defecto: cada transacción se inserta en la base dentro de la misma petición.
+ */
+@Component
+@Profile("!journal")
+public class EscrituraDirectaTransacciones implements EscritorTransacciones {
+
+    private final TransaccionTurnoRepository transaccionTurnoRepository;
+
+    public EscrituraDirectaTransacciones(TransaccionTurnoRepository transaccionTurnoRepository) {
+        this.transaccionTurnoRepository = transaccionTurnoRepository;
+    }
+
+    @Override
+    public TransaccionTurno guardar(TransaccionTurno transaccion) {
+        return transaccionTurnoRepository.insert(transaccion);
+    }
+}
@@ -0,0 +1,108 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Dinero;
+import com.conjunta.simbana.model.Enums;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operaciones sobre el vector de billetes de un turno: una posición por cada
+ * Enums.Denominacion, indexada por su ordinal.
+ */
+public final class InventarioBilletes {
+
+    private static final Enums.Denominacion[] DENOMINACIONES = Enums.Denominacion.values();
+
+    public static final int TAMANO = DENOMINACIONES.length;
+
+    private InventarioBilletes() {
+    }
+
+    public static int[] vacio() {
+        return new int[TAMANO];
+    }
+
+    public static int[] contar(List<DenominacionTransaccion> denominaciones) {
+        int[] billetes = vacio();
+        if (denominaciones == null) {
+            return billetes;
+        }
+        for (DenominacionTransaccion denominacion : denominaciones) {
+            if (denominacion.getBillete() == null) {
+                throw new BusinessException("Denominación no válida en la transacción", 4003);
+            }
+            if (denominacion.getCantidadBilletes() == null || denominacion.getCantidadBilletes() < 0) {
+                throw new BusinessException("La cantidad de billetes de " + denominacion.getBillete().getValor() +
+                                          " no es válida", 4003);
+            }
+            int indice = denominacion.getBillete().ordinal();
+            try {
+                billetes[indice] = Math.addExact(billetes[indice], denominacion.getCantidadBilletes());
+            } catch (ArithmeticException e) {
+                throw new BusinessException("La cantidad de billetes de " + denominacion.getBillete().getValor() +
+                                          " excede el máximo permitido", 4005);
+            }
+        }
+        return billetes;
+    }
+
+    public static BigDecimal total(int[] billetes) {
+        return Dinero.aBigDecimal(totalCentavos(billetes));
+    }
+
+    public static long totalCentavos(int[] billetes) {
+        long total = 0;
+        if (billetes == null) {
+            return total;
+        }
+        for (int i = 0; i < billetes.length && i < TAMANO; i++) {
+            if (billetes[i] != 0) {
+                total = Dinero.sumar(total, Dinero.multiplicar(DENOMINACIONES[i].getCentavos(), billetes[i]));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Expande el vector de billetes de una transacción en su detalle por denominación.
+     */
+    public static List<DenominacionTransaccion> desglosar(Integer transaccionId, int[] billetes) {
+        List<DenominacionTransaccion> denominaciones = new ArrayList<>();
+        if (billetes == null) {
+            return denominaciones;
+        }
+        for (int i = 0; i < billetes.length && i < TAMANO; i++) {
+            if (billetes[i] == 0) {
+                continue;
+            }
+            DenominacionTransaccion denominacion = new DenominacionTransaccion();
+            denominacion.setTransaccionId(transaccionId);
+            denominacion.setBillete(DENOMINACIONES[i]);
+            denominacion.setCantidadBilletes(billetes[i]);
+            denominacion.setMonto(DENOMINACIONES[i].getMonto().multiply(BigDecimal.valueOf(billetes[i])));
+            denominaciones.add(denominacion);
+        }
+        return denominaciones;
+    }
+
+    public static Enums.Denominacion denominacion(int indice) {
+        return DENOMINACIONES[indice];
+    }
+
+    /**
+     * Retorna la primera denominación para la que el inventario no alcanza, o null si alcanza.
+     */
+    public static Enums.Denominacion faltante(int[] inventario, int[] requeridos) {
+        for (int i = 0; i < TAMANO; i++) {
+            int disponible = inventario != null && i < inventario.length ? inventario[i] : 0;
+            if (requeridos[i] > disponible) {
+                return DENOMINACIONES[i];
+            }
+        }
+        return null;
+    }
+}
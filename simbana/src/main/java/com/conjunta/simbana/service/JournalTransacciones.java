@@ -0,0 +1,592 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Modo de confirmación agrupada (perfil journal). La transacción se agrega a un journal local
+ * de solo escritura al final y la petición se confirma en cuanto el journal se sincroniza a disco;
+ * un solo fsync cubre a todas las transacciones que llegaron mientras se hacía el anterior. Otro
+ * hilo vuelca los registros a la base en inserciones por lote y, cuando un segmento del journal
+ * quedó completamente volcado, lo elimina. Al iniciar se vuelven a volcar los segmentos que hayan
+ * quedado en el directorio; las transacciones que ya estaban en la base se omiten.
+ *
+ * Cada registro es [longitud][crc32][datos]. La lectura se detiene en el primer registro
+ * incompleto o con crc inválido, que solo puede ser la cola de una escritura que no llegó a
+ * confirmarse.
+ */
+@Component
+@Profile("journal")
+public class JournalTransacciones implements EscritorTransacciones, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalTransacciones.class);
+
+    private static final String PREFIJO = "transacciones-";
+    private static final String EXTENSION = ".journal";
+    private static final int TAMANO_MAXIMO_REGISTRO = 64 * 1024;
+    private static final int INTENTOS_AL_DETENER = 3;
+
+    private final TransaccionTurnoRepository transaccionTurnoRepository;
+    private final Path directorio;
+    private final long tamanoSegmento;
+    private final int tamanoGrupo;
+    private final int tamanoLote;
+    private final Duration espera;
+    private final LinkedBlockingQueue<Escritura> porEscribir;
+    private final LinkedBlockingQueue<Registro> porVolcar = new LinkedBlockingQueue<>();
+    private final Map<Long, Segmento> segmentos = new ConcurrentSkipListMap<>();
+    private final Timer sincronizacion;
+    private final DistributionSummary grupos;
+    private final Counter volcadas;
+
+    private volatile boolean activo;
+    private Thread escritor;
+    private Thread volcador;
+
+    // Solo los usa el hilo escritor.
+    private FileChannel canal;
+    private long segmentoActual;
+    private long tamanoActual;
+
+    private record Escritura(TransaccionTurno transaccion, CompletableFuture<Void> confirmacion) {
+    }
+
+    private record Registro(long segmento, TransaccionTurno transaccion) {
+    }
+
+    private static final class Segmento {
+        private final Path archivo;
+        private final AtomicInteger pendientes = new AtomicInteger();
+        private volatile boolean sellado;
+
+        private Segmento(Path archivo) {
+            this.archivo = archivo;
+        }
+    }
+
+    public JournalTransacciones(TransaccionTurnoRepository transaccionTurnoRepository, MeterRegistry registro,
+                                @Value("${simbana.journal.directorio:journal}") String directorio,
+                                @Value("${simbana.journal.tamano-segmento:64MB}") DataSize tamanoSegmento,
+                                @Value("${simbana.journal.capacidad:10000}") int capacidad,
+                                @Value("${simbana.journal.tamano-grupo:512}") int tamanoGrupo,
+                                @Value("${simbana.journal.tamano-lote:500}") int tamanoLote,
+                                @Value("${simbana.journal.espera:200ms}") Duration espera) {
+        this.transaccionTurnoRepository = transaccionTurnoRepository;
+        this.directorio = Path.of(directorio);
+        this.tamanoSegmento = tamanoSegmento.toBytes();
+        this.porEscribir = new LinkedBlockingQueue<>(capacidad);
+        this.tamanoGrupo = tamanoGrupo;
+        this.tamanoLote = tamanoLote;
+        this.espera = espera;
+        this.sincronizacion = Timer.builder("simbana.journal.fsync")
+                .description("Duración de cada sincronización del journal a disco")
+                .publishPercentileHistogram()
+                .register(registro);
+        this.grupos = DistributionSummary.builder("simbana.journal.grupo")
+                .description("Transacciones confirmadas por cada sincronización del journal")
+                .register(registro);
+        this.volcadas = Counter.builder("simbana.journal.volcadas")
+                .description("Transacciones del journal volcadas a la base")
+                .register(registro);
+        Gauge.builder("simbana.journal.pendientes", porVolcar, LinkedBlockingQueue::size)
+                .description("Transacciones confirmadas en el journal que aún no están en la base")
+                .register(registro);
+    }
+
+    /**
+     * Bloquea hasta que la transacción está sincronizada en el journal. El tiempo de espera
+     * solo aplica a entrar en la cola: una vez encolada, la transacción se escribe o falla, y
+     * abandonarla antes de saberlo dejaría el saldo revertido con la transacción en el journal.
+     */
+    @Override
+    public TransaccionTurno guardar(TransaccionTurno transaccion) {
+        if (!activo) {
+            throw new DataAccessResourceFailureException("El journal de transacciones no está activo");
+        }
+        Escritura escritura = new Escritura(transaccion, new CompletableFuture<>());
+        try {
+            if (!porEscribir.offer(escritura, espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new DataAccessResourceFailureException("El journal de transacciones está saturado");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Se interrumpió la escritura en el journal", e);
+        }
+
+        boolean interrumpido = false;
+        try {
+            while (true) {
+                try {
+                    escritura.confirmacion().get(espera.toMillis(), TimeUnit.MILLISECONDS);
+                    return transaccion;
+                } catch (TimeoutException e) {
+                    if (!escritor.isAlive()) {
+                        // El escritor terminó sin tomarla; no llegó al journal.
+                        escritura.confirmacion().completeExceptionally(
+                                new IllegalStateException("El journal de transacciones se detuvo"));
+                    }
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new DataAccessResourceFailureException("No se pudo escribir la transacción en el journal", e.getCause());
+        } finally {
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(directorio);
+            long ultimo = recuperar();
+            abrirSegmento(ultimo + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el journal en " + directorio.toAbsolutePath(), e);
+        }
+        activo = true;
+        escritor = Thread.ofPlatform().name("journal-escritor").daemon().start(this::escribir);
+        volcador = Thread.ofPlatform().name("journal-volcador").daemon().start(this::volcar);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        try {
+            escritor.join();
+            volcador.join(espera.multipliedBy(INTENTOS_AL_DETENER + 1).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!porVolcar.isEmpty()) {
+            logger.warn("Se detuvo el journal con {} transacciones sin volcar; se recuperarán al iniciar",
+                    porVolcar.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    /**
+     * Inicia antes y se detiene después del servidor web, para que ninguna petición encuentre el
+     * journal cerrado y las que estén en curso al apagar alcancen a confirmarse.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    /**
+     * Encola para volcar los registros válidos de los segmentos existentes. Retorna el número del
+     * último segmento encontrado.
+     */
+    private long recuperar() throws IOException {
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(directorio)) {
+            archivos = listado
+                    .filter(archivo -> {
+                        String nombre = archivo.getFileName().toString();
+                        return nombre.startsWith(PREFIJO) && nombre.endsWith(EXTENSION);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        long ultimo = 0;
+        int recuperadas = 0;
+        for (Path archivo : archivos) {
+            String nombre = archivo.getFileName().toString();
+            long numero = Long.parseLong(nombre.substring(PREFIJO.length(), nombre.length() - EXTENSION.length()));
+            ultimo = Math.max(ultimo, numero);
+
+            List<TransaccionTurno> transacciones = leer(archivo);
+            if (transacciones.isEmpty()) {
+                Files.delete(archivo);
+                continue;
+            }
+            Segmento segmento = new Segmento(archivo);
+            segmento.sellado = true;
+            segmento.pendientes.set(transacciones.size());
+            segmentos.put(numero, segmento);
+            for (TransaccionTurno transaccion : transacciones) {
+                porVolcar.add(new Registro(numero, transaccion));
+            }
+            recuperadas += transacciones.size();
+        }
+        if (recuperadas > 0) {
+            logger.info("Journal: {} transacciones por volcar recuperadas de {} segmentos",
+                    recuperadas, segmentos.size());
+        }
+        return ultimo;
+    }
+
+    private List<TransaccionTurno> leer(Path archivo) throws IOException {
+        List<TransaccionTurno> transacciones = new ArrayList<>();
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            while (true) {
+                int longitud;
+                try {
+                    longitud = entrada.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] datos;
+                int crc;
+                try {
+                    crc = entrada.readInt();
+                    if (longitud <= 0 || longitud > TAMANO_MAXIMO_REGISTRO) {
+                        throw new EOFException();
+                    }
+                    datos = entrada.readNBytes(longitud);
+                    if (datos.length < longitud) {
+                        throw new EOFException();
+                    }
+                } catch (EOFException e) {
+                    logger.warn("Registro incompleto al final de {}, se ignora desde ahí", archivo);
+                    break;
+                }
+                if (crc(datos) != crc) {
+                    logger.warn("Registro con crc inválido en {}, se ignora desde ahí", archivo);
+                    break;
+                }
+                transacciones.add(decodificar(datos));
+            }
+        }
+        return transacciones;
+    }
+
+    private void escribir() {
+        List<Escritura> grupo = new ArrayList<>(tamanoGrupo);
+        while (activo || !porEscribir.isEmpty()) {
+            try {
+                Escritura primera = porEscribir.poll(espera.toMillis(), TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                grupo.add(primera);
+                porEscribir.drainTo(grupo, tamanoGrupo - 1);
+                if (!escribirGrupo(grupo)) {
+                    activo = false;
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                grupo.clear();
+            }
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            logger.warn("No se pudo cerrar el segmento actual del journal", e);
+        }
+        sellar(segmentoActual);
+    }
+
+    /**
+     * Escribe y sincroniza el grupo. Si falla, trunca el segmento a donde estaba para que la
+     * recuperación no vuelque transacciones cuyo saldo ya se revirtió. Retorna false si ni
+     * siquiera eso fue posible y el journal no puede seguir.
+     */
+    private boolean escribirGrupo(List<Escritura> grupo) {
+        long posicion = tamanoActual;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(grupo.size() * 256);
+            DataOutputStream salida = new DataOutputStream(bytes);
+            for (Escritura escritura : grupo) {
+                byte[] datos = codificar(escritura.transaccion());
+                salida.writeInt(datos.length);
+                salida.writeInt(crc(datos));
+                salida.write(datos);
+            }
+            if (tamanoActual > 0 && tamanoActual + bytes.size() > tamanoSegmento) {
+                rotar();
+                posicion = 0;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            long inicio = System.nanoTime();
+            canal.force(false);
+            sincronizacion.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            tamanoActual += bytes.size();
+            grupos.record(grupo.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("No se pudo escribir un grupo de {} transacciones en el journal", grupo.size(), e);
+            for (Escritura escritura : grupo) {
+                escritura.confirmacion().completeExceptionally(e);
+            }
+            try {
+                canal.truncate(posicion);
+                canal.position(posicion);
+                canal.force(true);
+                tamanoActual = posicion;
+                return true;
+            } catch (IOException | RuntimeException f) {
+                logger.error("No se pudo truncar el journal tras el error, se detiene la confirmación agrupada", f);
+                return false;
+            }
+        }
+
+        segmentos.get(segmentoActual).pendientes.addAndGet(grupo.size());
+        for (Escritura escritura : grupo) {
+            porVolcar.add(new Registro(segmentoActual, escritura.transaccion()));
+            escritura.confirmacion().complete(null);
+        }
+        return true;
+    }
+
+    private void rotar() throws IOException {
+        long anterior = segmentoActual;
+        canal.close();
+        abrirSegmento(anterior + 1);
+        sellar(anterior);
+    }
+
+    private void abrirSegmento(long numero) throws IOException {
+        Path archivo = directorio.resolve(String.format("%s%020d%s", PREFIJO, numero, EXTENSION));
+        canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        sincronizarDirectorio();
+        segmentos.put(numero, new Segmento(archivo));
+        segmentoActual = numero;
+        tamanoActual = 0;
+    }
+
+    /**
+     * Sincroniza la entrada del archivo nuevo en el directorio; sin esto un corte de energía
+     * podría perder el segmento completo aunque sus registros ya se hayan sincronizado.
+     */
+    private void sincronizarDirectorio() {
+        try (FileChannel canalDirectorio = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canalDirectorio.force(true);
+        } catch (IOException e) {
+            // No todos los sistemas permiten abrir un directorio; ahí no aplica.
+            logger.debug("No se pudo sincronizar el directorio del journal", e);
+        }
+    }
+
+    private void sellar(long numero) {
+        Segmento segmento = segmentos.get(numero);
+        if (segmento != null) {
+            segmento.sellado = true;
+            eliminarSiVolcado(numero, segmento);
+        }
+    }
+
+    private void eliminarSiVolcado(long numero, Segmento segmento) {
+        // El escritor y el volcador pueden llegar a la vez; solo elimina quien lo saca del mapa.
+        if (segmento.sellado && segmento.pendientes.get() == 0 && segmentos.remove(numero, segmento)) {
+            try {
+                Files.deleteIfExists(segmento.archivo);
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar el segmento volcado {}", segmento.archivo, e);
+            }
+        }
+    }
+
+    private void volcar() {
+        List<Registro> lote = new ArrayList<>(tamanoLote);
+        while (escritor.isAlive() || !porVolcar.isEmpty()) {
+            try {
+                Registro primero = porVolcar.poll(espera.toMillis(), TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                porVolcar.drainTo(lote, tamanoLote - 1);
+                if (!volcarLote(lote)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Reintenta mientras la aplicación siga activa: las transacciones ya están confirmadas y no
+     * pueden descartarse. Al detenerse se rinde tras unos intentos y quedan en el journal.
+     */
+    private boolean volcarLote(List<Registro> lote) throws InterruptedException {
+        List<Registro> restantes = lote;
+        for (int intento = 1; ; intento++) {
+            try {
+                List<TransaccionTurno> transacciones = new ArrayList<>(restantes.size());
+                for (Registro registro : restantes) {
+                    transacciones.add(registro.transaccion());
+                }
+                List<Integer> fallidas = transaccionTurnoRepository.insertarLote(transacciones, false);
+                List<Registro> pendientes = new ArrayList<>();
+                if (!fallidas.isEmpty()) {
+                    // Las que ya existen vienen de un volcado previo que no alcanzó a registrarse.
+                    Set<Integer> ids = new HashSet<>();
+                    for (Integer indice : fallidas) {
+                        ids.add(transacciones.get(indice).getId());
+                    }
+                    Set<Integer> existentes = new HashSet<>();
+                    for (TransaccionTurno existente : transaccionTurnoRepository.findAllById(ids)) {
+                        existentes.add(existente.getId());
+                    }
+                    for (Integer indice : fallidas) {
+                        if (!existentes.contains(transacciones.get(indice).getId())) {
+                            pendientes.add(restantes.get(indice));
+                        }
+                    }
+                }
+                confirmarVolcado(restantes, pendientes);
+                restantes = pendientes;
+                if (restantes.isEmpty()) {
+                    return true;
+                }
+                logger.warn("{} transacciones del journal no se pudieron volcar (intento {})", restantes.size(), intento);
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo volcar un lote de {} transacciones del journal (intento {})",
+                        restantes.size(), intento, e);
+            }
+            if (!activo && intento >= INTENTOS_AL_DETENER) {
+                return false;
+            }
+            Thread.sleep(Math.min(espera.toMillis() * intento, Duration.ofSeconds(30).toMillis()));
+        }
+    }
+
+    private void confirmarVolcado(List<Registro> lote, List<Registro> pendientes) {
+        Set<Registro> sinVolcar = Collections.newSetFromMap(new IdentityHashMap<>());
+        sinVolcar.addAll(pendientes);
+        Set<Long> tocados = new HashSet<>();
+        for (Registro registro : lote) {
+            if (sinVolcar.contains(registro)) {
+                continue;
+            }
+            Segmento segmento = segmentos.get(registro.segmento());
+            if (segmento != null) {
+                segmento.pendientes.decrementAndGet();
+                tocados.add(registro.segmento());
+            }
+        }
+        volcadas.increment(lote.size() - pendientes.size());
+        for (Long numero : tocados) {
+            Segmento segmento = segmentos.get(numero);
+            if (segmento != null) {
+                eliminarSiVolcado(numero, segmento);
+            }
+        }
+    }
+
+    private static int crc(byte[] datos) {
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] codificar(TransaccionTurno transaccion) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(192);
+        DataOutputStream salida = new DataOutputStream(bytes);
+        salida.writeInt(transaccion.getId());
+        escribirTexto(salida, transaccion.getCodigoTurno());
+        escribirTexto(salida, transaccion.getCodigoCaja());
+        escribirTexto(salida, transaccion.getCodigoCajero());
+        escribirTexto(salida, transaccion.getTipoTransaccion().name());
+        escribirTexto(salida, transaccion.getMontoTotal().toPlainString());
+        escribirTexto(salida, transaccion.getFechaHora().toString());
+        int[] billetes = transaccion.getBilletes();
+        salida.writeInt(billetes == null ? -1 : billetes.length);
+        if (billetes != null) {
+            for (int cantidad : billetes) {
+                salida.writeInt(cantidad);
+            }
+        }
+        salida.flush();
+        return bytes.toByteArray();
+    }
+
+    private static TransaccionTurno decodificar(byte[] datos) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(datos));
+        TransaccionTurno transaccion = new TransaccionTurno();
+        transaccion.setId(entrada.readInt());
+        transaccion.setCodigoTurno(leerTexto(entrada));
+        transaccion.setCodigoCaja(leerTexto(entrada));
+        transaccion.setCodigoCajero(leerTexto(entrada));
+        transaccion.setTipoTransaccion(Enums.TipoTransaccion.valueOf(leerTexto(entrada)));
+        transaccion.setMontoTotal(new BigDecimal(leerTexto(entrada)));
+        transaccion.setFechaHora(LocalDateTime.parse(leerTexto(entrada)));
+        int cantidadBilletes = entrada.readInt();
+        if (cantidadBilletes >= 0) {
+            int[] billetes = new int[cantidadBilletes];
+            for (int i = 0; i < cantidadBilletes; i++) {
+                billetes[i] = entrada.readInt();
+            }
+            transaccion.setBilletes(billetes);
+        }
+        return transaccion;
+    }
+
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        salida.writeBoolean(texto != null);
+        if (texto != null) {
+            salida.writeUTF(texto);
+        }
+    }
+
+    private static String leerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Métricas de negocio de las cajas: transacciones registradas y su monto por tipo, y cierres de
+ * turno con o sin discrepancia. Los medidores por tipo se crean una sola vez al iniciar para no
+ * buscarlos en el registro en cada transacción.
+ */
+@Component
+public class MetricasNegocio {
+
+    public static final String TIMER_REGISTRAR_TRANSACCION = "simbana.transacciones.registrar";
+    public static final String TIMER_REGISTRAR_LOTE = "simbana.transacciones.lote";
+    public static final String TIMER_INICIAR_TURNO = "simbana.turnos.iniciar";
+    public static final String TIMER_CERRAR_TURNO = "simbana.turnos.cerrar";
+    public static final String TIMER_CERRAR_TURNOS = "simbana.turnos.cerrar.lote";
+    public static final String TIMER_SALDO_TURNO = "simbana.turnos.saldo";
+
+    private final MeterRegistry registro;
+    private final Map<Enums.TipoTransaccion, Counter> transacciones = new EnumMap<>(Enums.TipoTransaccion.class);
+    private final Map<Enums.TipoTransaccion, DistributionSummary> montos = new EnumMap<>(Enums.TipoTransaccion.class);
+    private final Counter cierresCuadrados;
+    private final Counter cierresConDiscrepancia;
+    private final DistributionSummary sobrantes;
+    private final DistributionSummary faltantes;
+
+    public MetricasNegocio(MeterRegistry registro) {
+        this.registro = registro;
+        for (Enums.TipoTransaccion tipo : Enums.TipoTransaccion.values()) {
+            transacciones.put(tipo, Counter.builder("simbana.transacciones")
+                    .description("Transacciones registradas")
+                    .tag("tipo", tipo.name())
+                    .register(registro));
+            montos.put(tipo, DistributionSummary.builder("simbana.transacciones.monto")
+                    .description("Monto de las transacciones registradas")
+                    .baseUnit("dolares")
+                    .tag("tipo", tipo.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(100_000.0)
+                    .register(registro));
+        }
+        this.cierresCuadrados = cierres("cuadrado");
+        this.cierresConDiscrepancia = cierres("discrepancia");
+        this.sobrantes = discrepancia("sobrante");
+        this.faltantes = discrepancia("faltante");
+    }
+
+    public void transaccionRegistrada(Enums.TipoTransaccion tipo, BigDecimal monto) {
+        transacciones.get(tipo).increment();
+        if (monto != null) {
+            montos.get(tipo).record(monto.doubleValue());
+        }
+    }
+
+    public void turnoCerrado(BigDecimal montoFinal, BigDecimal montoEsperado) {
+        int comparacion = montoFinal.compareTo(montoEsperado);
+        if (comparacion == 0) {
+            cierresCuadrados.increment();
+            return;
+        }
+        cierresConDiscrepancia.increment();
+        BigDecimal diferencia = montoFinal.subtract(montoEsperado).abs();
+        (comparacion > 0 ? sobrantes : faltantes).record(diferencia.doubleValue());
+    }
+
+    /**
+     * Equivalente de {@code @Timed} para los servicios reactivos: mide desde la suscripción hasta
+     * que el Mono termina, con el mismo nombre y las mismas etiquetas (class, method, exception)
+     * que registra el aspecto, para que ambos servicios compartan la serie en Prometheus.
+     */
+    public <T> Mono<T> cronometrar(String nombre, Class<?> clase, String metodo, Mono<T> operacion) {
+        return Mono.defer(() -> {
+            Timer.Sample muestra = Timer.start(registro);
+            return operacion
+                    .doOnSuccess(valor -> muestra.stop(timer(nombre, clase, metodo, "none")))
+                    .doOnError(e -> muestra.stop(timer(nombre, clase, metodo, e.getClass().getSimpleName())));
+        });
+    }
+
+    private Timer timer(String nombre, Class<?> clase, String metodo, String excepcion) {
+        return Timer.builder(nombre)
+                .tag("class", clase.getName())
+                .tag("method", metodo)
+                .tag("exception", excepcion)
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+
+    private Counter cierres(String resultado) {
+        return Counter.builder("simbana.turnos.cierres")
+                .description("Turnos cerrados según si el monto final cuadra con el esperado")
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+
+    private DistributionSummary discrepancia(String sentido) {
+        return DistributionSummary.builder("simbana.turnos.discrepancia")
+                .description("Diferencia absoluta entre el monto final y el esperado al cerrar un turno")
+                .baseUnit("dolares")
+                .tag("sentido", sentido)
+                .publishPercentileHistogram()
+                .register(registro);
+    }
+}
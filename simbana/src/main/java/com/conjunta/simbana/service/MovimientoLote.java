@@ -0,0 +1,138 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.model.Dinero;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TurnoCaja;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula en memoria el efecto de las transacciones de un lote sobre un mismo turno.
+ * Además del movimiento neto guarda el punto más bajo que alcanza el saldo (y cada
+ * denominación) a lo largo del lote: mientras el saldo real sea al menos ese valor,
+ * todas las transacciones del lote son válidas en el orden recibido. Los montos se acumulan
+ * en centavos; solo se convierten a BigDecimal al entregarlos al repositorio. Si el acumulado no
+ * cabe en centavos la transacción se rechaza con 8003.
+ */
+final class MovimientoLote {
+
+    private final String codigoTurno;
+    private final boolean sinSaldo;
+    private final long saldoLeido;
+    private final int[] inventarioLeido;
+    private final List<Integer> indices = new ArrayList<>();
+    private final int[] deltaBilletes = InventarioBilletes.vacio();
+    private final int[] minimoBilletes = InventarioBilletes.vacio();
+    private long delta;
+    private long minimo;
+
+    MovimientoLote(TurnoCaja turno) {
+        this.codigoTurno = turno.getCodigoTurno();
+        this.sinSaldo = turno.getSaldoActual() == null;
+        // El saldo solo se compara con montos en centavos completos, así que descartar las fracciones
+        // de un saldo guardado antes de validarlas no cambia el resultado.
+        this.saldoLeido = sinSaldo ? 0 : centavosGuardados(turno.getSaldoActual());
+        this.inventarioLeido = turno.getInventarioBilletes() != null
+                ? turno.getInventarioBilletes()
+                : InventarioBilletes.vacio();
+    }
+
+    void agregar(int indice, Enums.TipoTransaccion tipoTransaccion, BigDecimal montoTotal, int[] billetes) {
+        boolean retiro = tipoTransaccion == Enums.TipoTransaccion.AHORRO;
+        long monto = Dinero.centavos(montoTotal);
+
+        if (retiro && !sinSaldoMaterializado()) {
+            long saldo = acumular(saldoLeido, delta);
+            if (saldo < monto) {
+                throw new BusinessException("Saldo insuficiente. Saldo actual: " + Dinero.aBigDecimal(saldo) +
+                                          ", Monto solicitado: " + montoTotal, 7003);
+            }
+            for (int i = 0; i < billetes.length; i++) {
+                int disponible = (i < inventarioLeido.length ? inventarioLeido[i] : 0) + deltaBilletes[i];
+                if (billetes[i] > disponible) {
+                    throw new BusinessException("No hay suficientes billetes de " +
+                                              InventarioBilletes.denominacion(i).getValor() +
+                                              " en la caja del turno: " + codigoTurno, 7005);
+                }
+            }
+        }
+
+        // Se calcula todo antes de modificar el acumulado: una transacción rechazada no deja rastro.
+        long nuevoDelta = acumular(delta, retiro ? -monto : monto);
+        int[] nuevosBilletes = deltaBilletes.clone();
+        for (int i = 0; i < billetes.length; i++) {
+            nuevosBilletes[i] = acumularBilletes(deltaBilletes[i], retiro ? -billetes[i] : billetes[i]);
+        }
+
+        delta = nuevoDelta;
+        minimo = Math.min(minimo, delta);
+        for (int i = 0; i < billetes.length; i++) {
+            deltaBilletes[i] = nuevosBilletes[i];
+            minimoBilletes[i] = Math.min(minimoBilletes[i], deltaBilletes[i]);
+        }
+        indices.add(indice);
+    }
+
+    private long centavosGuardados(BigDecimal monto) {
+        if (!Dinero.dentroDeRango(monto)) {
+            throw fueraDeRango();
+        }
+        return Dinero.centavosCompletos(monto);
+    }
+
+    private long acumular(long centavos, long otros) {
+        try {
+            return Dinero.sumar(centavos, otros);
+        } catch (ArithmeticException e) {
+            throw fueraDeRango();
+        }
+    }
+
+    private int acumularBilletes(int cantidad, int otra) {
+        try {
+            return Math.addExact(cantidad, otra);
+        } catch (ArithmeticException e) {
+            throw fueraDeRango();
+        }
+    }
+
+    private BusinessException fueraDeRango() {
+        return new BusinessException("Los montos del lote para el turno: " + codigoTurno +
+                                   " exceden el máximo permitido", 8003);
+    }
+
+    boolean sinSaldoMaterializado() {
+        return sinSaldo;
+    }
+
+    String getCodigoTurno() {
+        return codigoTurno;
+    }
+
+    List<Integer> getIndices() {
+        return indices;
+    }
+
+    BigDecimal getDelta() {
+        return Dinero.aBigDecimal(delta);
+    }
+
+    int[] getDeltaBilletes() {
+        return deltaBilletes;
+    }
+
+    BigDecimal getSaldoRequerido() {
+        return Dinero.aBigDecimal(-minimo);
+    }
+
+    int[] getBilletesRequeridos() {
+        int[] requeridos = InventarioBilletes.vacio();
+        for (int i = 0; i < requeridos.length; i++) {
+            requeridos[i] = -minimoBilletes[i];
+        }
+        return requeridos;
+    }
+}
@@ -0,0 +1,43 @@
+package com.conjunta.simbana.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados obtenida por búsqueda por clave (keyset). siguienteCursor es null
+ * cuando no hay más resultados.
+ */
+public class Pagina<T> {
+
+    private final List<T> contenido;
+    private final String siguienteCursor;
+
+    public Pagina(List<T> contenido, String siguienteCursor) {
+        this.contenido = contenido;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    /**
+     * Arma la página a partir de una consulta que pidió limite + 1 filas: la fila extra solo
+     * indica que hay más resultados y no se devuelve.
+     */
+    public static <T> Pagina<T> desde(List<T> filas, int limite, Function<T, String> cursor) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> contenido = filas.subList(0, limite);
+        return new Pagina<>(contenido, cursor.apply(contenido.get(limite - 1)));
+    }
+
+    public List<T> getContenido() {
+        return contenido;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.repository.DiscrepanciaTurnoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cola acotada de discrepancias de cierre. Cerrar un turno solo encola la discrepancia; un hilo
+ * propio la guarda en lotes en la colección de discrepancias y emite la alerta en el log, así la
+ * latencia del cierre no depende de la base ni de quien consuma las alertas. Si la cola está
+ * llena la discrepancia se descarta (queda en el log y en la métrica de descartadas) en lugar de
+ * frenar el cierre. Al detener la aplicación se guardan las que aún estén en la cola.
+ */
+@Component
+public class PublicadorDiscrepancias implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicadorDiscrepancias.class);
+
+    private static final int INTENTOS = 3;
+
+    private final DiscrepanciaTurnoRepository discrepanciaTurnoRepository;
+    private final BlockingQueue<DiscrepanciaTurno> cola;
+    private final int tamanoLote;
+    private final Duration espera;
+    private final Counter guardadas;
+    private final Counter descartadas;
+
+    private volatile boolean activo;
+    private Thread trabajador;
+
+    public PublicadorDiscrepancias(DiscrepanciaTurnoRepository discrepanciaTurnoRepository, MeterRegistry registro,
+                                   @Value("${simbana.discrepancias.capacidad:10000}") int capacidad,
+                                   @Value("${simbana.discrepancias.tamano-lote:100}") int tamanoLote,
+                                   @Value("${simbana.discrepancias.espera:1s}") Duration espera) {
+        this.discrepanciaTurnoRepository = discrepanciaTurnoRepository;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.tamanoLote = tamanoLote;
+        this.espera = espera;
+        this.guardadas = Counter.builder("simbana.discrepancias")
+                .description("Discrepancias procesadas por el publicador")
+                .tag("resultado", "guardada")
+                .register(registro);
+        this.descartadas = Counter.builder("simbana.discrepancias")
+                .description("Discrepancias procesadas por el publicador")
+                .tag("resultado", "descartada")
+                .register(registro);
+        Gauge.builder("simbana.discrepancias.pendientes", cola, BlockingQueue::size)
+                .description("Discrepancias en cola esperando ser guardadas")
+                .register(registro);
+    }
+
+    /**
+     * Encola la discrepancia sin bloquear. Retorna false si la cola estaba llena.
+     */
+    public boolean publicar(DiscrepanciaTurno discrepancia) {
+        if (cola.offer(discrepancia)) {
+            return true;
+        }
+        descartadas.increment();
+        logger.error("Cola de discrepancias llena, se descarta: {}", discrepancia);
+        return false;
+    }
+
+    @Override
+    public void start() {
+        activo = true;
+        trabajador = Thread.ofPlatform().name("publicador-discrepancias").daemon().start(this::procesar);
+    }
+
+    @Override
+    public void stop() {
+        activo = false;
+        try {
+            trabajador.join(espera.multipliedBy(INTENTOS + 1).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    /**
+     * Se detiene después del servidor web, así los cierres que estén en curso al apagar alcanzan a
+     * encolar su discrepancia y esta se guarda antes de salir.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void procesar() {
+        List<DiscrepanciaTurno> lote = new ArrayList<>(tamanoLote);
+        while (activo || !cola.isEmpty()) {
+            try {
+                DiscrepanciaTurno primera = cola.poll(espera.toMillis(), TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, tamanoLote - 1);
+                guardar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void guardar(List<DiscrepanciaTurno> lote) throws InterruptedException {
+        for (int intento = 1; intento <= INTENTOS; intento++) {
+            try {
+                // Las que ya estaban guardadas (reintento de un lote a medias) se omiten.
+                discrepanciaTurnoRepository.insertarNuevas(lote);
+                guardadas.increment(lote.size());
+                for (DiscrepanciaTurno discrepancia : lote) {
+                    logger.warn("ALERTA: Discrepancia en turno {}. Monto final: {}, Monto esperado: {}, Diferencia: {}",
+                            discrepancia.getCodigoTurno(), discrepancia.getMontoFinal(),
+                            discrepancia.getMontoEsperado(), discrepancia.getDiferencia());
+                }
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo guardar el lote de {} discrepancias (intento {} de {})",
+                        lote.size(), intento, INTENTOS, e);
+                if (intento < INTENTOS) {
+                    Thread.sleep(espera.multipliedBy(intento).toMillis());
+                }
+            }
+        }
+        descartadas.increment(lote.size());
+        for (DiscrepanciaTurno discrepancia : lote) {
+            logger.error("Discrepancia descartada tras {} intentos: {}", INTENTOS, discrepancia);
+        }
+    }
+}
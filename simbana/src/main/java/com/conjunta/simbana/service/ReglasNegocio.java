@@ -0,0 +1,187 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.config.MongoIndexConfig;
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.model.Dinero;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reglas de negocio de turnos y transacciones que no dependen de cómo se accede a la base.
+ * Las comparten los servicios bloqueantes y los reactivos para que ambos validen lo mismo
+ * con los mismos códigos de error.
+ */
+final class ReglasNegocio {
+
+    private ReglasNegocio() {
+    }
+
+    static int[] validarInicioTurno(BigDecimal montoInicial, List<DenominacionTransaccion> denominacionesIniciales) {
+        if (montoInicial == null || montoInicial.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException("El monto inicial debe ser mayor a cero", 1001);
+        }
+        if (Dinero.tieneFraccionDeCentavo(montoInicial)) {
+            throw new BusinessException("El monto inicial no puede tener fracciones de centavo", 1006);
+        }
+        if (!Dinero.dentroDeRango(montoInicial)) {
+            throw new BusinessException("El monto inicial excede el máximo permitido", 1007);
+        }
+
+        // El inventario de billetes del turno parte de ellas: sin el detalle, todo retiro se rechazaría
+        // por falta de billetes.
+        if (denominacionesIniciales == null || denominacionesIniciales.isEmpty()) {
+            throw new BusinessException("Se requieren las denominaciones iniciales del turno", 1008);
+        }
+
+        int[] inventario = InventarioBilletes.contar(denominacionesIniciales);
+        long totalBilletes = InventarioBilletes.totalCentavos(inventario);
+        if (totalBilletes != Dinero.centavos(montoInicial)) {
+            throw new BusinessException("El total de denominaciones iniciales (" + Dinero.aBigDecimal(totalBilletes) +
+                                      ") no coincide con el monto inicial (" + montoInicial + ")", 1004);
+        }
+        return inventario;
+    }
+
+    static TurnoCaja nuevoTurno(String codigoTurno, String codigoCaja, String codigoCajero,
+                                BigDecimal montoInicial, int[] inventario) {
+        TurnoCaja turno = new TurnoCaja(codigoTurno);
+        turno.setCodigoCaja(codigoCaja);
+        turno.setCodigoCajero(codigoCajero);
+        turno.setInicioTurno(LocalDateTime.now());
+        turno.setMontoInicial(montoInicial);
+        turno.setSaldoActual(montoInicial);
+        turno.setInventarioBilletes(inventario);
+        turno.setEstado(Enums.EstadoTurno.ABIERTO);
+        return turno;
+    }
+
+    static BusinessException traducirTurnoDuplicado(DuplicateKeyException e, String codigoTurno,
+                                                    String codigoCaja, String codigoCajero) {
+        String mensaje = e.getMessage() != null ? e.getMessage() : "";
+        if (mensaje.contains(MongoIndexConfig.INDICE_CAJA_ABIERTA)) {
+            return new BusinessException("Ya existe un turno abierto para la caja: " + codigoCaja, 1002);
+        }
+        if (mensaje.contains(MongoIndexConfig.INDICE_CAJERO_ABIERTO)) {
+            return new BusinessException("El cajero: " + codigoCajero + " ya tiene un turno abierto", 1003);
+        }
+        return new BusinessException("Ya existe un turno con código: " + codigoTurno, 1005);
+    }
+
+    static void validarCierreTurno(TurnoCaja turno, BigDecimal montoFinal) {
+        if (turno.getEstado() != Enums.EstadoTurno.ABIERTO) {
+            throw new BusinessException("El turno: " + turno.getCodigoTurno() + " no está abierto", 2002);
+        }
+
+        if (montoFinal == null || montoFinal.compareTo(BigDecimal.ZERO) < 0) {
+            throw new BusinessException("El monto final debe ser mayor o igual a cero", 2003);
+        }
+    }
+
+    static DiscrepanciaTurno discrepanciaDe(TurnoCaja turno, BigDecimal montoFinal, BigDecimal montoEsperado,
+                                            LocalDateTime fechaCierre) {
+        DiscrepanciaTurno discrepancia = new DiscrepanciaTurno(turno.getCodigoTurno());
+        discrepancia.setCodigoCaja(turno.getCodigoCaja());
+        discrepancia.setCodigoCajero(turno.getCodigoCajero());
+        discrepancia.setMontoFinal(montoFinal);
+        discrepancia.setMontoEsperado(montoEsperado);
+        discrepancia.setDiferencia(montoFinal.subtract(montoEsperado));
+        discrepancia.setFechaCierre(fechaCierre);
+        return discrepancia;
+    }
+
+    static TransaccionTurno transaccionDeTurno(Integer id, TurnoCaja turno, Enums.TipoTransaccion tipoTransaccion,
+                                               BigDecimal monto) {
+        TransaccionTurno transaccion = new TransaccionTurno(id);
+        transaccion.setCodigoTurno(turno.getCodigoTurno());
+        transaccion.setCodigoCaja(turno.getCodigoCaja());
+        transaccion.setCodigoCajero(turno.getCodigoCajero());
+        transaccion.setTipoTransaccion(tipoTransaccion);
+        transaccion.setMontoTotal(monto);
+        transaccion.setFechaHora(LocalDateTime.now());
+        return transaccion;
+    }
+
+    static void validarMontoTotal(BigDecimal montoTotal) {
+        if (montoTotal == null || montoTotal.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BusinessException("El monto total debe ser mayor a cero", 4001);
+        }
+        if (Dinero.tieneFraccionDeCentavo(montoTotal)) {
+            throw new BusinessException("El monto total no puede tener fracciones de centavo", 4004);
+        }
+        if (!Dinero.dentroDeRango(montoTotal)) {
+            throw new BusinessException("El monto total excede el máximo permitido", 4005);
+        }
+    }
+
+    static int[] contarBilletes(List<DenominacionTransaccion> denominaciones, BigDecimal montoTotal) {
+        // Cada transacción mueve billetes del inventario: sin el detalle, el saldo cambiaría y el
+        // inventario no, y dejarían de coincidir.
+        if (denominaciones == null || denominaciones.isEmpty()) {
+            throw new BusinessException("Se requieren las denominaciones de la transacción", 4006);
+        }
+
+        // El monto de cada denominación se deriva de la cantidad de billetes, que es lo que se guarda.
+        int[] billetes = InventarioBilletes.contar(denominaciones);
+        long totalDenominaciones = InventarioBilletes.totalCentavos(billetes);
+        if (totalDenominaciones != Dinero.centavos(montoTotal)) {
+            throw new BusinessException("El total de denominaciones (" + Dinero.aBigDecimal(totalDenominaciones) +
+                                      ") no coincide con el monto total (" + montoTotal + ")", 4002);
+        }
+        return billetes;
+    }
+
+    static void validarTransaccionPorTipo(Enums.TipoTransaccion tipoTransaccion) {
+        if (tipoTransaccion == null) {
+            throw new BusinessException("El tipo de transacción es requerido", 7004);
+        }
+        switch (tipoTransaccion) {
+            case INICIO:
+                throw new BusinessException("No se puede registrar una transacción de INICIO manualmente", 7001);
+            case CIERRE:
+                throw new BusinessException("No se puede registrar una transacción de CIERRE manualmente", 7002);
+            case AHORRO:
+            case DEPOSITO:
+                break;
+            default:
+                throw new BusinessException("Tipo de transacción no válido: " + tipoTransaccion, 7004);
+        }
+    }
+
+    static TransaccionTurno nuevaTransaccion(Integer id, String codigoTurno, String codigoCaja, String codigoCajero,
+                                             Enums.TipoTransaccion tipoTransaccion, BigDecimal montoTotal,
+                                             int[] billetes) {
+        TransaccionTurno transaccion = new TransaccionTurno(id);
+        transaccion.setCodigoTurno(codigoTurno);
+        transaccion.setCodigoCaja(codigoCaja);
+        transaccion.setCodigoCajero(codigoCajero);
+        transaccion.setTipoTransaccion(tipoTransaccion);
+        transaccion.setMontoTotal(montoTotal);
+        transaccion.setFechaHora(LocalDateTime.now());
+        transaccion.setBilletes(billetes);
+        return transaccion;
+    }
+
+    /**
+     * Error que explica por qué no se pudo aplicar un movimiento sobre un turno abierto que sí
+     * tiene saldo materializado.
+     */
+    static BusinessException movimientoRechazado(TurnoCaja turno, BigDecimal monto, int[] billetes) {
+        if (turno.getSaldoActual().compareTo(monto) < 0) {
+            return new BusinessException("Saldo insuficiente. Saldo actual: " + turno.getSaldoActual() +
+                                       ", Monto solicitado: " + monto, 7003);
+        }
+
+        Enums.Denominacion faltante = InventarioBilletes.faltante(turno.getInventarioBilletes(), billetes);
+        return new BusinessException("No hay suficientes billetes de " +
+                                   (faltante != null ? faltante.getValor() : "la denominación solicitada") +
+                                   " en la caja del turno: " + turno.getCodigoTurno(), 7005);
+    }
+}
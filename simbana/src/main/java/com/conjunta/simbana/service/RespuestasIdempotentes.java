@@ -0,0 +1,141 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.RespuestaIdempotente;
+import com.conjunta.simbana.repository.RespuestaIdempotenteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Respuestas ya enviadas por clave de idempotencia. Las completadas se guardan en una cache
+ * acotada, así un reintento se responde sin leer la base; la colección de Mongo (con índice TTL)
+ * es la fuente de verdad entre instancias y reinicios. Reservar la clave es un insert sobre el
+ * _id, por lo que dos peticiones simultáneas con la misma clave no pueden ejecutarse ambas. Una
+ * reserva vale por un plazo corto: si la instancia que la tiene se detiene sin completarla ni
+ * liberarla, un reintento la toma cuando el plazo termina.
+ */
+@Component
+public class RespuestasIdempotentes {
+
+    private final RespuestaIdempotenteRepository respuestaIdempotenteRepository;
+    private final Cache<String, RespuestaIdempotente> completadas;
+    private final Duration expiracion;
+    private final Duration plazoReserva;
+
+    public RespuestasIdempotentes(RespuestaIdempotenteRepository respuestaIdempotenteRepository,
+                                  @Value("${simbana.idempotencia.tamano-cache:10000}") long tamanoCache,
+                                  @Value("${simbana.idempotencia.expiracion:24h}") Duration expiracion,
+                                  @Value("${simbana.idempotencia.plazo-reserva:30s}") Duration plazoReserva) {
+        this.respuestaIdempotenteRepository = respuestaIdempotenteRepository;
+        this.expiracion = expiracion;
+        this.plazoReserva = plazoReserva;
+        this.completadas = Caffeine.newBuilder()
+                .maximumSize(tamanoCache)
+                .expireAfterWrite(expiracion)
+                .build();
+    }
+
+    /**
+     * Reserva la clave para atender la petición. Retorna null si quedó reservada (hay que llamar
+     * después a completar o liberar) o la respuesta existente, completada o todavía en curso.
+     */
+    public RespuestaIdempotente reservar(String id, String huella) {
+        RespuestaIdempotente enCache = completadas.getIfPresent(id);
+        if (enCache != null) {
+            return enCache;
+        }
+
+        LocalDateTime ahora = LocalDateTime.now();
+        RespuestaIdempotente reserva = new RespuestaIdempotente(id);
+        reserva.setHuella(huella);
+        reserva.setCreada(ahora);
+        reserva.setVigenteHasta(ahora.plus(plazoReserva));
+        try {
+            respuestaIdempotenteRepository.insert(reserva);
+            return null;
+        } catch (DuplicateKeyException e) {
+            Optional<RespuestaIdempotente> existente = respuestaIdempotenteRepository.findById(id);
+            if (existente.isEmpty()) {
+                // Se liberó o venció entre el insert y la lectura.
+                try {
+                    respuestaIdempotenteRepository.insert(reserva);
+                    return null;
+                } catch (DuplicateKeyException otraReserva) {
+                    return respuestaIdempotenteRepository.findById(id).orElse(reserva);
+                }
+            }
+            RespuestaIdempotente previa = existente.get();
+            if (vencida(previa, ahora) || abandonada(previa, ahora)) {
+                // El TTL de Mongo elimina con retraso: una respuesta vencida ya no cuenta, y una
+                // reserva cuyo plazo terminó quedó de una petición que no llegó a terminar.
+                if (respuestaIdempotenteRepository.tomarReserva(reserva, ahora, ahora.minus(expiracion))) {
+                    return null;
+                }
+                return respuestaIdempotenteRepository.findById(id).orElse(reserva);
+            }
+            if (previa.isCompletada()) {
+                completadas.put(id, previa);
+            }
+            return previa;
+        }
+    }
+
+    public void completar(String id, String huella, int estado, String tipoContenido, byte[] cuerpo) {
+        RespuestaIdempotente respuesta = new RespuestaIdempotente(id);
+        respuesta.setHuella(huella);
+        respuesta.setCompletada(true);
+        respuesta.setEstado(estado);
+        respuesta.setTipoContenido(tipoContenido);
+        respuesta.setCuerpo(cuerpo);
+        respuesta.setCreada(LocalDateTime.now());
+        respuestaIdempotenteRepository.save(respuesta);
+        completadas.put(id, respuesta);
+    }
+
+    /**
+     * Libera la clave de una petición que falló sin respuesta definitiva, para que el reintento
+     * se ejecute de nuevo.
+     */
+    public void liberar(String id) {
+        respuestaIdempotenteRepository.deleteById(id);
+    }
+
+    /**
+     * Conserva hasta que la clave expire la reserva de una petición que ya se aplicó pero cuya
+     * respuesta no se pudo guardar. No se libera ni se puede tomar al terminar su plazo, así un
+     * reintento recibe 409 en lugar de aplicarla otra vez.
+     */
+    public boolean retener(String id) {
+        return respuestaIdempotenteRepository.retenerReserva(id, LocalDateTime.now().plus(expiracion));
+    }
+
+    public static String huella(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    public static String id(String metodo, String ruta, String clave) {
+        return metodo + " " + ruta + " " + clave;
+    }
+
+    private boolean vencida(RespuestaIdempotente respuesta, LocalDateTime ahora) {
+        return respuesta.getCreada() != null && respuesta.getCreada().isBefore(ahora.minus(expiracion));
+    }
+
+    private static boolean abandonada(RespuestaIdempotente respuesta, LocalDateTime ahora) {
+        return !respuesta.isCompletada() && respuesta.getVigenteHasta() != null
+                && respuesta.getVigenteHasta().isBefore(ahora);
+    }
+}
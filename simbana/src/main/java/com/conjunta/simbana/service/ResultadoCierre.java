@@ -0,0 +1,79 @@
+package com.conjunta.simbana.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado del cierre de un turno dentro de un cierre masivo. La diferencia es monto final
+ * menos monto esperado; distinta de cero indica una discrepancia. Un turno INCOMPLETO quedó cerrado
+ * pero sin su transacción de CIERRE, y trae el código de error que lo indica.
+ */
+public class ResultadoCierre {
+
+    public enum Estado {
+        CERRADO,
+        INCOMPLETO,
+        RECHAZADO
+    }
+
+    private final String codigoTurno;
+    private final Estado estado;
+    private final BigDecimal montoFinal;
+    private final BigDecimal montoEsperado;
+    private final Integer codigoError;
+    private final String mensaje;
+
+    private ResultadoCierre(String codigoTurno, Estado estado, BigDecimal montoFinal, BigDecimal montoEsperado,
+                            Integer codigoError, String mensaje) {
+        this.codigoTurno = codigoTurno;
+        this.estado = estado;
+        this.montoFinal = montoFinal;
+        this.montoEsperado = montoEsperado;
+        this.codigoError = codigoError;
+        this.mensaje = mensaje;
+    }
+
+    static ResultadoCierre cerrado(String codigoTurno, BigDecimal montoFinal, BigDecimal montoEsperado) {
+        return new ResultadoCierre(codigoTurno, Estado.CERRADO, montoFinal, montoEsperado, null, null);
+    }
+
+    static ResultadoCierre incompleto(ResultadoCierre cerrado, int codigoError, String mensaje) {
+        return new ResultadoCierre(cerrado.codigoTurno, Estado.INCOMPLETO, cerrado.montoFinal, cerrado.montoEsperado,
+                codigoError, mensaje);
+    }
+
+    static ResultadoCierre rechazado(String codigoTurno, BigDecimal montoFinal, int codigoError, String mensaje) {
+        return new ResultadoCierre(codigoTurno, Estado.RECHAZADO, montoFinal, null, codigoError, mensaje);
+    }
+
+    public String getCodigoTurno() {
+        return codigoTurno;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public BigDecimal getMontoFinal() {
+        return montoFinal;
+    }
+
+    public BigDecimal getMontoEsperado() {
+        return montoEsperado;
+    }
+
+    public BigDecimal getDiferencia() {
+        return montoEsperado != null ? montoFinal.subtract(montoEsperado) : null;
+    }
+
+    public boolean hayDiscrepancia() {
+        return montoEsperado != null && montoFinal.compareTo(montoEsperado) != 0;
+    }
+
+    public Integer getCodigoError() {
+        return codigoError;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+}
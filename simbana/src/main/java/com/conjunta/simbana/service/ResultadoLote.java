@@ -0,0 +1,70 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.TransaccionTurno;
+
+/**
+ * Resultado de una transacción dentro de un lote, en la misma posición que su solicitud.
+ */
+public class ResultadoLote {
+
+    public enum Estado {
+        REGISTRADA,
+        RECHAZADA,
+        NO_PROCESADA
+    }
+
+    private final int indice;
+    private final Estado estado;
+    private final TransaccionTurno transaccion;
+    private final Integer codigoError;
+    private final String mensaje;
+
+    private ResultadoLote(int indice, Estado estado, TransaccionTurno transaccion, Integer codigoError, String mensaje) {
+        this.indice = indice;
+        this.estado = estado;
+        this.transaccion = transaccion;
+        this.codigoError = codigoError;
+        this.mensaje = mensaje;
+    }
+
+    static ResultadoLote registrada(int indice, TransaccionTurno transaccion) {
+        return new ResultadoLote(indice, Estado.REGISTRADA, transaccion, null, null);
+    }
+
+    static ResultadoLote rechazada(int indice, RuntimeException e) {
+        Integer codigo = null;
+        if (e instanceof BusinessException be) {
+            codigo = be.getErrorCode();
+        } else if (e instanceof NotFoundException ne) {
+            codigo = ne.getErrorCode();
+        }
+        return new ResultadoLote(indice, Estado.RECHAZADA, null, codigo, e.getMessage());
+    }
+
+    static ResultadoLote noProcesada(int indice) {
+        return new ResultadoLote(indice, Estado.NO_PROCESADA, null, 8001,
+                "No se procesó porque una transacción anterior del lote fue rechazada");
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public TransaccionTurno getTransaccion() {
+        return transaccion;
+    }
+
+    public Integer getCodigoError() {
+        return codigoError;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+}
@@ -0,0 +1,58 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generador de IDs numéricos por bloques (hi-lo). Cada instancia reserva en Mongo un rango
+ * de IDs con un solo findAndModify y luego los entrega desde memoria, así asignar un ID en
+ * el camino de una transacción no cuesta un viaje a la base y los IDs siguen siendo únicos
+ * entre instancias. Los IDs de un bloque que no se alcanzan a usar se pierden al reiniciar.
+ */
+@Service
+public class SecuenciaService {
+
+    public static final String TRANSACCIONES_TURNO = "transacciones_turno";
+
+    private final SecuenciaRepository secuenciaRepository;
+    private final int tamanoBloque;
+    private final ConcurrentMap<String, Bloque> bloques = new ConcurrentHashMap<>();
+
+    public SecuenciaService(SecuenciaRepository secuenciaRepository,
+                            @Value("${simbana.secuencias.tamano-bloque:100}") int tamanoBloque) {
+        this.secuenciaRepository = secuenciaRepository;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    public Integer siguienteId(String nombre) {
+        return Math.toIntExact(siguiente(nombre));
+    }
+
+    public long siguiente(String nombre) {
+        Bloque bloque = bloques.computeIfAbsent(nombre, n -> new Bloque());
+        // Se usa un lock en lugar de synchronized porque la reserva hace I/O contra Mongo: con
+        // hilos virtuales, bloquear dentro de synchronized fija el hilo a su hilo portador.
+        bloque.lock.lock();
+        try {
+            if (bloque.siguiente > bloque.limite) {
+                long limite = secuenciaRepository.reservarBloque(nombre, tamanoBloque);
+                bloque.siguiente = limite - tamanoBloque + 1;
+                bloque.limite = limite;
+            }
+            return bloque.siguiente++;
+        } finally {
+            bloque.lock.unlock();
+        }
+    }
+
+    private static final class Bloque {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long siguiente = 1;
+        private long limite = 0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa dentro de la instancia las escrituras sobre un mismo turno. Cada turno cae en una
+ * franja de un arreglo fijo de locks, así las peticiones de un mismo turno (terminal del cajero,
+ * correcciones del supervisor) se ejecutan una tras otra en lugar de chocar entre sí, y las de
+ * turnos distintos avanzan en paralelo salvo que compartan franja. Los locks de java.util.concurrent
+ * no fijan el hilo portador, por lo que también sirven con hilos virtuales.
+ *
+ * Entre instancias la protección sigue siendo la de las actualizaciones condicionales; si una
+ * escritura falla por un conflicto de concurrencia se reintenta con espera exponencial acotada.
+ */
+@Component
+public class SecuenciadorTurnos {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecuenciadorTurnos.class);
+
+    private final ReentrantLock[] franjas;
+    private final Duration esperaMaxima;
+    private final int intentos;
+    private final Duration pausaBase;
+    private final Timer espera;
+    private final Counter conflictos;
+    private final Counter reintentos;
+    private final Counter agotados;
+
+    public SecuenciadorTurnos(MeterRegistry registro,
+                              @Value("${simbana.escritura.franjas:1024}") int cantidadFranjas,
+                              @Value("${simbana.escritura.espera-maxima:5s}") Duration esperaMaxima,
+                              @Value("${simbana.escritura.intentos:3}") int intentos,
+                              @Value("${simbana.escritura.pausa-base:10ms}") Duration pausaBase) {
+        // Potencia de dos para elegir la franja con una máscara.
+        int tamano = Integer.highestOneBit(Math.max(1, cantidadFranjas - 1)) << 1;
+        this.franjas = new ReentrantLock[tamano];
+        for (int i = 0; i < tamano; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        this.esperaMaxima = esperaMaxima;
+        this.intentos = intentos;
+        this.pausaBase = pausaBase;
+        this.espera = Timer.builder("simbana.turnos.escritura.espera")
+                .description("Tiempo esperando el turno de escritura de un turno")
+                .publishPercentileHistogram()
+                .register(registro);
+        this.conflictos = Counter.builder("simbana.turnos.escritura.conflictos")
+                .description("Escrituras sobre un turno que fallaron por un conflicto de concurrencia")
+                .register(registro);
+        this.reintentos = Counter.builder("simbana.turnos.escritura.reintentos")
+                .description("Reintentos de escrituras sobre un turno tras un conflicto")
+                .register(registro);
+        this.agotados = Counter.builder("simbana.turnos.escritura.agotados")
+                .description("Escrituras que fallaron tras agotar los reintentos")
+                .register(registro);
+    }
+
+    public <T> T ejecutar(String codigoTurno, Supplier<T> escritura) {
+        return ejecutar(codigoTurno == null ? List.of() : List.of(codigoTurno), escritura);
+    }
+
+    /**
+     * Ejecuta la escritura con las franjas de todos los turnos tomadas. Se toman en orden de
+     * índice para que dos lotes con turnos en común no se bloqueen mutuamente.
+     */
+    public <T> T ejecutar(Collection<String> codigosTurno, Supplier<T> escritura) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (String codigoTurno : codigosTurno) {
+            if (codigoTurno != null) {
+                indices.add(franja(codigoTurno));
+            }
+        }
+
+        int tomadas = 0;
+        try {
+            long inicio = System.nanoTime();
+            long limite = inicio + esperaMaxima.toNanos();
+            for (Integer indice : indices) {
+                if (!franjas[indice].tryLock(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new BusinessException("El turno tiene otra operación en curso, intente nuevamente", 9005);
+                }
+                tomadas++;
+            }
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return conReintentos(escritura);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("La operación sobre el turno fue interrumpida", 9005);
+        } finally {
+            for (Integer indice : indices) {
+                if (tomadas-- == 0) {
+                    break;
+                }
+                franjas[indice].unlock();
+            }
+        }
+    }
+
+    private <T> T conReintentos(Supplier<T> escritura) throws InterruptedException {
+        for (int intento = 1; ; intento++) {
+            try {
+                return escritura.get();
+            } catch (TransientDataAccessException e) {
+                // Incluye OptimisticLockingFailureException (conflicto de versión).
+                conflictos.increment();
+                if (intento >= intentos) {
+                    agotados.increment();
+                    throw e;
+                }
+                reintentos.increment();
+                long pausa = pausaBase.toMillis() << (intento - 1);
+                logger.debug("Conflicto al escribir el turno (intento {} de {}), reintentando en ~{} ms",
+                        intento, intentos, pausa);
+                Thread.sleep(pausa + ThreadLocalRandom.current().nextLong(pausa + 1));
+            }
+        }
+    }
+
+    private int franja(String codigoTurno) {
+        int hash = codigoTurno.hashCode();
+        return (hash ^ (hash >>> 16)) & (franjas.length - 1);
+    }
+}
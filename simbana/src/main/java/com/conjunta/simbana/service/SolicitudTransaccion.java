@@ -0,0 +1,55 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Datos de una transacción dentro de un lote.
+ */
+public class SolicitudTransaccion {
+
+    private final String codigoTurno;
+    private final String codigoCaja;
+    private final String codigoCajero;
+    private final Enums.TipoTransaccion tipoTransaccion;
+    private final BigDecimal montoTotal;
+    private final List<DenominacionTransaccion> denominaciones;
+
+    public SolicitudTransaccion(String codigoTurno, String codigoCaja, String codigoCajero,
+                                Enums.TipoTransaccion tipoTransaccion, BigDecimal montoTotal,
+                                List<DenominacionTransaccion> denominaciones) {
+        this.codigoTurno = codigoTurno;
+        this.codigoCaja = codigoCaja;
+        this.codigoCajero = codigoCajero;
+        this.tipoTransaccion = tipoTransaccion;
+        this.montoTotal = montoTotal;
+        this.denominaciones = denominaciones;
+    }
+
+    public String getCodigoTurno() {
+        return codigoTurno;
+    }
+
+    public String getCodigoCaja() {
+        return codigoCaja;
+    }
+
+    public String getCodigoCajero() {
+        return codigoCajero;
+    }
+
+    public Enums.TipoTransaccion getTipoTransaccion() {
+        return tipoTransaccion;
+    }
+
+    public BigDecimal getMontoTotal() {
+        return montoTotal;
+    }
+
+    public List<DenominacionTransaccion> getDenominaciones() {
+        return denominaciones;
+    }
+}
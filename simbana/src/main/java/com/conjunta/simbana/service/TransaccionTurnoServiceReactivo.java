@@ -0,0 +1,196 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.conjunta.simbana.repository.TransaccionTurnoRepositoryReactivo;
+import com.conjunta.simbana.repository.TurnoCajaRepositoryReactivo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Versión no bloqueante de {@link TransaccionTurnoService} para el perfil "reactivo". Valida en
+ * el mismo orden y con los mismos códigos de error, y mueve el saldo con las mismas
+ * actualizaciones condicionales. La inicialización de saldo de turnos antiguos y la lectura de
+ * desgloses aún no migrados delegan en el servicio bloqueante sobre boundedElastic.
+ */
+@Service
+@Profile("reactivo")
+public class TransaccionTurnoServiceReactivo {
+
+    private final TransaccionTurnoRepositoryReactivo transaccionTurnoRepository;
+    private final TurnoCajaRepositoryReactivo turnoCajaRepository;
+    private final SecuenciaService secuenciaService;
+    private final TurnosAbiertosCache turnosAbiertosCache;
+    private final TransaccionTurnoService transaccionTurnoService;
+    private final MetricasNegocio metricasNegocio;
+
+    public TransaccionTurnoServiceReactivo(TransaccionTurnoRepositoryReactivo transaccionTurnoRepository,
+                                           TurnoCajaRepositoryReactivo turnoCajaRepository,
+                                           SecuenciaService secuenciaService,
+                                           TurnosAbiertosCache turnosAbiertosCache,
+                                           TransaccionTurnoService transaccionTurnoService,
+                                           MetricasNegocio metricasNegocio) {
+        this.transaccionTurnoRepository = transaccionTurnoRepository;
+        this.turnoCajaRepository = turnoCajaRepository;
+        this.secuenciaService = secuenciaService;
+        this.turnosAbiertosCache = turnosAbiertosCache;
+        this.transaccionTurnoService = transaccionTurnoService;
+        this.metricasNegocio = metricasNegocio;
+    }
+
+    public Mono<TransaccionTurno> registrarTransaccion(String codigoTurno, String codigoCaja, String codigoCajero,
+                                                      Enums.TipoTransaccion tipoTransaccion, BigDecimal montoTotal,
+                                                      List<DenominacionTransaccion> denominaciones) {
+        return metricasNegocio.cronometrar(MetricasNegocio.TIMER_REGISTRAR_TRANSACCION,
+                TransaccionTurnoServiceReactivo.class, "registrarTransaccion",
+                Mono.fromRunnable(() -> ReglasNegocio.validarMontoTotal(montoTotal))
+                .then(validarTurnoAbiertoEnCache(codigoTurno))
+                .then(Mono.fromCallable(() -> {
+                    int[] billetes = ReglasNegocio.contarBilletes(denominaciones, montoTotal);
+                    ReglasNegocio.validarTransaccionPorTipo(tipoTransaccion);
+                    return billetes;
+                }))
+                .flatMap(billetes -> aplicarMovimientoSaldo(codigoTurno, tipoTransaccion, montoTotal, billetes)
+                        .then(siguienteId())
+                        .map(id -> ReglasNegocio.nuevaTransaccion(id, codigoTurno, codigoCaja, codigoCajero,
+                                tipoTransaccion, montoTotal, billetes))
+                        .flatMap(transaccion -> transaccionTurnoRepository.insert(transaccion)
+                                .onErrorResume(e -> revertirMovimientoSaldo(codigoTurno, tipoTransaccion, montoTotal, billetes)
+                                        .then(Mono.<TransaccionTurno>error(e)))))
+                .doOnNext(transaccion -> metricasNegocio.transaccionRegistrada(tipoTransaccion, montoTotal)));
+    }
+
+    public Mono<TransaccionTurno> registrarDeposito(String codigoTurno, String codigoCaja, String codigoCajero,
+                                                   BigDecimal montoTotal, List<DenominacionTransaccion> denominaciones) {
+        return registrarTransaccion(codigoTurno, codigoCaja, codigoCajero,
+                                   Enums.TipoTransaccion.DEPOSITO, montoTotal, denominaciones);
+    }
+
+    public Mono<TransaccionTurno> registrarAhorro(String codigoTurno, String codigoCaja, String codigoCajero,
+                                                 BigDecimal montoTotal, List<DenominacionTransaccion> denominaciones) {
+        return registrarTransaccion(codigoTurno, codigoCaja, codigoCajero,
+                                   Enums.TipoTransaccion.AHORRO, montoTotal, denominaciones);
+    }
+
+    public Mono<TransaccionTurno> findById(Integer id) {
+        return transaccionTurnoRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("No se encontró la transacción con ID: " + id, 5001)));
+    }
+
+    public Mono<Pagina<TransaccionTurno>> findByCodigoTurno(String codigoTurno, String cursor, int limite) {
+        return Mono.defer(() -> {
+            CursorPaginacion.validarLimite(limite);
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            return transaccionTurnoRepository.buscarPaginaPorTurno(codigoTurno,
+                            posicion != null ? posicion.getFecha() : null,
+                            posicion != null ? posicion.getIdEntero() : null,
+                            limite + 1)
+                    .collectList()
+                    .map(filas -> Pagina.desde(filas, limite,
+                            t -> CursorPaginacion.codificar(t.getFechaHora(), t.getId())));
+        });
+    }
+
+    public Mono<Pagina<TransaccionTurno>> findByTipoTransaccion(Enums.TipoTransaccion tipoTransaccion, String cursor,
+                                                                int limite) {
+        return Mono.defer(() -> {
+            CursorPaginacion.validarLimite(limite);
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            return transaccionTurnoRepository.buscarPaginaPorTipo(tipoTransaccion,
+                            posicion != null ? posicion.getFecha() : null,
+                            posicion != null ? posicion.getIdEntero() : null,
+                            limite + 1)
+                    .collectList()
+                    .map(filas -> Pagina.desde(filas, limite,
+                            t -> CursorPaginacion.codificar(t.getFechaHora(), t.getId())));
+        });
+    }
+
+    public Mono<BigDecimal> calcularSaldoTurno(String codigoTurno) {
+        return metricasNegocio.cronometrar(MetricasNegocio.TIMER_SALDO_TURNO,
+                TransaccionTurnoServiceReactivo.class, "calcularSaldoTurno",
+                turnoCajaRepository.findById(codigoTurno)
+                .filter(turno -> turno.getSaldoActual() != null)
+                .map(TurnoCaja::getSaldoActual)
+                .switchIfEmpty(Mono.fromCallable(() -> transaccionTurnoService.calcularSaldoTurno(codigoTurno))
+                        .subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    public Mono<List<DenominacionTransaccion>> getDenominacionesByTransaccion(Integer transaccionId) {
+        return findById(transaccionId)
+                .flatMap(transaccion -> transaccion.getBilletes() != null
+                        ? Mono.just(InventarioBilletes.desglosar(transaccionId, transaccion.getBilletes()))
+                        : Mono.fromCallable(() -> transaccionTurnoService.getDenominacionesByTransaccion(transaccionId))
+                                .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Mono<Void> validarTurnoAbiertoEnCache(String codigoTurno) {
+        return Mono.defer(() -> turnosAbiertosCache.obtener(codigoTurno) != null
+                ? Mono.<Void>empty()
+                : validarTurnoAbierto(codigoTurno).doOnNext(turnosAbiertosCache::registrar).then());
+    }
+
+    private Mono<TurnoCaja> validarTurnoAbierto(String codigoTurno) {
+        return turnoCajaRepository.findById(codigoTurno)
+                .switchIfEmpty(Mono.defer(() -> {
+                    turnosAbiertosCache.invalidar(codigoTurno);
+                    return Mono.error(new NotFoundException("No se encontró el turno con código: " + codigoTurno, 6001));
+                }))
+                .flatMap(turno -> {
+                    if (turno.getEstado() != Enums.EstadoTurno.ABIERTO) {
+                        turnosAbiertosCache.invalidar(codigoTurno);
+                        return Mono.<TurnoCaja>error(new BusinessException("El turno: " + codigoTurno + " no está abierto", 6002));
+                    }
+                    return Mono.just(turno);
+                });
+    }
+
+    private Mono<Void> aplicarMovimientoSaldo(String codigoTurno, Enums.TipoTransaccion tipoTransaccion,
+                                              BigDecimal monto, int[] billetes) {
+        return ejecutarMovimientoSaldo(codigoTurno, tipoTransaccion, monto, billetes)
+                .flatMap(aplicado -> aplicado
+                        ? Mono.<Void>empty()
+                        // La actualización condicional no aplicó: se lee el turno solo para saber el motivo.
+                        : validarTurnoAbierto(codigoTurno).flatMap(turno -> {
+                            if (turno.getSaldoActual() != null) {
+                                return Mono.<Void>error(ReglasNegocio.movimientoRechazado(turno, monto, billetes));
+                            }
+                            return Mono.fromRunnable(() -> transaccionTurnoService.inicializarSaldoLegado(turno))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .then(ejecutarMovimientoSaldo(codigoTurno, tipoTransaccion, monto, billetes))
+                                    .flatMap(reintento -> reintento
+                                            ? Mono.<Void>empty()
+                                            : validarTurnoAbierto(codigoTurno).flatMap(actual ->
+                                                    Mono.<Void>error(ReglasNegocio.movimientoRechazado(actual, monto, billetes))));
+                        }));
+    }
+
+    private Mono<Boolean> ejecutarMovimientoSaldo(String codigoTurno, Enums.TipoTransaccion tipoTransaccion,
+                                                  BigDecimal monto, int[] billetes) {
+        return tipoTransaccion == Enums.TipoTransaccion.AHORRO
+                ? turnoCajaRepository.debitarSaldo(codigoTurno, monto, billetes)
+                : turnoCajaRepository.acreditarSaldo(codigoTurno, monto, billetes);
+    }
+
+    private Mono<Boolean> revertirMovimientoSaldo(String codigoTurno, Enums.TipoTransaccion tipoTransaccion,
+                                                  BigDecimal monto, int[] billetes) {
+        return tipoTransaccion == Enums.TipoTransaccion.AHORRO
+                ? turnoCajaRepository.acreditarSaldo(codigoTurno, monto, billetes)
+                : turnoCajaRepository.debitarSaldo(codigoTurno, monto, billetes);
+    }
+
+    // Casi siempre sale de memoria; solo cada tamaño-de-bloque IDs se reserva un bloque en Mongo.
+    private Mono<Integer> siguienteId() {
+        return Mono.fromCallable(() -> secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -2,18 +2,30 @@ package com.conjunta.simbana.service;
 
 import com.conjunta.simbana.exception.BusinessException;
 import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
 import com.conjunta.simbana.model.TurnoCaja;
 import com.conjunta.simbana.model.TransaccionTurno;
 import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.repository.DiscrepanciaTurnoRepository;
 import com.conjunta.simbana.repository.TurnoCajaRepository;
 import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 @Service
@@ -22,54 +34,68 @@ public class TurnoCajaService {
 
     private final TurnoCajaRepository turnoCajaRepository;
     private final TransaccionTurnoRepository transaccionTurnoRepository;
+    private final SecuenciaService secuenciaService;
+    private final TurnosAbiertosCache turnosAbiertosCache;
+    private final MetricasNegocio metricasNegocio;
+    private final DiscrepanciaTurnoRepository discrepanciaTurnoRepository;
+    private final PublicadorDiscrepancias publicadorDiscrepancias;
+    private final SecuenciadorTurnos secuenciadorTurnos;
 
     public TurnoCajaService(TurnoCajaRepository turnoCajaRepository, 
-                           TransaccionTurnoRepository transaccionTurnoRepository) {
+                           TransaccionTurnoRepository transaccionTurnoRepository,
+                           SecuenciaService secuenciaService,
+                           TurnosAbiertosCache turnosAbiertosCache,
+                           MetricasNegocio metricasNegocio,
+                           DiscrepanciaTurnoRepository discrepanciaTurnoRepository,
+                           PublicadorDiscrepancias publicadorDiscrepancias,
+                           SecuenciadorTurnos secuenciadorTurnos) {
         this.turnoCajaRepository = turnoCajaRepository;
         this.transaccionTurnoRepository = transaccionTurnoRepository;
+        this.secuenciaService = secuenciaService;
+        this.turnosAbiertosCache = turnosAbiertosCache;
+        this.metricasNegocio = metricasNegocio;
+        this.discrepanciaTurnoRepository = discrepanciaTurnoRepository;
+        this.publicadorDiscrepancias = publicadorDiscrepancias;
+        this.secuenciadorTurnos = secuenciadorTurnos;
     }
 
     @Transactional
+    @Timed(value = MetricasNegocio.TIMER_INICIAR_TURNO, histogram = true)
     public TurnoCaja iniciarTurno(String codigoTurno, String codigoCaja, String codigoCajero, 
-                                 BigDecimal montoInicial) {
+                                 BigDecimal montoInicial, List<DenominacionTransaccion> denominacionesIniciales) {
         
-        if (montoInicial == null || montoInicial.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BusinessException("El monto inicial debe ser mayor a cero", 1001);
+        int[] inventario = ReglasNegocio.validarInicioTurno(montoInicial, denominacionesIniciales);
+        TurnoCaja turno = ReglasNegocio.nuevoTurno(codigoTurno, codigoCaja, codigoCajero, montoInicial, inventario);
+
+        // La unicidad del turno abierto por caja y por cajero la garantizan los índices únicos
+        // parciales, así que abrir el turno es un único insert sin consultas previas.
+        TurnoCaja turnoGuardado;
+        try {
+            turnoGuardado = turnoCajaRepository.insert(turno);
+        } catch (DuplicateKeyException e) {
+            throw ReglasNegocio.traducirTurnoDuplicado(e, codigoTurno, codigoCaja, codigoCajero);
         }
+        turnosAbiertosCache.invalidar(codigoTurno);
 
-        if (turnoCajaRepository.existsByCodigoCajaAndEstado(codigoCaja, Enums.EstadoTurno.ABIERTO)) {
-            throw new BusinessException("Ya existe un turno abierto para la caja: " + codigoCaja, 1002);
-        }
-
-        if (turnoCajaRepository.existsByCodigoCajeroAndEstado(codigoCajero, Enums.EstadoTurno.ABIERTO)) {
-            throw new BusinessException("El cajero: " + codigoCajero + " ya tiene un turno abierto", 1003);
-        }
-
-        TurnoCaja turno = new TurnoCaja(codigoTurno);
-        turno.setCodigoCaja(codigoCaja);
-        turno.setCodigoCajero(codigoCajero);
-        turno.setInicioTurno(LocalDateTime.now());
-        turno.setMontoInicial(montoInicial);
-        turno.setEstado(Enums.EstadoTurno.ABIERTO);
-
-        TurnoCaja turnoGuardado = turnoCajaRepository.save(turno);
-
-        TransaccionTurno transaccionInicio = new TransaccionTurno();
-        transaccionInicio.setCodigoTurno(codigoTurno);
-        transaccionInicio.setCodigoCaja(codigoCaja);
-        transaccionInicio.setCodigoCajero(codigoCajero);
-        transaccionInicio.setTipoTransaccion(Enums.TipoTransaccion.INICIO);
-        transaccionInicio.setMontoTotal(montoInicial);
-        transaccionInicio.setFechaHora(LocalDateTime.now());
+        TransaccionTurno transaccionInicio = ReglasNegocio.transaccionDeTurno(
+                secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO), turno,
+                Enums.TipoTransaccion.INICIO, montoInicial);
 
-        transaccionTurnoRepository.save(transaccionInicio);
+        transaccionTurnoRepository.insert(transaccionInicio);
+        metricasNegocio.transaccionRegistrada(Enums.TipoTransaccion.INICIO, montoInicial);
 
         return turnoGuardado;
     }
 
     @Transactional
+    @Timed(value = MetricasNegocio.TIMER_CERRAR_TURNO, histogram = true)
     public TurnoCaja cerrarTurno(String codigoTurno, BigDecimal montoFinal) {
-        
+        // El cierre reemplaza el documento completo del turno: ninguna transacción del mismo turno
+        // puede aplicarse entre la lectura y el guardado, o su movimiento se perdería.
+        return secuenciadorTurnos.ejecutar(codigoTurno, () -> cerrar(codigoTurno, montoFinal));
+    }
+
+    private TurnoCaja cerrar(String codigoTurno, BigDecimal montoFinal) {
         Optional<TurnoCaja> turnoOptional = turnoCajaRepository.findById(codigoTurno);
         if (turnoOptional.isEmpty()) {
             throw new NotFoundException("No se encontró el turno con código: " + codigoTurno, 2001);
@@ -78,42 +104,168 @@ public class TurnoCajaService {
         TurnoCaja turno = turnoOptional.get();
 
         if (turno.getEstado() != Enums.EstadoTurno.ABIERTO) {
-            throw new BusinessException("El turno: " + codigoTurno + " no está abierto", 2002);
+            turnosAbiertosCache.invalidar(codigoTurno);
         }
+        ReglasNegocio.validarCierreTurno(turno, montoFinal);
 
-        if (montoFinal == null || montoFinal.compareTo(BigDecimal.ZERO) < 0) {
-            throw new BusinessException("El monto final debe ser mayor o igual a cero", 2003);
-        }
-
-        BigDecimal montoEsperado = calcularMontoEsperado(codigoTurno);
-
-        if (montoFinal.compareTo(montoEsperado) != 0) {
-            BigDecimal diferencia = montoFinal.subtract(montoEsperado);
-            System.err.println("ALERTA: Discrepancia en turno " + codigoTurno + 
-                             ". Monto final: " + montoFinal + 
-                             ", Monto esperado: " + montoEsperado + 
-                             ", Diferencia: " + diferencia);
-        }
+        BigDecimal montoEsperado = calcularMontoEsperado(turno);
 
         turno.setFinTurno(LocalDateTime.now());
         turno.setMontoFinal(montoFinal);
         turno.setEstado(Enums.EstadoTurno.CERRADO);
 
         TurnoCaja turnoCerrado = turnoCajaRepository.save(turno);
+        turnosAbiertosCache.invalidar(codigoTurno);
+
+        if (montoFinal.compareTo(montoEsperado) != 0) {
+            publicadorDiscrepancias.publicar(
+                    ReglasNegocio.discrepanciaDe(turno, montoFinal, montoEsperado, turno.getFinTurno()));
+        }
 
-        TransaccionTurno transaccionCierre = new TransaccionTurno();
-        transaccionCierre.setCodigoTurno(codigoTurno);
-        transaccionCierre.setCodigoCaja(turno.getCodigoCaja());
-        transaccionCierre.setCodigoCajero(turno.getCodigoCajero());
-        transaccionCierre.setTipoTransaccion(Enums.TipoTransaccion.CIERRE);
-        transaccionCierre.setMontoTotal(montoFinal);
-        transaccionCierre.setFechaHora(LocalDateTime.now());
+        TransaccionTurno transaccionCierre = ReglasNegocio.transaccionDeTurno(
+                secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO), turno,
+                Enums.TipoTransaccion.CIERRE, montoFinal);
 
-        transaccionTurnoRepository.save(transaccionCierre);
+        transaccionTurnoRepository.insert(transaccionCierre);
+        metricasNegocio.transaccionRegistrada(Enums.TipoTransaccion.CIERRE, montoFinal);
+        metricasNegocio.turnoCerrado(montoFinal, montoEsperado);
 
         return turnoCerrado;
     }
 
+    /**
+     * Cierra varios turnos a la vez con el monto final declarado de cada uno. Los turnos se leen
+     * en una sola consulta, el monto esperado de los que no tienen saldo materializado se calcula
+     * en una sola agregación y el cambio de estado y las transacciones de CIERRE se escriben con
+     * escrituras masivas. Cada turno recibe su propio resultado; un turno rechazado no impide
+     * cerrar los demás.
+     */
+    @Transactional
+    @Timed(value = MetricasNegocio.TIMER_CERRAR_TURNOS, histogram = true)
+    public List<ResultadoCierre> cerrarTurnos(Map<String, BigDecimal> montosFinales) {
+        return secuenciadorTurnos.ejecutar(montosFinales.keySet(), () -> cerrar(montosFinales));
+    }
+
+    private List<ResultadoCierre> cerrar(Map<String, BigDecimal> montosFinales) {
+        Map<String, TurnoCaja> turnos = new HashMap<>();
+        for (TurnoCaja turno : turnoCajaRepository.findAllById(montosFinales.keySet())) {
+            turnos.put(turno.getCodigoTurno(), turno);
+        }
+
+        Map<String, ResultadoCierre> resultados = new LinkedHashMap<>();
+        Map<String, BigDecimal> porCerrar = new LinkedHashMap<>();
+        List<String> sinSaldo = new ArrayList<>();
+        for (Map.Entry<String, BigDecimal> cierre : montosFinales.entrySet()) {
+            String codigoTurno = cierre.getKey();
+            BigDecimal montoFinal = cierre.getValue();
+            TurnoCaja turno = turnos.get(codigoTurno);
+            if (turno == null) {
+                resultados.put(codigoTurno, ResultadoCierre.rechazado(codigoTurno, montoFinal, 2001,
+                        "No se encontró el turno con código: " + codigoTurno));
+            } else if (turno.getEstado() != Enums.EstadoTurno.ABIERTO) {
+                resultados.put(codigoTurno, ResultadoCierre.rechazado(codigoTurno, montoFinal, 2002,
+                        "El turno: " + codigoTurno + " no está abierto"));
+            } else if (montoFinal == null || montoFinal.compareTo(BigDecimal.ZERO) < 0) {
+                resultados.put(codigoTurno, ResultadoCierre.rechazado(codigoTurno, montoFinal, 2003,
+                        "El monto final debe ser mayor o igual a cero"));
+            } else {
+                resultados.put(codigoTurno, null);
+                porCerrar.put(codigoTurno, montoFinal);
+                if (turno.getSaldoActual() == null) {
+                    sinSaldo.add(codigoTurno);
+                }
+            }
+        }
+
+        Map<String, BigDecimal> movimientos = sinSaldo.isEmpty()
+                ? Map.of()
+                : transaccionTurnoRepository.sumarMovimientosPorTurno(sinSaldo);
+
+        // Mongo guarda las fechas en milisegundos; se trunca para poder comparar al releer.
+        LocalDateTime finTurno = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        long cerrados = turnoCajaRepository.cerrarLote(porCerrar, finTurno);
+        porCerrar.keySet().forEach(turnosAbiertosCache::invalidar);
+        Set<String> cerradosAqui = porCerrar.keySet();
+        if (cerrados != porCerrar.size()) {
+            // Otro proceso cerró alguno entre la lectura y la escritura: solo son nuestros los que
+            // quedaron con la fecha de fin de este lote.
+            cerradosAqui = new HashSet<>();
+            for (TurnoCaja turno : turnoCajaRepository.findAllById(porCerrar.keySet())) {
+                if (turno.getEstado() == Enums.EstadoTurno.CERRADO && finTurno.equals(turno.getFinTurno())) {
+                    cerradosAqui.add(turno.getCodigoTurno());
+                }
+            }
+        }
+
+        List<TransaccionTurno> transaccionesCierre = new ArrayList<>(cerradosAqui.size());
+        for (Map.Entry<String, BigDecimal> cierre : porCerrar.entrySet()) {
+            String codigoTurno = cierre.getKey();
+            BigDecimal montoFinal = cierre.getValue();
+            if (!cerradosAqui.contains(codigoTurno)) {
+                resultados.put(codigoTurno, ResultadoCierre.rechazado(codigoTurno, montoFinal, 2002,
+                        "El turno: " + codigoTurno + " no está abierto"));
+                continue;
+            }
+
+            TurnoCaja turno = turnos.get(codigoTurno);
+            BigDecimal montoEsperado = turno.getSaldoActual();
+            if (montoEsperado == null) {
+                BigDecimal montoInicial = turno.getMontoInicial() != null ? turno.getMontoInicial() : BigDecimal.ZERO;
+                montoEsperado = montoInicial.add(movimientos.getOrDefault(codigoTurno, BigDecimal.ZERO));
+            }
+            ResultadoCierre resultado = ResultadoCierre.cerrado(codigoTurno, montoFinal, montoEsperado);
+            if (resultado.hayDiscrepancia()) {
+                publicadorDiscrepancias.publicar(ReglasNegocio.discrepanciaDe(turno, montoFinal, montoEsperado, finTurno));
+            }
+            metricasNegocio.turnoCerrado(montoFinal, montoEsperado);
+            resultados.put(codigoTurno, resultado);
+
+            TransaccionTurno transaccionCierre = new TransaccionTurno(secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO));
+            transaccionCierre.setCodigoTurno(codigoTurno);
+            transaccionCierre.setCodigoCaja(turno.getCodigoCaja());
+            transaccionCierre.setCodigoCajero(turno.getCodigoCajero());
+            transaccionCierre.setTipoTransaccion(Enums.TipoTransaccion.CIERRE);
+            transaccionCierre.setMontoTotal(montoFinal);
+            transaccionCierre.setFechaHora(finTurno);
+            transaccionesCierre.add(transaccionCierre);
+        }
+
+        Set<Integer> noRegistradas = insertarCierres(transaccionesCierre);
+        for (int i = 0; i < transaccionesCierre.size(); i++) {
+            TransaccionTurno transaccionCierre = transaccionesCierre.get(i);
+            if (noRegistradas.contains(i)) {
+                String codigoTurno = transaccionCierre.getCodigoTurno();
+                resultados.put(codigoTurno, ResultadoCierre.incompleto(resultados.get(codigoTurno), 2005,
+                        "El turno: " + codigoTurno + " se cerró pero no se pudo registrar su transacción de cierre"));
+            } else {
+                metricasNegocio.transaccionRegistrada(Enums.TipoTransaccion.CIERRE, transaccionCierre.getMontoTotal());
+            }
+        }
+
+        return new ArrayList<>(resultados.values());
+    }
+
+    // Inserta las transacciones de CIERRE y reintenta una vez, con un ID nuevo, las que fallan por
+    // clave duplicada. Retorna los índices de las que tampoco se registraron en el reintento.
+    private Set<Integer> insertarCierres(List<TransaccionTurno> transaccionesCierre) {
+        List<Integer> fallidas = transaccionTurnoRepository.insertarLote(transaccionesCierre, false);
+        if (fallidas.isEmpty()) {
+            return Set.of();
+        }
+
+        List<TransaccionTurno> reintentos = new ArrayList<>(fallidas.size());
+        for (int indice : fallidas) {
+            TransaccionTurno transaccion = transaccionesCierre.get(indice);
+            transaccion.setId(secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO));
+            reintentos.add(transaccion);
+        }
+        Set<Integer> noRegistradas = new HashSet<>();
+        for (int indice : transaccionTurnoRepository.insertarLote(reintentos, false)) {
+            noRegistradas.add(fallidas.get(indice));
+        }
+        return noRegistradas;
+    }
+
     @Transactional(readOnly = true)
     public TurnoCaja findByCodigoTurno(String codigoTurno) {
         return turnoCajaRepository.findById(codigoTurno)
@@ -121,13 +273,52 @@ public class TurnoCajaService {
     }
 
     @Transactional(readOnly = true)
-    public List<TurnoCaja> findTurnosAbiertosByCaja(String codigoCaja) {
-        return turnoCajaRepository.findByCodigoCajaAndEstado(codigoCaja, Enums.EstadoTurno.ABIERTO);
+    public int[] obtenerInventario(String codigoTurno) {
+        int[] inventario = findByCodigoTurno(codigoTurno).getInventarioBilletes();
+        return inventario != null ? inventario : InventarioBilletes.vacio();
+    }
+
+    @Transactional(readOnly = true)
+    public Pagina<TurnoCaja> findTurnosAbiertosByCaja(String codigoCaja, String cursor, int limite) {
+        CursorPaginacion.validarLimite(limite);
+        CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+        List<TurnoCaja> filas = turnoCajaRepository.buscarAbiertosPorCaja(codigoCaja,
+                posicion != null ? posicion.getFecha() : null,
+                posicion != null ? posicion.getId() : null,
+                limite + 1);
+        return Pagina.desde(filas, limite, t -> CursorPaginacion.codificar(t.getInicioTurno(), t.getCodigoTurno()));
     }
 
     @Transactional(readOnly = true)
-    public List<TurnoCaja> findTurnosAbiertosByCajero(String codigoCajero) {
-        return turnoCajaRepository.findByCodigoCajeroAndEstado(codigoCajero, Enums.EstadoTurno.ABIERTO);
+    public Pagina<TurnoCaja> findTurnosAbiertosByCajero(String codigoCajero, String cursor, int limite) {
+        CursorPaginacion.validarLimite(limite);
+        CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+        List<TurnoCaja> filas = turnoCajaRepository.buscarAbiertosPorCajero(codigoCajero,
+                posicion != null ? posicion.getFecha() : null,
+                posicion != null ? posicion.getId() : null,
+                limite + 1);
+        return Pagina.desde(filas, limite, t -> CursorPaginacion.codificar(t.getInicioTurno(), t.getCodigoTurno()));
+    }
+
+    /**
+     * Discrepancias de cierre en un rango de fechas, opcionalmente de una caja, por página
+     * ordenada por fecha de cierre. Las del último segundo pueden no aparecer todavía: se guardan
+     * de forma asíncrona.
+     */
+    @Transactional(readOnly = true)
+    public Pagina<DiscrepanciaTurno> findDiscrepancias(String codigoCaja, LocalDateTime desde, LocalDateTime hasta,
+                                                       String cursor, int limite) {
+        if (desde == null || hasta == null || desde.isAfter(hasta)) {
+            throw new BusinessException("El rango de fechas no es válido", 9003);
+        }
+        CursorPaginacion.validarLimite(limite);
+        CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+        List<DiscrepanciaTurno> filas = discrepanciaTurnoRepository.buscarPagina(
+                codigoCaja == null || codigoCaja.isBlank() ? null : codigoCaja, desde, hasta,
+                posicion != null ? posicion.getFecha() : null,
+                posicion != null ? posicion.getId() : null,
+                limite + 1);
+        return Pagina.desde(filas, limite, d -> CursorPaginacion.codificar(d.getFechaCierre(), d.getCodigoTurno()));
     }
 
     @Transactional(readOnly = true)
@@ -140,18 +331,14 @@ public class TurnoCajaService {
         return turnoCajaRepository.existsByCodigoCajeroAndEstado(codigoCajero, Enums.EstadoTurno.ABIERTO);
     }
 
-    private BigDecimal calcularMontoEsperado(String codigoTurno) {
-        BigDecimal montoInicial = turnoCajaRepository.findById(codigoTurno)
-                .map(TurnoCaja::getMontoInicial)
-                .orElse(BigDecimal.ZERO);
-
-        BigDecimal totalTransacciones = transaccionTurnoRepository.findByCodigoTurno(codigoTurno)
-                .stream()
-                .filter(t -> t.getTipoTransaccion() != Enums.TipoTransaccion.INICIO && 
-                           t.getTipoTransaccion() != Enums.TipoTransaccion.CIERRE)
-                .map(TransaccionTurno::getMontoTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    BigDecimal calcularMontoEsperado(TurnoCaja turno) {
+        if (turno.getSaldoActual() != null) {
+            return turno.getSaldoActual();
+        }
 
-        return montoInicial.add(totalTransacciones);
+        // Misma suma que el cierre por lote y el saldo: depósitos menos ahorros, calculada en la base.
+        BigDecimal montoInicial = turno.getMontoInicial() != null ? turno.getMontoInicial() : BigDecimal.ZERO;
+        return montoInicial.add(transaccionTurnoRepository.sumarMovimientosPorTurno(List.of(turno.getCodigoTurno()))
+                .getOrDefault(turno.getCodigoTurno(), BigDecimal.ZERO));
     }
 } 
\ No newline at end of file
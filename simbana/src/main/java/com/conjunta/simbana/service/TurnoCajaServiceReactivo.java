@@ -0,0 +1,175 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.exception.NotFoundException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.conjunta.simbana.repository.TransaccionTurnoRepositoryReactivo;
+import com.conjunta.simbana.repository.TurnoCajaRepositoryReactivo;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Versión no bloqueante de {@link TurnoCajaService} para el perfil "reactivo". Aplica las mismas
+ * reglas ({@link ReglasNegocio}) con los mismos códigos de error. Los caminos que solo existen
+ * para turnos antiguos sin saldo materializado, y la reserva de bloques de IDs, delegan en el
+ * código bloqueante sobre el scheduler boundedElastic para no bloquear el event loop.
+ */
+@Service
+@Profile("reactivo")
+public class TurnoCajaServiceReactivo {
+
+    private final TurnoCajaRepositoryReactivo turnoCajaRepository;
+    private final TransaccionTurnoRepositoryReactivo transaccionTurnoRepository;
+    private final SecuenciaService secuenciaService;
+    private final TurnosAbiertosCache turnosAbiertosCache;
+    private final TurnoCajaService turnoCajaService;
+    private final MetricasNegocio metricasNegocio;
+    private final PublicadorDiscrepancias publicadorDiscrepancias;
+
+    public TurnoCajaServiceReactivo(TurnoCajaRepositoryReactivo turnoCajaRepository,
+                                    TransaccionTurnoRepositoryReactivo transaccionTurnoRepository,
+                                    SecuenciaService secuenciaService,
+                                    TurnosAbiertosCache turnosAbiertosCache,
+                                    TurnoCajaService turnoCajaService,
+                                    MetricasNegocio metricasNegocio,
+                                    PublicadorDiscrepancias publicadorDiscrepancias) {
+        this.turnoCajaRepository = turnoCajaRepository;
+        this.transaccionTurnoRepository = transaccionTurnoRepository;
+        this.secuenciaService = secuenciaService;
+        this.turnosAbiertosCache = turnosAbiertosCache;
+        this.turnoCajaService = turnoCajaService;
+        this.metricasNegocio = metricasNegocio;
+        this.publicadorDiscrepancias = publicadorDiscrepancias;
+    }
+
+    public Mono<TurnoCaja> iniciarTurno(String codigoTurno, String codigoCaja, String codigoCajero,
+                                        BigDecimal montoInicial, List<DenominacionTransaccion> denominacionesIniciales) {
+        return metricasNegocio.cronometrar(MetricasNegocio.TIMER_INICIAR_TURNO, TurnoCajaServiceReactivo.class, "iniciarTurno",
+                Mono.fromCallable(() -> ReglasNegocio.validarInicioTurno(montoInicial, denominacionesIniciales))
+                .map(inventario -> ReglasNegocio.nuevoTurno(codigoTurno, codigoCaja, codigoCajero, montoInicial, inventario))
+                .flatMap(turno -> turnoCajaRepository.insert(turno)
+                        .onErrorMap(DuplicateKeyException.class,
+                                e -> ReglasNegocio.traducirTurnoDuplicado(e, codigoTurno, codigoCaja, codigoCajero)))
+                .flatMap(turnoGuardado -> {
+                    turnosAbiertosCache.invalidar(codigoTurno);
+                    return siguienteId()
+                            .map(id -> ReglasNegocio.transaccionDeTurno(id, turnoGuardado,
+                                    Enums.TipoTransaccion.INICIO, montoInicial))
+                            .flatMap(transaccionTurnoRepository::insert)
+                            .doOnSuccess(transaccion -> metricasNegocio.transaccionRegistrada(
+                                    Enums.TipoTransaccion.INICIO, montoInicial))
+                            .thenReturn(turnoGuardado);
+                }));
+    }
+
+    public Mono<TurnoCaja> cerrarTurno(String codigoTurno, BigDecimal montoFinal) {
+        return metricasNegocio.cronometrar(MetricasNegocio.TIMER_CERRAR_TURNO, TurnoCajaServiceReactivo.class, "cerrarTurno",
+                turnoCajaRepository.findById(codigoTurno)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("No se encontró el turno con código: " + codigoTurno, 2001)))
+                .flatMap(turno -> {
+                    if (turno.getEstado() != Enums.EstadoTurno.ABIERTO) {
+                        turnosAbiertosCache.invalidar(codigoTurno);
+                    }
+                    ReglasNegocio.validarCierreTurno(turno, montoFinal);
+
+                    LocalDateTime finTurno = LocalDateTime.now();
+                    return calcularMontoEsperado(turno)
+                            .flatMap(montoEsperado -> turnoCajaRepository.cerrar(codigoTurno, montoFinal, finTurno)
+                                    .flatMap(cerrado -> {
+                                        if (!cerrado) {
+                                            return Mono.<TurnoCaja>error(new BusinessException(
+                                                    "El turno: " + codigoTurno + " no está abierto", 2002));
+                                        }
+                                        turnosAbiertosCache.invalidar(codigoTurno);
+                                        if (montoFinal.compareTo(montoEsperado) != 0) {
+                                            publicadorDiscrepancias.publicar(
+                                                    ReglasNegocio.discrepanciaDe(turno, montoFinal, montoEsperado, finTurno));
+                                        }
+
+                                        turno.setFinTurno(finTurno);
+                                        turno.setMontoFinal(montoFinal);
+                                        turno.setEstado(Enums.EstadoTurno.CERRADO);
+                                        return siguienteId()
+                                                .map(id -> ReglasNegocio.transaccionDeTurno(id, turno,
+                                                        Enums.TipoTransaccion.CIERRE, montoFinal))
+                                                .flatMap(transaccionTurnoRepository::insert)
+                                                .doOnSuccess(transaccion -> {
+                                                    metricasNegocio.transaccionRegistrada(Enums.TipoTransaccion.CIERRE, montoFinal);
+                                                    metricasNegocio.turnoCerrado(montoFinal, montoEsperado);
+                                                })
+                                                .thenReturn(turno);
+                                    }));
+                }));
+    }
+
+    public Mono<TurnoCaja> findByCodigoTurno(String codigoTurno) {
+        return turnoCajaRepository.findById(codigoTurno)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("No se encontró el turno con código: " + codigoTurno, 3001)));
+    }
+
+    public Mono<int[]> obtenerInventario(String codigoTurno) {
+        return findByCodigoTurno(codigoTurno)
+                .map(turno -> turno.getInventarioBilletes() != null
+                        ? turno.getInventarioBilletes()
+                        : InventarioBilletes.vacio());
+    }
+
+    public Mono<Pagina<TurnoCaja>> findTurnosAbiertosByCaja(String codigoCaja, String cursor, int limite) {
+        return Mono.defer(() -> {
+            CursorPaginacion.validarLimite(limite);
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            return turnoCajaRepository.buscarAbiertosPorCaja(codigoCaja,
+                            posicion != null ? posicion.getFecha() : null,
+                            posicion != null ? posicion.getId() : null,
+                            limite + 1)
+                    .collectList()
+                    .map(filas -> Pagina.desde(filas, limite,
+                            t -> CursorPaginacion.codificar(t.getInicioTurno(), t.getCodigoTurno())));
+        });
+    }
+
+    public Mono<Pagina<TurnoCaja>> findTurnosAbiertosByCajero(String codigoCajero, String cursor, int limite) {
+        return Mono.defer(() -> {
+            CursorPaginacion.validarLimite(limite);
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor);
+            return turnoCajaRepository.buscarAbiertosPorCajero(codigoCajero,
+                            posicion != null ? posicion.getFecha() : null,
+                            posicion != null ? posicion.getId() : null,
+                            limite + 1)
+                    .collectList()
+                    .map(filas -> Pagina.desde(filas, limite,
+                            t -> CursorPaginacion.codificar(t.getInicioTurno(), t.getCodigoTurno())));
+        });
+    }
+
+    public Mono<Boolean> existsTurnoAbiertoByCaja(String codigoCaja) {
+        return turnoCajaRepository.existsByCodigoCajaAndEstado(codigoCaja, Enums.EstadoTurno.ABIERTO);
+    }
+
+    public Mono<Boolean> existsTurnoAbiertoByCajero(String codigoCajero) {
+        return turnoCajaRepository.existsByCodigoCajeroAndEstado(codigoCajero, Enums.EstadoTurno.ABIERTO);
+    }
+
+    private Mono<BigDecimal> calcularMontoEsperado(TurnoCaja turno) {
+        if (turno.getSaldoActual() != null) {
+            return Mono.just(turno.getSaldoActual());
+        }
+        return Mono.fromCallable(() -> turnoCajaService.calcularMontoEsperado(turno))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // Casi siempre sale de memoria; solo cada tamaño-de-bloque IDs se reserva un bloque en Mongo.
+    private Mono<Integer> siguienteId() {
+        return Mono.fromCallable(() -> secuenciaService.siguienteId(SecuenciaService.TRANSACCIONES_TURNO))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,92 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TurnoCaja;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache acotada del estado de los turnos abiertos, para validar transacciones sin leer el turno
+ * de la base. Solo guarda turnos ABIERTO; iniciar y cerrar un turno invalidan su entrada. Una
+ * entrada desactualizada por otra instancia no compromete el saldo: los movimientos se aplican
+ * con actualizaciones condicionadas a que el turno siga abierto, y la expiración acota el tiempo
+ * que puede durar.
+ */
+@Component
+public class TurnosAbiertosCache {
+
+    private final Cache<String, TurnoAbierto> turnos;
+
+    public TurnosAbiertosCache(@Value("${simbana.cache.turnos.tamano-maximo:10000}") long tamanoMaximo,
+                               @Value("${simbana.cache.turnos.expiracion:5m}") Duration expiracion) {
+        this.turnos = Caffeine.newBuilder()
+                .maximumSize(tamanoMaximo)
+                .expireAfterWrite(expiracion)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna el turno si está en cache (y por lo tanto abierto), o null si hay que leerlo de la base.
+     */
+    public TurnoAbierto obtener(String codigoTurno) {
+        return turnos.getIfPresent(codigoTurno);
+    }
+
+    public void registrar(TurnoCaja turno) {
+        if (turno.getEstado() == Enums.EstadoTurno.ABIERTO) {
+            turnos.put(turno.getCodigoTurno(), new TurnoAbierto(turno.getCodigoCaja(), turno.getCodigoCajero(),
+                                                                turno.getEstado(), turno.getVersion()));
+        } else {
+            turnos.invalidate(turno.getCodigoTurno());
+        }
+    }
+
+    public void invalidar(String codigoTurno) {
+        turnos.invalidate(codigoTurno);
+    }
+
+    public CacheStats estadisticas() {
+        return turnos.stats();
+    }
+
+    public long tamano() {
+        return turnos.estimatedSize();
+    }
+
+    public static final class TurnoAbierto {
+
+        private final String codigoCaja;
+        private final String codigoCajero;
+        private final Enums.EstadoTurno estado;
+        private final Long version;
+
+        TurnoAbierto(String codigoCaja, String codigoCajero, Enums.EstadoTurno estado, Long version) {
+            this.codigoCaja = codigoCaja;
+            this.codigoCajero = codigoCajero;
+            this.estado = estado;
+            this.version = version;
+        }
+
+        public String getCodigoCaja() {
+            return codigoCaja;
+        }
+
+        public String getCodigoCajero() {
+            return codigoCajero;
+        }
+
+        public Enums.EstadoTurno getEstado() {
+            return estado;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+    }
+}
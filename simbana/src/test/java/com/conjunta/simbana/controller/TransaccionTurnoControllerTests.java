@@ -0,0 +1,121 @@
+package com.conjunta.simbana.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Registra transacciones con su desglose de billetes a través de la API, con los repositorios
+ * del perfil memoria.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("memoria")
+class TransaccionTurnoControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void registraTransaccionesConDenominaciones() throws Exception {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+        String codigoTurno = "T-" + sufijo;
+        String codigoCaja = "CAJA-" + sufijo;
+        String codigoCajero = "CAJERO-" + sufijo;
+
+        mockMvc.perform(post("/v1/cashboxes/turnos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "%s", "codigoCaja": "%s", "codigoCajero": "%s",
+                                 "montoInicial": 100.00,
+                                 "denominacionesIniciales": [{"billete": 20, "cantidad": 5}]}
+                                """.formatted(codigoTurno, codigoCaja, codigoCajero)))
+                .andExpect(status().isCreated());
+
+        String deposito = mockMvc.perform(post("/v1/cashboxes/transacciones/deposito")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "%s", "codigoCaja": "%s", "codigoCajero": "%s",
+                                 "tipoTransaccion": "DEPOSITO", "montoTotal": 150.00,
+                                 "denominaciones": [{"billete": 100, "cantidad": 1}, {"billete": 50, "cantidad": 1}]}
+                                """.formatted(codigoTurno, codigoCaja, codigoCajero)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/v1/cashboxes/transacciones/ahorro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "%s", "codigoCaja": "%s", "codigoCajero": "%s",
+                                 "tipoTransaccion": "AHORRO", "montoTotal": 40.00,
+                                 "denominaciones": [{"billete": 20, "cantidad": 2}]}
+                                """.formatted(codigoTurno, codigoCaja, codigoCajero)))
+                .andExpect(status().isCreated());
+
+        JsonNode transaccion = objectMapper.readTree(deposito);
+        mockMvc.perform(get("/v1/cashboxes/transacciones/{id}/denominaciones", transaccion.get("id").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[?(@.billete == 100)].cantidad").value(1))
+                .andExpect(jsonPath("$[?(@.billete == 50)].cantidad").value(1));
+
+        mockMvc.perform(get("/v1/cashboxes/transacciones/turno/{codigoTurno}/saldo", codigoTurno))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(210.00));
+    }
+
+    @Test
+    void rechazaUnaTransaccionSinDenominaciones() throws Exception {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+
+        mockMvc.perform(post("/v1/cashboxes/turnos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "T-%1$s", "codigoCaja": "CAJA-%1$s", "codigoCajero": "CAJERO-%1$s",
+                                 "montoInicial": 100.00,
+                                 "denominacionesIniciales": [{"billete": 50, "cantidad": 2}]}
+                                """.formatted(sufijo)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/v1/cashboxes/transacciones/ahorro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "T-%1$s", "codigoCaja": "CAJA-%1$s", "codigoCajero": "CAJERO-%1$s",
+                                 "tipoTransaccion": "AHORRO", "montoTotal": 50.00, "denominaciones": []}
+                                """.formatted(sufijo)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/v1/cashboxes/transacciones/turno/{codigoTurno}/saldo", "T-" + sufijo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(100.00));
+    }
+
+    @Test
+    void rechazaUnBilleteQueNoExiste() throws Exception {
+        String sufijo = UUID.randomUUID().toString().substring(0, 8);
+
+        mockMvc.perform(post("/v1/cashboxes/turnos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"codigoTurno": "T-%1$s", "codigoCaja": "CAJA-%1$s", "codigoCajero": "CAJERO-%1$s",
+                                 "montoInicial": 30.00,
+                                 "denominacionesIniciales": [{"billete": 30, "cantidad": 1}]}
+                                """.formatted(sufijo)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,46 @@
+package com.conjunta.simbana.controller.mapper;
+
+import com.conjunta.simbana.controller.dto.TransaccionTurnoDTO;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.TransaccionTurno;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * La fecha de la transacción llega al DTO tanto desde la entidad como desde la proyección que usan
+ * los listados y la exportación.
+ */
+class TransaccionTurnoMapperTests {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 1, 15, 8, 30);
+
+    private final TransaccionTurnoMapper mapper = Mappers.getMapper(TransaccionTurnoMapper.class);
+
+    @Test
+    void laEntidadConservaLaFecha() {
+        TransaccionTurno transaccion = new TransaccionTurno(1);
+        transaccion.setFechaHora(FECHA);
+
+        TransaccionTurnoDTO dto = mapper.toDTO(transaccion);
+
+        assertEquals(FECHA, dto.getFecha());
+        assertEquals(FECHA, mapper.toModel(dto).getFechaHora());
+    }
+
+    @Test
+    void elResumenConservaLaFecha() {
+        ResumenTransaccion resumen = new ResumenTransaccion(1, "T1", "CAJA01", "CAJERO01",
+                Enums.TipoTransaccion.DEPOSITO, new BigDecimal("10.00"), FECHA, 0L);
+
+        TransaccionTurnoDTO dto = mapper.toDTO(resumen);
+
+        assertEquals(FECHA, dto.getFecha());
+        assertEquals("DEPOSITO", dto.getTipoTransaccion());
+    }
+}
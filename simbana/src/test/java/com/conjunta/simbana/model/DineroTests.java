@@ -0,0 +1,66 @@
+package com.conjunta.simbana.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DineroTests {
+
+    private static final BigDecimal MAXIMO = Dinero.aBigDecimal(Long.MAX_VALUE);
+
+    @Test
+    void convierteMontosExactos() {
+        assertEquals(1050, Dinero.centavos(new BigDecimal("10.5")));
+        assertEquals(1050, Dinero.centavos(new BigDecimal("10.500")));
+        assertEquals(2000, Dinero.centavos(new BigDecimal("20")));
+        assertEquals(2000, Dinero.centavos(new BigDecimal("2E+1")));
+        assertEquals(new BigDecimal("12.34"), Dinero.aBigDecimal(1234));
+    }
+
+    @Test
+    void distingueFraccionesDeCentavoDeMontosQueNoCaben() {
+        assertTrue(Dinero.tieneFraccionDeCentavo(new BigDecimal("10.001")));
+        assertFalse(Dinero.tieneFraccionDeCentavo(new BigDecimal("10.010")));
+        assertFalse(Dinero.tieneFraccionDeCentavo(new BigDecimal("1E+30")));
+
+        assertTrue(Dinero.dentroDeRango(new BigDecimal("10.001")));
+        assertFalse(Dinero.dentroDeRango(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void elRangoSeCompruebaEnLosLimitesDelLong() {
+        BigDecimal minimo = Dinero.aBigDecimal(Long.MIN_VALUE);
+        BigDecimal centavo = new BigDecimal("0.01");
+
+        assertTrue(Dinero.dentroDeRango(new BigDecimal("9999999999999999.99")));
+        assertTrue(Dinero.dentroDeRango(MAXIMO));
+        assertTrue(Dinero.dentroDeRango(minimo));
+        assertFalse(Dinero.dentroDeRango(MAXIMO.add(centavo)));
+        assertFalse(Dinero.dentroDeRango(minimo.subtract(centavo)));
+        assertEquals(Long.MAX_VALUE, Dinero.centavos(MAXIMO));
+        assertEquals(Long.MIN_VALUE, Dinero.centavos(minimo));
+    }
+
+    @Test
+    void elMayorMontoEnteroQueCabe() {
+        long pesos = Long.MAX_VALUE / 100;
+        assertEquals(pesos * 100, Dinero.centavos(BigDecimal.valueOf(pesos)));
+        assertThrows(ArithmeticException.class, () -> Dinero.centavos(BigDecimal.valueOf(pesos + 1)));
+    }
+
+    @Test
+    void losCentavosCompletosDescartanLasFraccionesHaciaAbajo() {
+        assertEquals(1000, Dinero.centavosCompletos(new BigDecimal("10.009")));
+        assertEquals(-1001, Dinero.centavosCompletos(new BigDecimal("-10.001")));
+        assertEquals(Long.MAX_VALUE, Dinero.centavosCompletos(MAXIMO));
+    }
+
+    @Test
+    void lasOperacionesFallanAlDesbordar() {
+        assertEquals(Long.MAX_VALUE, Dinero.sumar(Long.MAX_VALUE - 1, 1));
+        assertThrows(ArithmeticException.class, () -> Dinero.sumar(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Dinero.multiplicar(Long.MAX_VALUE / 2, 3));
+    }
+}
@@ -0,0 +1,119 @@
+package com.conjunta.simbana.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ejecuta explain sobre cada consulta derivada de los repositorios y falla si alguna
+ * se resuelve con un recorrido completo de la colección (COLLSCAN).
+ */
+@SpringBootTest
+class ConsultasDerivadasIndicesTests {
+
+    private static final Pattern CONSULTA_DERIVADA = Pattern.compile("^(find|exists|count|read|get|query|search|stream)");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    static Stream<Arguments> consultasDerivadas() {
+        return Stream.of(TurnoCajaRepository.class, TransaccionTurnoRepository.class, DenominacionTurnoRepository.class)
+                .flatMap(repositorio -> Arrays.stream(repositorio.getDeclaredMethods())
+                        .filter(metodo -> CONSULTA_DERIVADA.matcher(metodo.getName()).find())
+                        .map(metodo -> Arguments.of(repositorio.getSimpleName() + "." + metodo.getName(), repositorio, metodo)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultasDerivadas")
+    void consultaDerivadaUsaIndice(String nombre, Class<?> repositorio, Method metodo) {
+        Class<?> dominio = GenericTypeResolver.resolveTypeArguments(repositorio, MongoRepository.class)[0];
+        MongoPersistentEntity<?> entidad = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(dominio);
+        PartTree arbol = new PartTree(metodo.getName(), dominio);
+
+        Document filtro = new Document();
+        for (Part parte : arbol.getParts()) {
+            var propiedad = entidad.getRequiredPersistentProperty(parte.getProperty().getSegment());
+            Object valor = valorDeEjemplo(propiedad.getType());
+            filtro.put(propiedad.getFieldName(), condicion(nombre, parte.getType(), valor));
+        }
+
+        Document orden = new Document();
+        for (Sort.Order order : arbol.getSort()) {
+            orden.put(entidad.getRequiredPersistentProperty(order.getProperty()).getFieldName(),
+                    order.isAscending() ? 1 : -1);
+        }
+
+        int limite = arbol.isExistsProjection() ? 1 : arbol.isLimiting() ? arbol.getMaxResults() : 0;
+
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(dominio))
+                .find(filtro)
+                .sort(orden)
+                .limit(limite)
+                .explain();
+
+        Object planGanador = ((Document) explain.get("queryPlanner")).get("winningPlan");
+        assertFalse(contieneEtapa(planGanador, "COLLSCAN"),
+                nombre + " recorre toda la colección. Filtro: " + filtro.toJson() + ", plan: " + planGanador);
+    }
+
+    private static Object condicion(String nombre, Part.Type tipo, Object valor) {
+        return switch (tipo) {
+            case SIMPLE_PROPERTY -> valor;
+            case BETWEEN -> new Document("$gt", valor).append("$lt", valor);
+            case GREATER_THAN -> new Document("$gt", valor);
+            case GREATER_THAN_EQUAL -> new Document("$gte", valor);
+            case LESS_THAN -> new Document("$lt", valor);
+            case LESS_THAN_EQUAL -> new Document("$lte", valor);
+            default -> fail("Tipo de condición no soportado por la prueba en " + nombre + ": " + tipo);
+        };
+    }
+
+    private static Object valorDeEjemplo(Class<?> tipo) {
+        if (tipo.isEnum()) {
+            return ((Enum<?>) tipo.getEnumConstants()[0]).name();
+        }
+        if (Number.class.isAssignableFrom(tipo) && !java.math.BigDecimal.class.equals(tipo)) {
+            return 1;
+        }
+        if (LocalDateTime.class.equals(tipo)) {
+            return Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        return "1";
+    }
+
+    private static boolean contieneEtapa(Object plan, String etapa) {
+        if (plan instanceof Map<?, ?> documento) {
+            if (etapa.equals(documento.get("stage"))) {
+                return true;
+            }
+            return documento.values().stream().anyMatch(valor -> contieneEtapa(valor, etapa));
+        }
+        if (plan instanceof List<?> lista) {
+            return lista.stream().anyMatch(valor -> contieneEtapa(valor, etapa));
+        }
+        return false;
+    }
+}
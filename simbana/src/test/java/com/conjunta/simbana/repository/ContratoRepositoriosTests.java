@@ -0,0 +1,246 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.config.MongoIndexConfig;
+import com.conjunta.simbana.model.DiscrepanciaTurno;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.ResumenTransaccion;
+import com.conjunta.simbana.model.SaldoTurno;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comportamiento que deben cumplir por igual los repositorios de Mongo y los del perfil memoria.
+ * Cada prueba usa códigos propios para no depender del contenido previo de la base.
+ */
+public abstract class ContratoRepositoriosTests {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    private String prefijo;
+
+    protected abstract TurnoCajaRepository turnos();
+
+    protected abstract TransaccionTurnoRepository transacciones();
+
+    protected abstract DiscrepanciaTurnoRepository discrepancias();
+
+    @BeforeEach
+    void generarPrefijo() {
+        prefijo = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void soloUnTurnoAbiertoPorCaja() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO1"));
+
+        DuplicateKeyException duplicado = assertThrows(DuplicateKeyException.class,
+                () -> turnos().insert(turno("T2", "CAJA", "CAJERO2")));
+        assertTrue(duplicado.getMessage().contains(MongoIndexConfig.INDICE_CAJA_ABIERTA));
+
+        assertEquals(1, turnos().cerrarLote(Map.of(codigo("T1"), new BigDecimal("100.00")), INICIO.plusHours(8)));
+        assertDoesNotThrow(() -> turnos().insert(turno("T2", "CAJA", "CAJERO2")));
+    }
+
+    @Test
+    void insertarCodigoExistenteFalla() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+        TurnoCaja repetido = turno("T1", "OTRA", "OTRO");
+        repetido.setEstado(Enums.EstadoTurno.CERRADO);
+
+        assertThrows(DuplicateKeyException.class, () -> turnos().insert(repetido));
+    }
+
+    @Test
+    void debitarNoAplicaSinBilletesSuficientes() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+
+        assertFalse(turnos().debitarSaldo(codigo("T1"), new BigDecimal("50"), new int[] {0, 0, 0, 0, 2, 0}));
+        assertTrue(turnos().debitarSaldo(codigo("T1"), new BigDecimal("20"), new int[] {0, 0, 0, 1, 0, 0}));
+        assertTrue(turnos().acreditarSaldo(codigo("T1"), new BigDecimal("100"), new int[] {0, 0, 0, 0, 0, 1}));
+
+        TurnoCaja guardado = turnos().findById(codigo("T1")).orElseThrow();
+        assertEquals(0, new BigDecimal("180").compareTo(guardado.getSaldoActual()));
+        assertArrayEquals(new int[] {0, 0, 0, 4, 0, 1}, guardado.getInventarioBilletes());
+    }
+
+    @Test
+    void turnoCerradoNoAceptaMovimientos() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+        turnos().cerrarLote(Map.of(codigo("T1"), new BigDecimal("100")), INICIO.plusHours(8));
+
+        assertFalse(turnos().acreditarSaldo(codigo("T1"), BigDecimal.TEN, new int[] {0, 0, 1, 0, 0, 0}));
+        assertEquals(0, turnos().cerrarLote(Map.of(codigo("T1"), new BigDecimal("100")), INICIO.plusHours(9)));
+    }
+
+    @Test
+    void guardarConVersionDesactualizadaFalla() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+        TurnoCaja primera = turnos().findById(codigo("T1")).orElseThrow();
+        TurnoCaja segunda = turnos().findById(codigo("T1")).orElseThrow();
+        assertEquals(0L, primera.getVersion());
+
+        primera.setMontoFinal(new BigDecimal("100"));
+        turnos().save(primera);
+        assertEquals(1L, primera.getVersion());
+
+        segunda.setMontoFinal(new BigDecimal("90"));
+        assertThrows(OptimisticLockingFailureException.class, () -> turnos().save(segunda));
+        assertEquals(0, new BigDecimal("100").compareTo(
+                turnos().findById(codigo("T1")).orElseThrow().getMontoFinal()));
+    }
+
+    @Test
+    void movimientoEntreLecturaYGuardadoInvalidaLaVersion() {
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+        TurnoCaja leido = turnos().findById(codigo("T1")).orElseThrow();
+
+        assertTrue(turnos().acreditarSaldo(codigo("T1"), BigDecimal.TEN, new int[] {0, 0, 1, 0, 0, 0}));
+
+        leido.setEstado(Enums.EstadoTurno.CERRADO);
+        assertThrows(OptimisticLockingFailureException.class, () -> turnos().save(leido));
+        TurnoCaja guardado = turnos().findById(codigo("T1")).orElseThrow();
+        assertEquals(Enums.EstadoTurno.ABIERTO, guardado.getEstado());
+        assertEquals(0, new BigDecimal("110").compareTo(guardado.getSaldoActual()));
+    }
+
+    @Test
+    void paginaDeTransaccionesSigueElOrdenFechaId() {
+        int base = Math.abs(prefijo.hashCode() % 1_000_000) * 10;
+        transacciones().insert(List.of(
+                transaccion(base + 3, "T1", INICIO.plusMinutes(1)),
+                transaccion(base + 1, "T1", INICIO.plusMinutes(1)),
+                transaccion(base + 2, "T1", INICIO)));
+
+        List<ResumenTransaccion> primera = transacciones().buscarPaginaPorTurno(codigo("T1"), null, null, 2);
+        assertEquals(List.of(base + 2, base + 1), primera.stream().map(ResumenTransaccion::id).toList());
+
+        ResumenTransaccion ultima = primera.get(1);
+        List<ResumenTransaccion> segunda = transacciones().buscarPaginaPorTurno(codigo("T1"),
+                ultima.fechaHora(), ultima.id(), 2);
+        assertEquals(List.of(base + 3), segunda.stream().map(ResumenTransaccion::id).toList());
+    }
+
+    @Test
+    void proyeccionesTraenSoloLosCamposPedidos() {
+        int base = Math.abs(prefijo.hashCode() % 1_000_000) * 10;
+        transacciones().insert(transaccion(base + 1, "T1", INICIO));
+        turnos().insert(turno("T1", "CAJA", "CAJERO"));
+
+        ResumenTransaccion resumen = transacciones().buscarPaginaPorTurno(codigo("T1"), null, null, 1).get(0);
+        assertEquals(codigo("T1"), resumen.codigoTurno());
+        assertEquals(INICIO, resumen.fechaHora());
+        assertEquals(0, new BigDecimal("100").compareTo(resumen.montoTotal()));
+
+        SaldoTurno saldo = turnos().buscarSaldo(codigo("T1")).orElseThrow();
+        TurnoCaja turno = turnos().findById(codigo("T1")).orElseThrow();
+        assertEquals(0, turno.getMontoInicial().compareTo(saldo.montoInicial()));
+        assertEquals(0, turno.getSaldoActual().compareTo(saldo.saldoActual()));
+        assertTrue(turnos().buscarSaldo(codigo("T2")).isEmpty());
+    }
+
+    @Test
+    void loteOrdenadoSeDetieneEnElPrimerDuplicado() {
+        int base = Math.abs(prefijo.hashCode() % 1_000_000) * 10;
+        transacciones().insert(transaccion(base + 2, "T1", INICIO));
+
+        List<TransaccionTurno> lote = List.of(
+                transaccion(base + 1, "T1", INICIO),
+                transaccion(base + 2, "T1", INICIO),
+                transaccion(base + 3, "T1", INICIO));
+        assertEquals(List.of(1, 2), transacciones().insertarLote(lote, true));
+    }
+
+    @Test
+    void movimientosPorTurnoRestanLosAhorros() {
+        int base = Math.abs(prefijo.hashCode() % 1_000_000) * 10;
+        TransaccionTurno ahorro = transaccion(base + 2, "T1", INICIO);
+        ahorro.setTipoTransaccion(Enums.TipoTransaccion.AHORRO);
+        ahorro.setMontoTotal(new BigDecimal("30"));
+        transacciones().insert(List.of(transaccion(base + 1, "T1", INICIO), ahorro));
+
+        Map<String, BigDecimal> movimientos = transacciones().sumarMovimientosPorTurno(List.of(codigo("T1"), codigo("T2")));
+        assertEquals(0, new BigDecimal("70").compareTo(movimientos.get(codigo("T1"))));
+        assertFalse(movimientos.containsKey(codigo("T2")));
+    }
+
+    @Test
+    void insertarDiscrepanciasOmiteLasYaGuardadas() {
+        discrepancias().insertarNuevas(List.of(discrepancia("T1", "CAJA", INICIO)));
+
+        int insertadas = discrepancias().insertarNuevas(List.of(
+                discrepancia("T1", "CAJA", INICIO),
+                discrepancia("T2", "CAJA", INICIO)));
+        assertEquals(1, insertadas);
+        assertTrue(discrepancias().existsById(codigo("T2")));
+    }
+
+    @Test
+    void paginaDeDiscrepanciasSigueElOrdenFechaTurno() {
+        discrepancias().insertarNuevas(List.of(
+                discrepancia("T3", "CAJA", INICIO.plusMinutes(1)),
+                discrepancia("T2", "CAJA", INICIO.plusMinutes(1)),
+                discrepancia("T1", "CAJA", INICIO),
+                discrepancia("T4", "OTRA", INICIO)));
+
+        List<DiscrepanciaTurno> primera = discrepancias().buscarPagina(codigo("CAJA"),
+                INICIO, INICIO.plusHours(1), null, null, 2);
+        assertEquals(List.of(codigo("T1"), codigo("T2")),
+                primera.stream().map(DiscrepanciaTurno::getCodigoTurno).toList());
+
+        DiscrepanciaTurno ultima = primera.get(1);
+        List<DiscrepanciaTurno> segunda = discrepancias().buscarPagina(codigo("CAJA"),
+                INICIO, INICIO.plusHours(1), ultima.getFechaCierre(), ultima.getCodigoTurno(), 2);
+        assertEquals(List.of(codigo("T3")), segunda.stream().map(DiscrepanciaTurno::getCodigoTurno).toList());
+    }
+
+    protected String codigo(String nombre) {
+        return prefijo + "-" + nombre;
+    }
+
+    private TurnoCaja turno(String codigoTurno, String codigoCaja, String codigoCajero) {
+        TurnoCaja turno = new TurnoCaja(codigo(codigoTurno));
+        turno.setCodigoCaja(codigo(codigoCaja));
+        turno.setCodigoCajero(codigo(codigoCajero));
+        turno.setInicioTurno(INICIO);
+        turno.setMontoInicial(new BigDecimal("100"));
+        turno.setSaldoActual(new BigDecimal("100"));
+        turno.setInventarioBilletes(new int[] {0, 0, 0, 5, 0, 0});
+        turno.setEstado(Enums.EstadoTurno.ABIERTO);
+        return turno;
+    }
+
+    private DiscrepanciaTurno discrepancia(String codigoTurno, String codigoCaja, LocalDateTime fechaCierre) {
+        DiscrepanciaTurno discrepancia = new DiscrepanciaTurno(codigo(codigoTurno));
+        discrepancia.setCodigoCaja(codigo(codigoCaja));
+        discrepancia.setCodigoCajero(codigo("CAJERO"));
+        discrepancia.setMontoFinal(new BigDecimal("90"));
+        discrepancia.setMontoEsperado(new BigDecimal("100"));
+        discrepancia.setDiferencia(new BigDecimal("-10"));
+        discrepancia.setFechaCierre(fechaCierre.truncatedTo(ChronoUnit.MILLIS));
+        return discrepancia;
+    }
+
+    protected TransaccionTurno transaccion(int id, String codigoTurno, LocalDateTime fechaHora) {
+        TransaccionTurno transaccion = new TransaccionTurno(id);
+        transaccion.setCodigoTurno(codigo(codigoTurno));
+        transaccion.setCodigoCaja(codigo("CAJA"));
+        transaccion.setCodigoCajero(codigo("CAJERO"));
+        transaccion.setTipoTransaccion(Enums.TipoTransaccion.DEPOSITO);
+        transaccion.setMontoTotal(new BigDecimal("100"));
+        transaccion.setFechaHora(fechaHora.truncatedTo(ChronoUnit.MILLIS));
+        return transaccion;
+    }
+}
@@ -0,0 +1,70 @@
+package com.conjunta.simbana.repository;
+
+import com.conjunta.simbana.migracion.MontosDecimal128Migracion;
+import com.conjunta.simbana.model.TransaccionTurno;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RepositoriosMongoTests extends ContratoRepositoriosTests {
+
+    @Autowired
+    private TurnoCajaRepository turnoCajaRepository;
+
+    @Autowired
+    private TransaccionTurnoRepository transaccionTurnoRepository;
+
+    @Autowired
+    private DiscrepanciaTurnoRepository discrepanciaTurnoRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    protected TurnoCajaRepository turnos() {
+        return turnoCajaRepository;
+    }
+
+    @Override
+    protected TransaccionTurnoRepository transacciones() {
+        return transaccionTurnoRepository;
+    }
+
+    @Override
+    protected DiscrepanciaTurnoRepository discrepancias() {
+        return discrepanciaTurnoRepository;
+    }
+
+    @Test
+    void montosSeGuardanComoDecimal128YLaMigracionConvierteLosDeTexto() {
+        int base = Math.abs(codigo("").hashCode() % 1_000_000) * 10;
+        String coleccion = mongoTemplate.getCollectionName(TransaccionTurno.class);
+        transacciones().insert(transaccion(base + 1, "T1", LocalDateTime.of(2024, 1, 15, 8, 0)));
+        // Documento con el formato anterior: monto como texto.
+        mongoTemplate.getCollection(coleccion).insertOne(new Document("_id", base + 2)
+                .append("codigoTurno", codigo("T1"))
+                .append("tipoTransaccion", "DEPOSITO")
+                .append("montoTotal", "25.50"));
+
+        Document nuevo = mongoTemplate.getCollection(coleccion).find(new Document("_id", base + 1)).first();
+        assertInstanceOf(Decimal128.class, nuevo.get("montoTotal"));
+        assertEquals("DEPOSITO", nuevo.get("tipoTransaccion"));
+        assertEquals(0, new BigDecimal("125.50").compareTo(
+                transacciones().sumarMovimientosPorTurno(List.of(codigo("T1"))).get(codigo("T1"))));
+
+        new MontosDecimal128Migracion(mongoTemplate).migrar();
+
+        Document migrado = mongoTemplate.getCollection(coleccion).find(new Document("_id", base + 2)).first();
+        assertEquals(new Decimal128(new BigDecimal("25.50")), migrado.get("montoTotal"));
+    }
+}
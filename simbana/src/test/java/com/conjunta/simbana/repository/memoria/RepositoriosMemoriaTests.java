@@ -0,0 +1,31 @@
+package com.conjunta.simbana.repository.memoria;
+
+import com.conjunta.simbana.repository.ContratoRepositoriosTests;
+import com.conjunta.simbana.repository.DiscrepanciaTurnoRepository;
+import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import com.conjunta.simbana.repository.TurnoCajaRepository;
+
+/**
+ * Mismas pruebas que {@code RepositoriosMongoTests}, sin contexto de Spring ni MongoDB.
+ */
+class RepositoriosMemoriaTests extends ContratoRepositoriosTests {
+
+    private final TurnoCajaRepositoryMemoria turnos = new TurnoCajaRepositoryMemoria();
+    private final TransaccionTurnoRepositoryMemoria transacciones = new TransaccionTurnoRepositoryMemoria();
+    private final DiscrepanciaTurnoRepositoryMemoria discrepancias = new DiscrepanciaTurnoRepositoryMemoria();
+
+    @Override
+    protected TurnoCajaRepository turnos() {
+        return turnos;
+    }
+
+    @Override
+    protected TransaccionTurnoRepository transacciones() {
+        return transacciones;
+    }
+
+    @Override
+    protected DiscrepanciaTurnoRepository discrepancias() {
+        return discrepancias;
+    }
+}
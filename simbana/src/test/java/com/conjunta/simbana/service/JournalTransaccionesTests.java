@@ -0,0 +1,203 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TransaccionTurno;
+import com.conjunta.simbana.repository.TransaccionTurnoRepository;
+import com.conjunta.simbana.repository.memoria.TransaccionTurnoRepositoryMemoria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recuperación del journal tras un reinicio, con el repositorio en memoria como base. La primera
+ * instancia escribe con la base caída, así todo lo confirmado queda solo en el journal.
+ */
+class JournalTransaccionesTests {
+
+    private static final int CONFIRMADAS = 20;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void unaColaIncompletaNoSeVuelca() throws Exception {
+        escribirSinBase(CONFIRMADAS);
+        agregarAlUltimoSegmento(salida -> {
+            // Cabecera de un registro de 100 bytes del que solo llegaron 10.
+            salida.writeInt(100);
+            salida.writeInt(0);
+            salida.write(new byte[10]);
+        });
+
+        TransaccionTurnoRepositoryMemoria base = new TransaccionTurnoRepositoryMemoria();
+        recuperar(base);
+
+        assertEquals(ids(1, CONFIRMADAS), idsEn(base));
+        assertEquals(List.of(), segmentos());
+    }
+
+    @Test
+    void unRegistroConCrcInvalidoNoSeVuelca() throws Exception {
+        escribirSinBase(CONFIRMADAS);
+        agregarAlUltimoSegmento(salida -> {
+            salida.writeInt(5);
+            salida.writeInt(12345);
+            salida.write(new byte[] {1, 2, 3, 4, 5});
+        });
+
+        TransaccionTurnoRepositoryMemoria base = new TransaccionTurnoRepositoryMemoria();
+        recuperar(base);
+
+        assertEquals(ids(1, CONFIRMADAS), idsEn(base));
+        assertEquals(List.of(), segmentos());
+    }
+
+    @Test
+    void unGrupoQueFallaNoQuedaEnElJournal() throws Exception {
+        JournalTransacciones journal = journal(baseCaida());
+        journal.start();
+        journal.guardar(transaccion(1));
+        TransaccionTurno invalida = transaccion(2);
+        invalida.setMontoTotal(null);
+        assertThrows(DataAccessResourceFailureException.class, () -> journal.guardar(invalida));
+        journal.guardar(transaccion(3));
+        journal.stop();
+
+        TransaccionTurnoRepositoryMemoria base = new TransaccionTurnoRepositoryMemoria();
+        recuperar(base);
+
+        assertEquals(Set.of(1, 3), idsEn(base));
+    }
+
+    @Test
+    void lasTransaccionesQueYaEstanEnLaBaseSeOmiten() throws Exception {
+        escribirSinBase(CONFIRMADAS);
+        TransaccionTurnoRepositoryMemoria base = new TransaccionTurnoRepositoryMemoria();
+        // Un volcado anterior alcanzó a insertarlas pero no a registrarlo en el journal.
+        base.insert(transaccion(1));
+        base.insert(transaccion(7));
+
+        recuperar(base);
+
+        assertEquals(ids(1, CONFIRMADAS), idsEn(base));
+        assertEquals(CONFIRMADAS, base.findAll().size());
+        assertEquals(List.of(), segmentos());
+    }
+
+    @Test
+    void losSegmentosVolcadosSeEliminan() throws Exception {
+        TransaccionTurnoRepositoryMemoria base = new TransaccionTurnoRepositoryMemoria();
+        JournalTransacciones journal = journal(base);
+        journal.start();
+        for (int id = 1; id <= CONFIRMADAS; id++) {
+            journal.guardar(transaccion(id));
+        }
+
+        // Solo queda el segmento en el que se sigue escribiendo.
+        esperar(() -> base.findAll().size() == CONFIRMADAS && segmentos().size() == 1);
+        journal.stop();
+
+        assertEquals(ids(1, CONFIRMADAS), idsEn(base));
+        assertEquals(List.of(), segmentos());
+    }
+
+    private void escribirSinBase(int cantidad) {
+        JournalTransacciones journal = journal(baseCaida());
+        journal.start();
+        for (int id = 1; id <= cantidad; id++) {
+            journal.guardar(transaccion(id));
+        }
+        journal.stop();
+        assertTrue(segmentos().size() > 1, "Las transacciones deben ocupar varios segmentos");
+    }
+
+    private void recuperar(TransaccionTurnoRepositoryMemoria base) throws InterruptedException {
+        JournalTransacciones journal = journal(base);
+        journal.start();
+        esperar(() -> segmentos().size() == 1);
+        journal.stop();
+    }
+
+    private JournalTransacciones journal(TransaccionTurnoRepository base) {
+        return new JournalTransacciones(base, new SimpleMeterRegistry(), directorio.toString(),
+                DataSize.ofBytes(512), 100, 8, 8, Duration.ofMillis(20));
+    }
+
+    private static TransaccionTurnoRepository baseCaida() {
+        return new TransaccionTurnoRepositoryMemoria() {
+            @Override
+            public List<Integer> insertarLote(List<TransaccionTurno> transacciones, boolean ordenado) {
+                throw new DataAccessResourceFailureException("La base no está disponible");
+            }
+        };
+    }
+
+    private interface Escritura {
+        void escribir(DataOutputStream salida) throws IOException;
+    }
+
+    private void agregarAlUltimoSegmento(Escritura escritura) throws IOException {
+        List<Path> archivos = segmentos();
+        Path ultimo = archivos.get(archivos.size() - 1);
+        try (DataOutputStream salida = new DataOutputStream(
+                Files.newOutputStream(ultimo, StandardOpenOption.APPEND))) {
+            escritura.escribir(salida);
+        }
+    }
+
+    private List<Path> segmentos() {
+        try (Stream<Path> listado = Files.list(directorio)) {
+            return listado.sorted().toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Set<Integer> idsEn(TransaccionTurnoRepositoryMemoria base) {
+        return base.findAll().stream().map(TransaccionTurno::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<Integer> ids(int desde, int hasta) {
+        return IntStream.rangeClosed(desde, hasta).boxed().collect(Collectors.toSet());
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(10);
+        }
+    }
+
+    private static TransaccionTurno transaccion(int id) {
+        TransaccionTurno transaccion = new TransaccionTurno(id);
+        transaccion.setCodigoTurno("CAJA01-CAJERO01-20240115");
+        transaccion.setCodigoCaja("CAJA01");
+        transaccion.setCodigoCajero("CAJERO01");
+        transaccion.setTipoTransaccion(Enums.TipoTransaccion.DEPOSITO);
+        transaccion.setMontoTotal(new BigDecimal("10.00"));
+        transaccion.setFechaHora(LocalDateTime.of(2024, 1, 15, 8, 0).plusSeconds(id));
+        transaccion.setBilletes(new int[] {0, 0, 1, 0, 0, 0});
+        return transaccion;
+    }
+}
@@ -0,0 +1,91 @@
+package com.conjunta.simbana.service;
+
+import com.conjunta.simbana.exception.BusinessException;
+import com.conjunta.simbana.model.DenominacionTransaccion;
+import com.conjunta.simbana.model.Dinero;
+import com.conjunta.simbana.model.Enums;
+import com.conjunta.simbana.model.TurnoCaja;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Montos y cantidades que no caben en centavos se rechazan con su propio código de negocio, no con
+ * el de fracciones de centavo ni con un error interno.
+ */
+class MontosFueraDeRangoTests {
+
+    private static final BigDecimal ENORME = new BigDecimal("1E+30");
+
+    @Test
+    void montoInicial() {
+        assertEquals(1006, codigo(() -> ReglasNegocio.validarInicioTurno(new BigDecimal("10.001"), null)));
+        assertEquals(1007, codigo(() -> ReglasNegocio.validarInicioTurno(ENORME, null)));
+    }
+
+    @Test
+    void montoTotal() {
+        assertEquals(4004, codigo(() -> ReglasNegocio.validarMontoTotal(new BigDecimal("10.001"))));
+        assertEquals(4005, codigo(() -> ReglasNegocio.validarMontoTotal(ENORME)));
+        assertDoesNotThrow(() -> ReglasNegocio.validarMontoTotal(new BigDecimal("10.010")));
+    }
+
+    @Test
+    void cantidadDeBilletes() {
+        List<DenominacionTransaccion> denominaciones = List.of(
+                denominacion(Enums.Denominacion.UNO, Integer.MAX_VALUE),
+                denominacion(Enums.Denominacion.UNO, 1));
+
+        assertEquals(4005, codigo(() -> InventarioBilletes.contar(denominaciones)));
+    }
+
+    @Test
+    void acumuladoDelLote() {
+        BigDecimal mayorMonto = Dinero.aBigDecimal(Long.MAX_VALUE - 99);
+        MovimientoLote movimiento = new MovimientoLote(turno(new BigDecimal("100.00")));
+        movimiento.agregar(0, Enums.TipoTransaccion.DEPOSITO, mayorMonto, InventarioBilletes.vacio());
+
+        assertEquals(8003, codigo(() -> movimiento.agregar(1, Enums.TipoTransaccion.DEPOSITO, mayorMonto,
+                InventarioBilletes.vacio())));
+        // La transacción rechazada no cambia el acumulado.
+        assertEquals(List.of(0), movimiento.getIndices());
+        assertEquals(mayorMonto, movimiento.getDelta());
+    }
+
+    @Test
+    void saldoGuardadoConFraccionesDeCentavo() {
+        MovimientoLote movimiento = new MovimientoLote(turno(new BigDecimal("10.009")));
+
+        assertDoesNotThrow(() -> movimiento.agregar(0, Enums.TipoTransaccion.AHORRO, new BigDecimal("10.00"),
+                InventarioBilletes.vacio()));
+        assertEquals(7003, codigo(() -> movimiento.agregar(1, Enums.TipoTransaccion.AHORRO, new BigDecimal("0.01"),
+                InventarioBilletes.vacio())));
+    }
+
+    @Test
+    void saldoGuardadoQueNoCabe() {
+        assertEquals(8003, codigo(() -> new MovimientoLote(turno(ENORME))));
+    }
+
+    private static int codigo(Runnable operacion) {
+        return assertThrows(BusinessException.class, operacion::run).getErrorCode();
+    }
+
+    private static TurnoCaja turno(BigDecimal saldo) {
+        TurnoCaja turno = new TurnoCaja("CAJA01-CAJERO01-20240115");
+        turno.setEstado(Enums.EstadoTurno.ABIERTO);
+        turno.setSaldoActual(saldo);
+        turno.setInventarioBilletes(InventarioBilletes.vacio());
+        return turno;
+    }
+
+    private static DenominacionTransaccion denominacion(Enums.Denominacion billete, int cantidad) {
+        DenominacionTransaccion denominacion = new DenominacionTransaccion();
+        denominacion.setBillete(billete);
+        denominacion.setCantidadBilletes(cantidad);
+        return denominacion;
+    }
+}